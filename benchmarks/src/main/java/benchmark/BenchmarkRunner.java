@@ -0,0 +1,37 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, which reports the allocation rate, and writes the results as JSON into
+ * {@code baseline/result.json}. The usual JMH options can be given on the command line,
+ * e.g. {@code java -jar target/benchmarks.jar HitTest -rff hit-test.json}
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Runs the benchmarks
+     * @param args the JMH options
+     * @throws RunnerException if a benchmark fails
+     * @throws CommandLineOptionException if an option is illegal
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+
+        // Write the results as JSON, unless the command line asks for something else
+        if(!commandLine.getResultFormat().hasValue()) builder.resultFormat(ResultFormatType.JSON);
+        if(!commandLine.getResult().hasValue()) builder.result("baseline/result.json");
+
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,140 @@
+package benchmark;
+
+import dto.Continent;
+import dto.Country;
+import exceptions.IllegalCommandException;
+import javafx.scene.shape.Polygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.impl.SimpleContinentService;
+import util.spatial.PickBuffer;
+import util.spatial.SpatialIndex;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search for the country under the mouse, which the move and attack phase does on every drop.
+ * The points are spread over the whole world map, so that some of them are in the sea
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HitTestBenchmark {
+
+    /**
+     * The number of prepared points
+     */
+    private static final int POINTS = 1024;
+
+    /**
+     * The width of the world map in pixels
+     */
+    private static final double WIDTH = 1250;
+
+    /**
+     * The height of the world map in pixels
+     */
+    private static final double HEIGHT = 650;
+
+    /**
+     * The continents of the world map
+     */
+    private List<Continent> continents;
+
+    /**
+     * The index of the world map's patches
+     */
+    private SpatialIndex spatialIndex;
+
+    /**
+     * The raster of the world map's patches
+     */
+    private PickBuffer pickBuffer;
+
+    /**
+     * The x coordinates of the points
+     */
+    private final double[] xs = new double[POINTS];
+
+    /**
+     * The y coordinates of the points
+     */
+    private final double[] ys = new double[POINTS];
+
+    /**
+     * The index of the next point
+     */
+    private int next;
+
+    /**
+     * Reads the world map and chooses the points
+     * @throws IOException if the map cannot be read
+     * @throws IllegalCommandException if the map contains an illegal command
+     */
+    @Setup
+    public void setUp() throws IOException, IllegalCommandException {
+        continents = new SimpleContinentService().getContinents("/map/world.map");
+        spatialIndex = new SpatialIndex(continents);
+        pickBuffer = new PickBuffer(continents);
+
+        SplittableRandom random = new SplittableRandom(0);
+        for(int i = 0; i < POINTS; i++) {
+            xs[i] = random.nextDouble() * WIDTH;
+            ys[i] = random.nextDouble() * HEIGHT;
+        }
+    }
+
+    /**
+     * Measures the search with the {@link SpatialIndex}, which {@code MoveAndAttackPhase.dragDrop} uses
+     * @return the country at the point or null
+     */
+    @Benchmark
+    public Country spatialIndex() {
+        int point = next++ & (POINTS - 1);
+        return spatialIndex.getCountryAt(xs[point], ys[point]);
+    }
+
+    /**
+     * Measures the search with the {@link PickBuffer}, which {@code MoveAndAttackPhase.dragDrop} uses in the pick mode
+     * {@code buffer}
+     * @return the country at the point or null
+     */
+    @Benchmark
+    public Country pickBuffer() {
+        int point = next++ & (POINTS - 1);
+        return pickBuffer.getCountryAt(xs[point], ys[point]);
+    }
+
+    /**
+     * Measures the former loop of {@code MoveAndAttackPhase.dragDrop}, which tests every patch of every country
+     * @return the country at the point or null
+     */
+    @Benchmark
+    public Country dragDropHitTest() {
+        int point = next++ & (POINTS - 1);
+        double x = xs[point];
+        double y = ys[point];
+
+        Country releasedCountry = null;
+        for(Continent continent : continents)
+            for(Country c : continent.getCountries())
+                for(Polygon polygon : c.getPatches())
+                    if(polygon.contains(x, y))
+                        releasedCountry = c;
+        return releasedCountry;
+    }
+}
@@ -0,0 +1,90 @@
+package benchmark;
+
+import dto.Continent;
+import exceptions.IllegalCommandException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import util.reader.impl.CompiledMapReader;
+import util.reader.impl.MapCompiler;
+import util.reader.impl.SimpleMapReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link SimpleMapReader} on the world map and on the maps of the {@link SyntheticMapGenerator},
+ * as well as the {@link CompiledMapReader} on the same maps compiled by the {@link MapCompiler}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapReaderBenchmark {
+
+    /**
+     * The map on the classpath
+     */
+    @Param({"/map/world.map", "/map/synthetic-1000.map", "/map/synthetic-10000.map"})
+    public String map;
+
+    /**
+     * The compiled map in a temporary file
+     */
+    private Path compiledMap;
+
+    /**
+     * Compiles the map
+     * @throws IOException if the map cannot be read or compiled
+     * @throws IllegalCommandException if the map contains an illegal command
+     */
+    @Setup
+    public void setUp() throws IOException, IllegalCommandException {
+        compiledMap = Files.createTempFile("benchmark", CompiledMapReader.EXTENSION);
+        MapCompiler.compile(new SimpleMapReader().readFile(map), compiledMap);
+    }
+
+    /**
+     * Deletes the compiled map
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(compiledMap);
+    }
+
+    /**
+     * Measures reading the whole map
+     * @return the continents of the map
+     * @throws IOException if the map cannot be read
+     * @throws IllegalCommandException if the map contains an illegal command
+     */
+    @Benchmark
+    public List<Continent> readFile() throws IOException, IllegalCommandException {
+        return new SimpleMapReader().readFile(map);
+    }
+
+    /**
+     * Measures reading the whole compiled map
+     * @return the continents of the map
+     * @throws IOException if the map cannot be read
+     */
+    @Benchmark
+    public List<Continent> readCompiledFile() throws IOException {
+        return new CompiledMapReader().readFile(compiledMap.toString());
+    }
+}
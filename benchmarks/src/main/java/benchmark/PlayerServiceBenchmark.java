@@ -0,0 +1,159 @@
+package benchmark;
+
+import dto.Continent;
+import dto.Country;
+import dto.Player;
+import engine.GameEngine;
+import engine.GameState;
+import exceptions.AttackOwnCountryException;
+import exceptions.IllegalCommandException;
+import exceptions.NotEnoughArmiesException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.ContinentService;
+import service.impl.SimpleContinentService;
+import service.impl.SimplePlayerService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the methods of the {@link SimplePlayerService}, which the ui calls on every action, on the world map.
+ * Two players own every second country with so many armies, that the attacks never conquer a country
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerServiceBenchmark {
+
+    /**
+     * The armies on every country at the start of an iteration
+     */
+    private static final int ARMIES = 1_000_000_000;
+
+    /**
+     * The continents of the world map
+     */
+    private List<Continent> continents;
+
+    /**
+     * The measured service
+     */
+    private SimplePlayerService playerService;
+
+    /**
+     * The player on turn
+     */
+    private Player player;
+
+    /**
+     * The attacking country of the player
+     */
+    private Country attackCountry;
+
+    /**
+     * The neighbor of the attacking country, which belongs to the other player
+     */
+    private Country defendCountry;
+
+    /**
+     * The state at the start of every iteration
+     */
+    private GameState initialState;
+
+    /**
+     * Reads the world map and distributes the countries
+     * @throws IOException if the map cannot be read
+     * @throws IllegalCommandException if the map contains an illegal command
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() throws IOException, IllegalCommandException {
+        ContinentService continentService = new SimpleContinentService();
+        continents = continentService.getContinents("/map/world.map");
+
+        playerService = new SimplePlayerService(new GameEngine());
+        playerService.setupPlayerService(continents, continentService.getMapGraph());
+        player = playerService.createPlayer("First", false);
+        playerService.createPlayer("Second", false);
+
+        GameEngine engine = playerService.getBoard().getEngine();
+        engine.setCurrentPlayer(0);
+        for(int country = 0; country < engine.getState().getCountries(); country++) {
+            engine.setOwner(country, country % 2);
+            engine.addArmies(country, ARMIES);
+        }
+
+        // Find two neighbors of different players
+        for(Country country : playerService.getBoard().getCountries()) {
+            if(playerService.getOwner(country) != player) continue;
+            for(Country neighbor : country.getNeighbors()) {
+                if(playerService.getOwner(neighbor) != player) {
+                    attackCountry = country;
+                    defendCountry = neighbor;
+                }
+            }
+        }
+
+        initialState = new GameState(engine.getState());
+    }
+
+    /**
+     * Restores the armies, which the last iteration has lost
+     */
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        playerService.getBoard().getEngine().copyState(initialState);
+    }
+
+    /**
+     * Measures a single battle
+     * @throws NotEnoughArmiesException never, because both countries have enough armies
+     * @throws AttackOwnCountryException never, because the countries belong to different players
+     */
+    @Benchmark
+    public void attack() throws NotEnoughArmiesException, AttackOwnCountryException {
+        playerService.attack(player, attackCountry, defendCountry);
+    }
+
+    /**
+     * Measures the calculation of the reinforcements
+     * @return the player's reserve
+     */
+    @Benchmark
+    public int setArmies() {
+        playerService.setArmies(player, continents);
+        return player.getArmies();
+    }
+
+    /**
+     * Measures the lookup of the player on turn
+     * @return the player on turn
+     */
+    @Benchmark
+    public Player getCurrentPlayer() {
+        return playerService.getCurrentPlayer();
+    }
+
+    /**
+     * Measures the change of the player on turn
+     * @return the player on turn
+     */
+    @Benchmark
+    public int nextTurn() {
+        playerService.nextTurn();
+        return playerService.getBoard().getEngine().getCurrentPlayer();
+    }
+}
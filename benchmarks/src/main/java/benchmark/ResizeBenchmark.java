@@ -0,0 +1,98 @@
+package benchmark;
+
+import exceptions.IllegalCommandException;
+import javafx.scene.Group;
+import javafx.scene.transform.Scale;
+import javafx.scene.transform.Translate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.ContinentService;
+import service.impl.SimpleContinentService;
+import util.properties.PropertiesManager;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link SimpleContinentService#resizePatches(double, double)}, which the ui calls on every change of
+ * the window's size, and the transforms, which replace it. The factors alternate, so that every call really changes
+ * the patches
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResizeBenchmark {
+
+    /**
+     * The measured service with the world map
+     */
+    private ContinentService continentService;
+
+    /**
+     * The scale of the group, which contains all patches
+     */
+    private Scale scale;
+
+    /**
+     * The translation of the group, which contains all patches
+     */
+    private Translate translate;
+
+    /**
+     * The number of calls, which decides the next factor
+     */
+    private int calls;
+
+    /**
+     * Reads the world map and adds its patches to a group like the game's scene
+     * @throws IOException if the map cannot be read
+     * @throws IllegalCommandException if the map contains an illegal command
+     */
+    @Setup
+    public void setUp() throws IOException, IllegalCommandException {
+        PropertiesManager.initialize();
+
+        continentService = new SimpleContinentService();
+        continentService.getContinents("/map/world.map");
+        Group group = new Group();
+        continentService.setupContinentService(group);
+
+        scale = new Scale(1, 1);
+        translate = new Translate(0, 0);
+        group.getTransforms().addAll(scale, translate);
+    }
+
+    /**
+     * Measures resizing every country of the world map
+     */
+    @Benchmark
+    public void resizePatches() {
+        double factor = (calls++ & 1) == 0 ? 1.25 : 0.8;
+        continentService.resizePatches(factor, factor);
+    }
+
+    /**
+     * Measures resizing the group of all patches with its transforms like the resize mode 'transform' of the game.
+     * Both factors need another level of detail, so every call also replaces the points of all patches
+     */
+    @Benchmark
+    public void transformGroup() {
+        double factor = (calls++ & 1) == 0 ? 1.25 : 0.8;
+        translate.setX(factor);
+        translate.setY(factor);
+        scale.setX(factor);
+        scale.setY(factor);
+        continentService.setLevelOfDetail(factor, factor);
+    }
+}
@@ -0,0 +1,120 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes large synthetic maps in the format of the world map, so that the map reader can be measured on maps with
+ * thousands of countries. Every country is a square on a grid, whose border has several points like a real country,
+ * and every block of ten by ten countries is a continent.
+ * Usage: {@code SyntheticMapGenerator <directory>}, which writes {@code synthetic-N.map} for every size of {@link #SIZES}
+ */
+public class SyntheticMapGenerator {
+
+    /**
+     * The number of countries of the generated maps
+     */
+    public static final int[] SIZES = {1000, 10000};
+
+    /**
+     * The width and height of a country in pixels
+     */
+    private static final int CELL = 12;
+
+    /**
+     * The number of border points on every side of a country
+     */
+    private static final int POINTS_PER_SIDE = 4;
+
+    /**
+     * The width and height of a continent in countries
+     */
+    private static final int BLOCK = 10;
+
+    /**
+     * Generates the maps
+     * @param args the directory of the maps
+     * @throws IOException if a map cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : ".");
+        Files.createDirectories(directory);
+        for(int size : SIZES) write(directory.resolve("synthetic-" + size + ".map"), size);
+    }
+
+    /**
+     * Writes a map with the given number of countries
+     * @param path the file of the map
+     * @param countries the number of countries (a multiple of 100)
+     * @throws IOException if the map cannot be written
+     */
+    public static void write(Path path, int countries) throws IOException {
+        // Arrange the countries in columns of continents, e.g. 100 x 100 for 10000 countries
+        int columns = (int) Math.ceil(Math.sqrt(countries) / BLOCK) * BLOCK;
+        int rows = countries / columns;
+        if(columns * rows != countries) throw new IllegalArgumentException(countries + " countries do not fit on a grid of continents");
+
+        try(PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            for(int row = 0; row < rows; row++) {
+                for(int column = 0; column < columns; column++) {
+                    String name = name(row, column, columns);
+                    writer.println("patch-of " + name + border(column * CELL, row * CELL));
+                    writer.println("capital-of " + name + " " + (column * CELL + CELL / 2) + " " + (row * CELL + CELL / 2));
+                }
+            }
+
+            // The reader completes the missing directions, so it is enough to name the right and the lower neighbor
+            for(int row = 0; row < rows; row++) {
+                for(int column = 0; column < columns; column++) {
+                    StringBuilder neighbors = new StringBuilder();
+                    if(column + 1 < columns) neighbors.append(name(row, column + 1, columns));
+                    if(row + 1 < rows) neighbors.append(neighbors.length() > 0 ? " - " : "").append(name(row + 1, column, columns));
+                    if(neighbors.length() > 0) writer.println("neighbors-of " + name(row, column, columns) + " : " + neighbors);
+                }
+            }
+
+            for(int blockRow = 0; blockRow < rows; blockRow += BLOCK) {
+                for(int blockColumn = 0; blockColumn < columns; blockColumn += BLOCK) {
+                    StringBuilder members = new StringBuilder();
+                    for(int row = blockRow; row < Math.min(blockRow + BLOCK, rows); row++) {
+                        for(int column = blockColumn; column < blockColumn + BLOCK; column++) {
+                            if(members.length() > 0) members.append(" - ");
+                            members.append(name(row, column, columns));
+                        }
+                    }
+                    writer.println("continent Region" + (blockRow / BLOCK * (columns / BLOCK) + blockColumn / BLOCK) + " 3 : " + members);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the country in the given cell
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @param columns the number of columns
+     * @return the name, which must not be a number
+     */
+    private static String name(int row, int column, int columns) {
+        return "Land" + (row * columns + column);
+    }
+
+    /**
+     * Returns the border of a square country, which starts at the given upper left corner, clockwise
+     * @param x the x coordinate of the upper left corner
+     * @param y the y coordinate of the upper left corner
+     * @return the coordinates, each with a leading space
+     */
+    private static String border(int x, int y) {
+        StringBuilder border = new StringBuilder();
+        int step = CELL / POINTS_PER_SIDE;
+        for(int i = 0; i < POINTS_PER_SIDE; i++) border.append(' ').append(x + i * step).append(' ').append(y);
+        for(int i = 0; i < POINTS_PER_SIDE; i++) border.append(' ').append(x + CELL).append(' ').append(y + i * step);
+        for(int i = 0; i < POINTS_PER_SIDE; i++) border.append(' ').append(x + CELL - i * step).append(' ').append(y + CELL);
+        for(int i = 0; i < POINTS_PER_SIDE; i++) border.append(' ').append(x).append(' ').append(y + CELL - i * step);
+        return border.toString();
+    }
+}
@@ -0,0 +1,145 @@
+package dto;
+
+import engine.GameEngine;
+import engine.GameListener;
+import engine.GameState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The board a group of players is playing on.
+ * It connects the {@link Country} and {@link Player} objects of the ui with their indices in the {@link GameEngine}
+ */
+public class Board implements GameListener {
+
+    /**
+     * The engine, which holds the game's state
+     */
+    private final GameEngine engine;
+
+    /**
+     * The registered countries (indexed by the country's id)
+     */
+    private final List<Country> countries;
+
+    /**
+     * The registered players (indexed by the player's index)
+     */
+    private final List<Player> players;
+
+    /**
+     * Creates a new board with an empty engine and the default rules
+     */
+    public Board() {
+        this(new GameEngine());
+    }
+
+    /**
+     * Creates a new board for the given engine
+     * @param engine the engine, which holds the game's state
+     */
+    public Board(GameEngine engine) {
+        this.engine = engine;
+        this.countries = new ArrayList<>();
+        this.players = new ArrayList<>();
+
+        engine.addListener(this);
+    }
+
+    /**
+     * Returns the engine, which holds the game's state
+     * @return engine
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns the index of the given country. If the country is used for the first time, it will be registered
+     * @param country the country
+     * @return the country's index
+     */
+    public int indexOf(Country country) {
+        int id = country.getId();
+
+        // Register a new country at the end of the list
+        if(id < 0) {
+            id = countries.size();
+            country.setId(id);
+        }
+
+        while(countries.size() <= id) countries.add(null);
+        if(countries.get(id) == null) {
+            countries.set(id, country);
+            engine.ensureCountries(countries.size());
+        }
+        else if(countries.get(id) != country) throw new IllegalStateException("Index " + id + " already belongs to " + countries.get(id).getBaseName());
+
+        return id;
+    }
+
+    /**
+     * Returns the owner of the given country
+     * @param country the country
+     * @return the owner or null, if the country is free
+     */
+    public Player getOwner(Country country) {
+        int owner = engine.getOwner(indexOf(country));
+        return owner == GameState.NONE ? null : players.get(owner);
+    }
+
+    /**
+     * Checks if the given countries are neighbors on the engine's map
+     * @param a the first country
+     * @param b the second country
+     * @return true, if they are neighbors; otherwise false
+     */
+    public boolean isNeighbor(Country a, Country b) {
+        if(engine.getMapGraph() == null) return a.hasNeighbor(b);
+        return engine.getMapGraph().isNeighbor(indexOf(a), indexOf(b));
+    }
+
+    /**
+     * Returns the country with the given index
+     * @param id the country's index
+     * @return the country
+     */
+    public Country getCountry(int id) {
+        return countries.get(id);
+    }
+
+    /**
+     * Returns all registered countries
+     * @return the countries (indexed by their id)
+     */
+    public List<Country> getCountries() {
+        return Collections.unmodifiableList(countries);
+    }
+
+    /**
+     * Registers the given player
+     * @param player the player to be added
+     * @return the player's index
+     */
+    int addPlayer(Player player) {
+        players.add(player);
+        return engine.addPlayer();
+    }
+
+    /**
+     * Returns the player with the given index
+     * @param index the player's index
+     * @return the player
+     */
+    public Player getPlayer(int index) {
+        return players.get(index);
+    }
+
+    @Override
+    public void reserveChanged(int player, int armies) {
+        // Keep the player's armies property up to date, so that the ui can bind to it
+        if(player < players.size()) players.get(player).armiesProperty().set(armies);
+    }
+}
@@ -11,6 +11,11 @@ import java.util.Objects;
  * An immutable transfer object for carrying information about a country
  */
 public class Country {
+    /**
+     * The country's index in the game engine or -1, if the country was not registered yet
+     */
+    private int id = -1;
+
     /**
      * The country's unique name
      */
@@ -67,6 +72,22 @@ public class Country {
         this.neighbors = neighbors;
     }
 
+    /**
+     * Gets the country's index in the game engine
+     * @return id or -1, if the country was not registered yet
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the country's index in the game engine
+     * @param id the country's index
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Gets the country's name
      * @return name
@@ -144,9 +165,9 @@ public class Country {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Country country = (Country) o;
-        return Objects.equals(baseName, country.baseName) &&
-                Objects.equals(patches, country.patches) &&
-                Objects.equals(capital, country.capital);
+        // The base name is unique within a map. The id is not compared, because it is only assigned, when the country
+        // gets its index, and every map numbers its countries from 0
+        return Objects.equals(baseName, country.baseName);
     }
 
     @Override
@@ -177,6 +198,8 @@ public class Country {
             clonedPatches.add(clonedPatch);
         });
 
-        return new Country(name, clonedPatches, capital);
+        Country clonedCountry = new Country(name, clonedPatches, capital);
+        clonedCountry.setId(id);
+        return clonedCountry;
     }
 }
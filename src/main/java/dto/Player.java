@@ -1,5 +1,8 @@
 package dto;
 
+import engine.GameEngine;
+import engine.GameState;
+import engine.MapGraph;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.scene.paint.Color;
@@ -10,14 +13,20 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * A representation for the player
+ * A representation for the player.
+ * The player's countries and armies are stored in the {@link GameEngine} of the player's {@link Board}
  */
 public class Player {
 
     /**
-     * The player's country map -> stores the country and the amount of armies
+     * The board the player is playing on
      */
-    private Map<Country, Integer> countryMap;
+    private Board board;
+
+    /**
+     * The player's index in the game engine
+     */
+    private int index;
 
     /**
      * The player's color
@@ -39,11 +48,6 @@ public class Player {
      */
     private boolean ai;
 
-    /**
-     * Indicates, if the player can move
-     */
-    private boolean move;
-
     // Don't let the programmer create a plain player object
     private Player(){}
 
@@ -52,7 +56,7 @@ public class Player {
      * @param country {@link Country} to be added
      */
     public void addCountry(Country country){
-        countryMap.put(country, 1);
+        board.getEngine().setOwner(board.indexOf(country), index);
     }
 
     /**
@@ -60,20 +64,23 @@ public class Player {
      * @param country {@link Country} to be removed
      */
     public void removeCountry(Country country){
-        countryMap.remove(country);
+        if(hasCountry(country)) board.getEngine().setOwner(board.indexOf(country), GameState.NONE);
     }
 
     /**
      * Clears the player's map of countries
      */
-    public void clearCountryMap() { this.countryMap = new HashMap<>();}
+    public void clearCountryMap() { board.getEngine().clearCountries(index);}
 
     /**
      * Returns a list with all countries the player currently has
      * @return the country list
      */
     public List<Country> getCountries(){
-        return new ArrayList<>(countryMap.keySet());
+        List<Country> countries = new ArrayList<>();
+        GameState state = board.getEngine().getState();
+        for(int i = 0; i < state.getCountries(); i++) if(state.getOwner(i) == index) countries.add(board.getCountry(i));
+        return countries;
     }
 
     /**
@@ -82,7 +89,7 @@ public class Player {
      * @return true, if the player has the country; otherwise false
      */
     public boolean hasCountry(Country country){
-        return countryMap.containsKey(country);
+        return board.getEngine().getOwner(board.indexOf(country)) == index;
     }
 
     /**
@@ -91,13 +98,15 @@ public class Player {
      * @return true, if the player has conquered the continent; false otherwise
      */
     public boolean hasContinent(Continent continent) {
-        boolean returnValue = true;
-        List<Country> countries = continent.getCountries();
-        for(Country country : countries) {
-            if(!hasCountry(country))
-                returnValue = false;
+        // Use the engine's counters, if the continent is part of the map
+        MapGraph mapGraph = board.getEngine().getMapGraph();
+        int index = mapGraph == null ? -1 : mapGraph.indexOfContinent(continent.getBaseName());
+        if(index >= 0) return board.getEngine().holdsContinent(this.index, index);
+
+        for(Country country : continent.getCountries()) {
+            if(!hasCountry(country)) return false;
         }
-        return returnValue;
+        return true;
     }
 
 
@@ -106,7 +115,7 @@ public class Player {
      * @return the number of elements in the country list
      */
     public int sizeCountries(){
-        return countryMap.size();
+        return board.getEngine().countCountries(index);
     }
 
     /**
@@ -146,7 +155,7 @@ public class Player {
      * @return number of armies
      */
     public int getArmies() {
-        return armies.get();
+        return board.getEngine().getState().getReserve(index);
     }
 
     /**
@@ -162,14 +171,14 @@ public class Player {
      * @param armies number to be set
      */
     public void setArmies(int armies) {
-        this.armies.set(armies);
+        board.getEngine().setReserve(index, armies);
     }
 
     /**
      * Adds the given number of armies to the current amount
      * @param armies number to be added
      */
-    public void addArmies(int armies) { setArmies(this.armies.get()+armies); }
+    public void addArmies(int armies) { setArmies(getArmies()+armies); }
 
     /**
      * Removes the given number of armies from the current amount
@@ -184,7 +193,7 @@ public class Player {
      */
     public void addArmies(Country country, int armies){
         if(hasCountry(country))
-            countryMap.put(country, (countryMap.get(country))+armies);
+            board.getEngine().addArmies(board.indexOf(country), armies);
     }
 
     /**
@@ -214,11 +223,19 @@ public class Player {
     }
 
     /**
-     * Sets the map for the player's countries
-     * @param countryMap the new map
+     * Returns the board the player is playing on
+     * @return board
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the player's index in the game engine
+     * @return index
      */
-    private void setCountryMap(Map<Country, Integer> countryMap) {
-        this.countryMap = countryMap;
+    public int getIndex() {
+        return index;
     }
 
     /**
@@ -234,7 +251,7 @@ public class Player {
      * @return true, if player can be moved; false otherwise
      */
     public boolean canBeMoved() {
-        return move;
+        return board.getEngine().getCurrentPlayer() == index;
     }
 
     /**
@@ -242,7 +259,8 @@ public class Player {
      * @param move true, if can be moved; false otherwise
      */
     public void setMove(boolean move) {
-        this.move = move;
+        if(move) board.getEngine().setCurrentPlayer(index);
+        else if(canBeMoved()) board.getEngine().setCurrentPlayer(GameState.NONE);
     }
 
     /**
@@ -251,13 +269,13 @@ public class Player {
      * @return the number of armies for {@link Country} c
      */
     public int getArmies(Country country){
-        return countryMap.getOrDefault(country, 0);
+        return board.getEngine().getArmies(index, board.indexOf(country));
     }
 
     @Override
     public String toString() {
         StringBuilder s = new StringBuilder("Player: " + name + "=[");
-        for(Country c : countryMap.keySet()) s.append(c.getName()).append("=").append(getArmies(c)).append(",");
+        for(Country c : getCountries()) s.append(c.getName()).append("=").append(getArmies(c)).append(",");
         if(s.charAt(s.length()-1) == ',') s.deleteCharAt(s.length()-1);
         s.append("]");
         return s.toString();
@@ -268,6 +286,11 @@ public class Player {
      */
     public static final class PlayerBuilder {
 
+        /**
+         * The board the player is playing on. Per default the player gets an own board
+         */
+        private Board board = null;
+
         /**
          * The player's countries. Per default this map is empty
          */
@@ -348,6 +371,16 @@ public class Player {
             return this;
         }
 
+        /**
+         * The setter for the board the player is playing on
+         * @param board the board
+         * @return the builder
+         */
+        public PlayerBuilder board(Board board){
+            this.board = board;
+            return this;
+        }
+
         /**
          * The setter for the flag, whether it's the player's turn or not
          * @param move the flag
@@ -365,14 +398,21 @@ public class Player {
         public Player build(){
             Player player = new Player();
             player.armies = new SimpleIntegerProperty();
+            player.board = (board == null) ? new Board() : board;
+            player.index = player.board.addPlayer(player);
 
             player.setName(name);
             player.setArmies(armies);
             player.setColor(color);
             player.setAi(ai);
-            player.setCountryMap(countryMap);
             player.setMove(move);
 
+            // Assign the countries with their armies
+            countryMap.forEach((country, countryArmies) -> {
+                player.addCountry(country);
+                player.addArmies(country, countryArmies - 1);
+            });
+
             return player;
         }
     }
@@ -0,0 +1,32 @@
+package engine;
+
+/**
+ * The possible results of a single attack
+ */
+public enum AttackResult {
+
+    /**
+     * The attacked country belongs to the attacking player
+     */
+    OWN_COUNTRY,
+
+    /**
+     * The attacked country is not a neighbor of the attacking country
+     */
+    NO_NEIGHBOR,
+
+    /**
+     * The attacking country has not enough armies for attacking
+     */
+    NOT_ENOUGH_ARMIES,
+
+    /**
+     * The defending country could hold its position
+     */
+    DEFENDED,
+
+    /**
+     * The defending country was conquered by the attacking player
+     */
+    CONQUERED
+}
@@ -0,0 +1,352 @@
+package engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The exact odds of a battle, which is fought until the defending country is conquered or the attacking country
+ * has only one army left.
+ * The battle is a Markov chain over the armies of both countries. The odds of a single roll are calculated by
+ * throwing every combination of dice once, the odds of the whole battle for every pair of armies up to a cap are
+ * calculated from the smaller battles. Afterwards every query of the odds is a single array read.
+ * The distributions of the final outcomes are calculated on the first query of a battle. The battles up to the cap,
+ * which are fought until the end, are kept in a table with a slot for every pair of armies, all other battles in a
+ * cache, which forgets the battles used least recently
+ */
+public final class BattleOdds {
+
+    /**
+     * The maximum number of cached outcomes of the battles, which are not kept in the table
+     */
+    private static final int MAX_CACHED_OUTCOMES = 4096;
+
+    /**
+     * The maximum number of armies, which can attack at once
+     */
+    private final int maxAttackArmies;
+
+    /**
+     * The maximum number of armies, which can defend at once
+     */
+    private final int maxDefendArmies;
+
+    /**
+     * The maximum number of armies per country, for which the odds are calculated
+     */
+    private final int cap;
+
+    /**
+     * The odds of a single roll (indexed by {@link #rollIndex(int, int, int)})
+     */
+    private final double[] roll;
+
+    /**
+     * The probability, that the attacker conquers the country (indexed by {@link #index(int, int)})
+     */
+    private final double[] win;
+
+    /**
+     * The expected number of armies on the attacking country after the battle (indexed by {@link #index(int, int)})
+     */
+    private final double[] attackerSurvivors;
+
+    /**
+     * The expected number of armies on the defending country after the battle (indexed by {@link #index(int, int)})
+     */
+    private final double[] defenderSurvivors;
+
+    /**
+     * The outcomes of the battles up to the cap, which are fought until the end (indexed by {@link #index(int, int)}).
+     * A slot is filled on the first query of its battle
+     */
+    private final AtomicReferenceArray<BattleOutcomes> battles;
+
+    /**
+     * The outcomes of the other battles, which have already been fought (the key contains both armies and the threshold)
+     */
+    private final Map<Long, BattleOutcomes> outcomes;
+
+    /**
+     * Calculates the odds of all battles up to the given number of armies per country
+     * @param maxAttackArmies the maximum number of armies, which can attack at once
+     * @param maxDefendArmies the maximum number of armies, which can defend at once
+     * @param cap the maximum number of armies per country
+     */
+    public BattleOdds(int maxAttackArmies, int maxDefendArmies, int cap) {
+        if(maxAttackArmies <= 0 || maxDefendArmies <= 0) throw new IllegalArgumentException("The maximum number of armies must be greater than 0!");
+        if(cap < 1) throw new IllegalArgumentException("The cap must be greater than 0!");
+
+        this.maxAttackArmies = maxAttackArmies;
+        this.maxDefendArmies = maxDefendArmies;
+        this.cap = cap;
+
+        this.roll = new double[maxAttackArmies * maxDefendArmies * (Math.min(maxAttackArmies, maxDefendArmies) + 1)];
+        for(int a = 1; a <= maxAttackArmies; a++)
+            for(int d = 1; d <= maxDefendArmies; d++) calculateRoll(a, d);
+
+        int size = (cap + 1) * (cap + 1);
+        this.win = new double[size];
+        this.attackerSurvivors = new double[size];
+        this.defenderSurvivors = new double[size];
+        this.battles = new AtomicReferenceArray<>(size);
+        this.outcomes = new OutcomeCache();
+        calculateBattles();
+    }
+
+    /**
+     * Returns the maximum number of armies per country, for which the odds are known
+     * @return cap
+     */
+    public int getCap() {
+        return cap;
+    }
+
+    /**
+     * Returns the maximum number of armies, which can attack at once
+     * @return maxAttackArmies
+     */
+    public int getMaxAttackArmies() {
+        return maxAttackArmies;
+    }
+
+    /**
+     * Returns the maximum number of armies, which can defend at once
+     * @return maxDefendArmies
+     */
+    public int getMaxDefendArmies() {
+        return maxDefendArmies;
+    }
+
+    /**
+     * Returns the probability, that a single roll with the given dice costs the attacker the given number of armies
+     * @param attackingArmies the number of attacking dice
+     * @param defendingArmies the number of defending dice
+     * @param attackerLosses the number of armies the attacker loses (the defender loses the rest of the compared dice)
+     * @return the probability
+     */
+    public double getRollProbability(int attackingArmies, int defendingArmies, int attackerLosses) {
+        return roll[rollIndex(attackingArmies, defendingArmies, attackerLosses)];
+    }
+
+    /**
+     * Returns the probability, that the attacking country conquers the defending country
+     * @param attackerArmies the number of armies on the attacking country
+     * @param defenderArmies the number of armies on the defending country
+     * @return the probability
+     */
+    public double getWinProbability(int attackerArmies, int defenderArmies) {
+        return win[index(attackerArmies, defenderArmies)];
+    }
+
+    /**
+     * Returns the expected number of armies on the attacking country after the battle
+     * @param attackerArmies the number of armies on the attacking country
+     * @param defenderArmies the number of armies on the defending country
+     * @return the expected number of armies
+     */
+    public double getExpectedAttackerSurvivors(int attackerArmies, int defenderArmies) {
+        return attackerSurvivors[index(attackerArmies, defenderArmies)];
+    }
+
+    /**
+     * Returns the expected number of armies on the defending country after the battle
+     * @param attackerArmies the number of armies on the attacking country
+     * @param defenderArmies the number of armies on the defending country
+     * @return the expected number of armies
+     */
+    public double getExpectedDefenderSurvivors(int attackerArmies, int defenderArmies) {
+        return defenderSurvivors[index(attackerArmies, defenderArmies)];
+    }
+
+    /**
+     * Returns the distribution of the final outcomes of a whole battle.
+     * The first query of a battle calculates its distribution, which takes a time proportional to the product of
+     * both armies. The following queries of a battle up to the cap, which is fought until the end, are an array read;
+     * the other battles are looked up in a cache with a limited size
+     * @param attackerArmies the number of armies on the attacking country
+     * @param defenderArmies the number of armies on the defending country
+     * @param stopAt the attacker stops, as soon as the attacking country has this number of armies or less (at least 1)
+     * @return the outcomes
+     */
+    public BattleOutcomes getOutcomes(int attackerArmies, int defenderArmies, int stopAt) {
+        // The usual battle has its own slot in the table
+        if(stopAt == 1 && attackerArmies >= 1 && attackerArmies <= cap && defenderArmies >= 0 && defenderArmies <= cap) {
+            int i = index(attackerArmies, defenderArmies);
+            BattleOutcomes battle = battles.get(i);
+            if(battle == null) {
+                // Two threads may calculate the same battle, but both get the same outcomes
+                battle = new BattleOutcomes(this, attackerArmies, defenderArmies, stopAt);
+                if(!battles.compareAndSet(i, null, battle)) battle = battles.get(i);
+            }
+            return battle;
+        }
+
+        long key = ((long) attackerArmies << 42) | ((long) defenderArmies << 21) | stopAt;
+        BattleOutcomes battle;
+        synchronized(outcomes) {
+            battle = outcomes.get(key);
+        }
+        if(battle == null) {
+            // Calculate the battle outside of the lock, so that other threads are not blocked
+            battle = new BattleOutcomes(this, attackerArmies, defenderArmies, stopAt);
+            synchronized(outcomes) {
+                outcomes.put(key, battle);
+            }
+        }
+        return battle;
+    }
+
+    /**
+     * Returns the number of dice the attacking country throws (the same rule as {@link GameEngine#getAttackingArmies(int, int)})
+     * @param armies the number of armies on the attacking country
+     * @return the number of dice
+     */
+    public int attackDice(int armies) {
+        return armies > 1 ? Math.min(maxAttackArmies, armies - 1) : 0;
+    }
+
+    /**
+     * Returns the number of dice the defending country throws (the same rule as {@link GameEngine#getDefendingArmies(int, int)})
+     * @param armies the number of armies on the defending country
+     * @return the number of dice
+     */
+    public int defendDice(int armies) {
+        return armies > 1 ? Math.min(maxDefendArmies, armies) : 1;
+    }
+
+    /**
+     * Calculates the odds of a single roll by throwing every combination of dice
+     * @param a the number of attacking dice
+     * @param d the number of defending dice
+     */
+    private void calculateRoll(int a, int d) {
+        int[] attackDice = new int[a];
+        int[] defendDice = new int[d];
+        int[] dice = new int[a + d];
+        int pairs = Math.min(a, d);
+        long combinations = 0;
+        long[] counts = new long[pairs + 1];
+
+        // Count through all combinations like an odometer
+        do {
+            for(int i = 0; i < a; i++) attackDice[i] = dice[i] + 1;
+            for(int i = 0; i < d; i++) defendDice[i] = dice[a + i] + 1;
+            sortDescending(attackDice);
+            sortDescending(defendDice);
+
+            // The attacker wins, if the dice are equal, like in Dice#roll
+            int losses = 0;
+            for(int i = 0; i < pairs; i++) if(attackDice[i] < defendDice[i]) losses++;
+            counts[losses]++;
+            combinations++;
+        } while(next(dice));
+
+        for(int losses = 0; losses <= pairs; losses++) roll[rollIndex(a, d, losses)] = (double) counts[losses] / combinations;
+    }
+
+    /**
+     * Calculates the odds of every battle from the odds of the battles with less armies
+     */
+    private void calculateBattles() {
+        for(int attacker = 1; attacker <= cap; attacker++) {
+            for(int defender = 0; defender <= cap; defender++) {
+                int i = index(attacker, defender);
+
+                // The battle is over
+                if(defender == 0 || attacker == 1) {
+                    win[i] = defender == 0 ? 1 : 0;
+                    attackerSurvivors[i] = attacker;
+                    defenderSurvivors[i] = defender;
+                    continue;
+                }
+
+                int a = attackDice(attacker);
+                int d = defendDice(defender);
+                int pairs = Math.min(a, d);
+
+                // Every roll costs at least one army, so the following battles are already known
+                for(int losses = 0; losses <= pairs; losses++) {
+                    double p = roll[rollIndex(a, d, losses)];
+                    int next = index(attacker - losses, defender - (pairs - losses));
+                    win[i] += p * win[next];
+                    attackerSurvivors[i] += p * attackerSurvivors[next];
+                    defenderSurvivors[i] += p * defenderSurvivors[next];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the given pair of armies in the battle tables
+     * @param attackerArmies the number of armies on the attacking country (from 1 to the cap)
+     * @param defenderArmies the number of armies on the defending country (from 0 to the cap)
+     * @return the index
+     */
+    private int index(int attackerArmies, int defenderArmies) {
+        if(attackerArmies < 1 || attackerArmies > cap || defenderArmies < 0 || defenderArmies > cap)
+            throw new IllegalArgumentException("No odds for " + attackerArmies + " against " + defenderArmies + " armies (cap " + cap + ")");
+        return attackerArmies * (cap + 1) + defenderArmies;
+    }
+
+    /**
+     * Returns the index of the given roll in the roll table
+     * @param a the number of attacking dice
+     * @param d the number of defending dice
+     * @param losses the attacker's losses
+     * @return the index
+     */
+    private int rollIndex(int a, int d, int losses) {
+        return ((a - 1) * maxDefendArmies + (d - 1)) * (Math.min(maxAttackArmies, maxDefendArmies) + 1) + losses;
+    }
+
+    /**
+     * The cache of the battle outcomes, which removes the battle used least recently, as soon as it is full.
+     * It is not thread-safe, so every access needs to synchronize on the cache
+     */
+    private static final class OutcomeCache extends LinkedHashMap<Long, BattleOutcomes> {
+
+        /**
+         * The version of the cache, which is never serialized
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Creates an empty cache, which orders the battles by their last access
+         */
+        OutcomeCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BattleOutcomes> eldest) {
+            return size() > MAX_CACHED_OUTCOMES;
+        }
+    }
+
+    /**
+     * Moves to the next combination of dice
+     * @param dice the current combination (every dice from 0 to {@link Dice#SIDES}-1)
+     * @return false, if all combinations were visited
+     */
+    private static boolean next(int[] dice) {
+        for(int i = 0; i < dice.length; i++) {
+            if(++dice[i] < Dice.SIDES) return true;
+            dice[i] = 0;
+        }
+        return false;
+    }
+
+    /**
+     * Sorts the given dice in descending order
+     * @param dice the dice
+     */
+    private static void sortDescending(int[] dice) {
+        for(int i = 1; i < dice.length; i++)
+            for(int j = i; j > 0 && dice[j - 1] < dice[j]; j--) {
+                int tmp = dice[j];
+                dice[j] = dice[j - 1];
+                dice[j - 1] = tmp;
+            }
+    }
+}
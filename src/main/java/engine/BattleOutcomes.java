@@ -0,0 +1,175 @@
+package engine;
+
+/**
+ * The distribution of the final outcomes of a whole battle, which starts with a fixed number of armies on both
+ * countries and ends as soon as the defending country is conquered or the attacking country reaches a threshold.
+ * The outcomes are stored in an alias table, so drawing an outcome costs one random index and one random number
+ * regardless of the size of the battle
+ */
+public final class BattleOutcomes {
+
+    /**
+     * The armies on the attacking country after the battle (indexed by the outcome)
+     */
+    private final int[] attackerArmies;
+
+    /**
+     * The armies on the defending country after the battle (indexed by the outcome)
+     */
+    private final int[] defenderArmies;
+
+    /**
+     * The probability of every outcome
+     */
+    private final double[] probability;
+
+    /**
+     * The probability of keeping the drawn outcome instead of taking its alias
+     */
+    private final double[] keep;
+
+    /**
+     * The alias of every outcome
+     */
+    private final int[] alias;
+
+    /**
+     * Calculates the outcomes of the given battle
+     * @param odds the odds of a single roll
+     * @param attacker the armies on the attacking country
+     * @param defender the armies on the defending country
+     * @param stopAt the attacker stops, as soon as the attacking country has this number of armies or less (at least 1)
+     */
+    BattleOutcomes(BattleOdds odds, int attacker, int defender, int stopAt) {
+        if(stopAt < 1) throw new IllegalArgumentException("The attacking country keeps at least one army!");
+
+        // Push the probability mass through the chain. Every roll costs at least one army,
+        // so all states, which lead to a state, are visited before it
+        int width = defender + 1;
+        double[] mass = new double[(attacker + 1) * width];
+        mass[attacker * width + defender] = 1;
+
+        int outcomes = 0;
+        for(int a = attacker; a >= 1; a--) {
+            for(int d = defender; d >= 0; d--) {
+                double p = mass[a * width + d];
+                if(p == 0) continue;
+
+                // The battle is over
+                if(d == 0 || a <= stopAt) {
+                    outcomes++;
+                    continue;
+                }
+
+                int attackDice = odds.attackDice(a);
+                int defendDice = odds.defendDice(d);
+                int pairs = Math.min(attackDice, defendDice);
+                for(int losses = 0; losses <= pairs; losses++)
+                    mass[(a - losses) * width + d - (pairs - losses)] += p * odds.getRollProbability(attackDice, defendDice, losses);
+            }
+        }
+
+        // Collect the final states
+        attackerArmies = new int[outcomes];
+        defenderArmies = new int[outcomes];
+        probability = new double[outcomes];
+        int k = 0;
+        for(int a = attacker; a >= 1; a--) {
+            for(int d = defender; d >= 0; d--) {
+                double p = mass[a * width + d];
+                if(p == 0 || (d != 0 && a > stopAt)) continue;
+
+                attackerArmies[k] = a;
+                defenderArmies[k] = d;
+                probability[k++] = p;
+            }
+        }
+
+        keep = new double[outcomes];
+        alias = new int[outcomes];
+        buildAliasTable();
+    }
+
+    /**
+     * Builds the alias table with Vose's method
+     */
+    private void buildAliasTable() {
+        int n = probability.length;
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+
+        double sum = 0;
+        for(double p : probability) sum += p;
+
+        for(int i = 0; i < n; i++) {
+            scaled[i] = probability[i] * n / sum;
+            if(scaled[i] < 1) small[smallSize++] = i;
+            else large[largeSize++] = i;
+        }
+
+        // Fill every small column with a part of a large column
+        while(smallSize > 0 && largeSize > 0) {
+            int s = small[--smallSize];
+            int l = large[--largeSize];
+
+            keep[s] = scaled[s];
+            alias[s] = l;
+
+            scaled[l] = scaled[l] + scaled[s] - 1;
+            if(scaled[l] < 1) small[smallSize++] = l;
+            else large[largeSize++] = l;
+        }
+
+        // The remaining columns are full (up to rounding errors)
+        while(largeSize > 0) keep[large[--largeSize]] = 1;
+        while(smallSize > 0) keep[small[--smallSize]] = 1;
+    }
+
+    /**
+     * Draws an outcome
+     * @param random the random generator
+     * @return the outcome's index
+     */
+    public int sample(SplitMix64 random) {
+        int i = random.nextInt(keep.length);
+        return random.nextDouble() < keep[i] ? i : alias[i];
+    }
+
+    /**
+     * Returns the number of possible outcomes
+     * @return size
+     */
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * Returns the armies on the attacking country after the battle
+     * @param outcome the outcome's index
+     * @return the number of armies
+     */
+    public int getAttackerArmies(int outcome) {
+        return attackerArmies[outcome];
+    }
+
+    /**
+     * Returns the armies on the defending country after the battle
+     * @param outcome the outcome's index
+     * @return the number of armies (0, if the country was conquered)
+     */
+    public int getDefenderArmies(int outcome) {
+        return defenderArmies[outcome];
+    }
+
+    /**
+     * Returns the probability of the given outcome
+     * @param outcome the outcome's index
+     * @return the probability
+     */
+    public double getProbability(int outcome) {
+        return probability[outcome];
+    }
+}
@@ -0,0 +1,130 @@
+package engine;
+
+/**
+ * Resolves the dice of a single battle.
+ * The dice are thrown into two reusable int arrays and sorted with small sorting networks, so a battle does not
+ * create any objects. Every game should use its own dice, because the random generator is not thread-safe;
+ * two dice with the same seed throw the same numbers. The state of the generator can be read and set through
+ * {@link #getRandom()}, e.g. to continue a saved game with the same numbers
+ */
+public final class Dice {
+
+    /**
+     * The number of sides of a dice
+     */
+    public static final int SIDES = 6;
+
+    /**
+     * The random generator
+     */
+    private final SplitMix64 random;
+
+    /**
+     * The attacker's dice of the current battle
+     */
+    private final int[] attackDice;
+
+    /**
+     * The defender's dice of the current battle
+     */
+    private final int[] defendDice;
+
+    /**
+     * Creates new dice with a random seed
+     * @param maxAttackArmies the maximum number of armies, which can attack at once
+     * @param maxDefendArmies the maximum number of armies, which can defend at once
+     */
+    public Dice(int maxAttackArmies, int maxDefendArmies) {
+        this(new SplitMix64(), maxAttackArmies, maxDefendArmies);
+    }
+
+    /**
+     * Creates new dice with the given seed
+     * @param seed the seed of the random generator
+     * @param maxAttackArmies the maximum number of armies, which can attack at once
+     * @param maxDefendArmies the maximum number of armies, which can defend at once
+     */
+    public Dice(long seed, int maxAttackArmies, int maxDefendArmies) {
+        this(new SplitMix64(seed), maxAttackArmies, maxDefendArmies);
+    }
+
+    /**
+     * Creates new dice, which use the given random generator
+     * @param random the random generator
+     * @param maxAttackArmies the maximum number of armies, which can attack at once
+     * @param maxDefendArmies the maximum number of armies, which can defend at once
+     */
+    public Dice(SplitMix64 random, int maxAttackArmies, int maxDefendArmies) {
+        if(maxAttackArmies <= 0 || maxDefendArmies <= 0) throw new IllegalArgumentException("The maximum number of armies must be greater than 0!");
+
+        this.random = random;
+        this.attackDice = new int[maxAttackArmies];
+        this.defendDice = new int[maxDefendArmies];
+    }
+
+    /**
+     * Returns the random generator, e.g. for splitting it into independent generators or for reading its state
+     * @return random
+     */
+    public SplitMix64 getRandom() {
+        return random;
+    }
+
+    /**
+     * Throws the dice for the given armies and compares the highest dice pairwise.
+     * The defender only wins a pair with a higher number, so the attacker wins, if the dice are equal
+     * @param attackingArmies the number of attacking armies (from 1 to the maximum number of attacking armies)
+     * @param defendingArmies the number of defending armies (from 1 to the maximum number of defending armies)
+     * @return the number of armies the attacker loses; the defender loses min(attackingArmies, defendingArmies) minus that number
+     */
+    public int roll(int attackingArmies, int defendingArmies) {
+        throwDice(attackDice, attackingArmies);
+        throwDice(defendDice, defendingArmies);
+
+        // Compare the highest dice of both players
+        int pairs = Math.min(attackingArmies, defendingArmies);
+        int attackerLosses = 0;
+        for(int i = 0; i < pairs; i++) if(attackDice[i] < defendDice[i]) attackerLosses++;
+        return attackerLosses;
+    }
+
+    /**
+     * Throws the given number of dice and sorts them in descending order
+     * @param dice the array for the dice
+     * @param n the number of dice
+     */
+    private void throwDice(int[] dice, int n) {
+        for(int i = 0; i < n; i++) dice[i] = random.nextInt(SIDES) + 1;
+
+        // Sorting networks for the usual numbers of dice, insertion sort for the rest
+        switch(n) {
+            case 1:
+                break;
+            case 2:
+                swap(dice, 0, 1);
+                break;
+            case 3:
+                swap(dice, 0, 1);
+                swap(dice, 1, 2);
+                swap(dice, 0, 1);
+                break;
+            default:
+                for(int i = 1; i < n; i++)
+                    for(int j = i; j > 0 && dice[j - 1] < dice[j]; j--) swap(dice, j - 1, j);
+        }
+    }
+
+    /**
+     * Swaps the dice at the given positions, if they are not in descending order
+     * @param dice the dice
+     * @param i the first position
+     * @param j the second position (greater than i)
+     */
+    private static void swap(int[] dice, int i, int j) {
+        if(dice[i] < dice[j]) {
+            int tmp = dice[i];
+            dice[i] = dice[j];
+            dice[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,765 @@
+package engine;
+
+import engine.event.GameEvent;
+import engine.event.GameEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The engine, which contains all rules of the game.
+ * It works only on the indices of the countries and players, so it can be used without any ui (e.g. for simulations).
+ * The ui only listens to the changes, which are published through the {@link GameListener}
+ */
+public class GameEngine {
+
+    /**
+     * The {@link GameEngine} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameEngine.class);
+
+    /**
+     * The default number of armies, which can attack at once
+     */
+    public static final int DEFAULT_MAX_ATTACK_ARMIES = 3;
+
+    /**
+     * The default number of armies, which can defend at once
+     */
+    public static final int DEFAULT_MAX_DEFEND_ARMIES = 2;
+
+    /**
+     * The default maximum number of armies per country, for which the battle odds are calculated
+     */
+    public static final int DEFAULT_ODDS_CAP = 100;
+
+    /**
+     * The state the engine is working on
+     */
+    private final GameState state;
+
+    /**
+     * The maximum number of armies, which can attack at once
+     */
+    private final int maxAttackArmies;
+
+    /**
+     * The maximum number of armies, which can defend at once
+     */
+    private final int maxDefendArmies;
+
+    /**
+     * The map the game is played on or null, if the countries are not connected (e.g. in tests)
+     */
+    private MapGraph mapGraph;
+
+    /**
+     * The listeners, which will be notified on every change
+     */
+    private final List<GameListener> listeners;
+
+    /**
+     * The subscribers to the events of the players' actions
+     */
+    private final List<GameEventListener> eventListeners;
+
+    /**
+     * The dice of this game
+     */
+    private Dice dice;
+
+    /**
+     * The odds of the battles, which are calculated on first use
+     */
+    private BattleOdds battleOdds;
+
+    /**
+     * Creates a new engine with an empty state and the default rules
+     */
+    public GameEngine() {
+        this(DEFAULT_MAX_ATTACK_ARMIES, DEFAULT_MAX_DEFEND_ARMIES);
+    }
+
+    /**
+     * Creates a new engine with an empty state
+     * @param maxAttackArmies the maximum number of armies, which can attack at once
+     * @param maxDefendArmies the maximum number of armies, which can defend at once
+     */
+    public GameEngine(int maxAttackArmies, int maxDefendArmies) {
+        this(new GameState(), maxAttackArmies, maxDefendArmies);
+    }
+
+    /**
+     * Creates a new engine, which works on the given state
+     * @param state the state
+     * @param maxAttackArmies the maximum number of armies, which can attack at once
+     * @param maxDefendArmies the maximum number of armies, which can defend at once
+     */
+    public GameEngine(GameState state, int maxAttackArmies, int maxDefendArmies) {
+        if(maxAttackArmies <= 0 || maxDefendArmies <= 0) throw new IllegalArgumentException("The maximum number of armies must be greater than 0!");
+
+        this.state = state;
+        this.maxAttackArmies = maxAttackArmies;
+        this.maxDefendArmies = maxDefendArmies;
+        this.listeners = new ArrayList<>();
+        this.eventListeners = new ArrayList<>();
+        this.dice = new Dice(maxAttackArmies, maxDefendArmies);
+    }
+
+    /**
+     * Returns the maximum number of armies, which can attack at once
+     * @return maxAttackArmies
+     */
+    public int getMaxAttackArmies() {
+        return maxAttackArmies;
+    }
+
+    /**
+     * Returns the maximum number of armies, which can defend at once
+     * @return maxDefendArmies
+     */
+    public int getMaxDefendArmies() {
+        return maxDefendArmies;
+    }
+
+    /**
+     * Returns the odds of the battles with the rules of this engine
+     * @return battleOdds
+     */
+    public BattleOdds getBattleOdds() {
+        if(battleOdds == null) battleOdds = new BattleOdds(maxAttackArmies, maxDefendArmies, DEFAULT_ODDS_CAP);
+        return battleOdds;
+    }
+
+    /**
+     * Sets the odds of the battles, e.g. to share them between several games
+     * @param battleOdds the odds, which need to have the same rules as this engine
+     */
+    public void setBattleOdds(BattleOdds battleOdds) {
+        if(battleOdds.getMaxAttackArmies() != maxAttackArmies || battleOdds.getMaxDefendArmies() != maxDefendArmies)
+            throw new IllegalArgumentException("The battle odds use different rules!");
+        this.battleOdds = battleOdds;
+    }
+
+    /**
+     * Sets the dice, e.g. seeded dice for a reproducible game
+     * @param dice the dice
+     */
+    public void setDice(Dice dice) {
+        this.dice = Objects.requireNonNull(dice);
+    }
+
+    /**
+     * Lets the engine throw the dice with the given seed
+     * @param seed the seed of the dice
+     */
+    public void setSeed(long seed) {
+        setDice(new Dice(seed, maxAttackArmies, maxDefendArmies));
+    }
+
+    /**
+     * Returns the dice of this game
+     * @return dice
+     */
+    public Dice getDice() {
+        return dice;
+    }
+
+    /**
+     * Creates a copy of this engine with a copy of its state, e.g. for simulating the rest of the game.
+     * The copy shares the map and the battle odds, but not the listeners
+     * @param dice the dice of the copy
+     * @return the copy
+     */
+    public GameEngine copy(Dice dice) {
+        GameEngine copy = new GameEngine(new GameState(state), maxAttackArmies, maxDefendArmies);
+        copy.mapGraph = mapGraph;
+        copy.battleOdds = getBattleOdds();
+        copy.dice = dice;
+        return copy;
+    }
+
+    /**
+     * Overwrites the engine's state with the given state without notifying the listeners
+     * @param other the state to be copied
+     */
+    public void copyState(GameState other) {
+        state.copyFrom(other);
+    }
+
+    /**
+     * Takes over every country, reserve and the phase of the given state, which differ from this engine's state.
+     * The listeners are only notified about the actual changes, e.g. when a turn was played on a copy of this engine
+     * @param other the state, which should be taken over (with the same countries and players)
+     */
+    public void applyChanges(GameState other) {
+        applyChanges(other, null);
+    }
+
+    /**
+     * Takes over every country, reserve and the phase of the given state like {@link #applyChanges(GameState)}.
+     * Instead of the engine's own events the given events, which have led to the state, are published
+     * @param other the state, which should be taken over (with the same countries and players)
+     * @param events the events of the copy, which has played the turn, or null to publish the engine's own events
+     */
+    public void applyChanges(GameState other, List<GameEvent> events) {
+        if(other.getCountries() != state.getCountries() || other.getPlayers() != state.getPlayers())
+            throw new IllegalArgumentException("The state belongs to another game!");
+
+        for(int country = 0; country < state.getCountries(); country++) {
+            if(other.getOwner(country) != state.getOwner(country)) setOwner(country, other.getOwner(country));
+            if(other.getArmies(country) != state.getArmies(country)) addArmies(country, other.getArmies(country) - state.getArmies(country));
+        }
+        for(int player = 0; player < state.getPlayers(); player++)
+            if(other.getReserve(player) != state.getReserve(player)) setReserve(player, other.getReserve(player));
+
+        setCurrentPlayer(other.getCurrentPlayer());
+        setPhase(other.getPhase(), events == null);
+
+        if(events != null && !eventListeners.isEmpty()) events.forEach(this::publish);
+    }
+
+    /**
+     * Adds a listener, which will be notified on every change
+     * @param listener the listener to be added
+     */
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes the given listener
+     * @param listener the listener to be removed
+     */
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Subscribes the given listener to the events of the players' actions
+     * @param listener the listener to be added
+     */
+    public void addEventListener(GameEventListener listener) {
+        eventListeners.add(listener);
+    }
+
+    /**
+     * Unsubscribes the given listener
+     * @param listener the listener to be removed
+     */
+    public void removeEventListener(GameEventListener listener) {
+        eventListeners.remove(listener);
+    }
+
+    /**
+     * Returns the state the engine is working on
+     * @return state
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * Sets the map the game is played on. It will be used for checking the neighbors and calculating the reinforcements
+     * @param mapGraph the compiled map
+     */
+    public void setMapGraph(MapGraph mapGraph) {
+        this.mapGraph = mapGraph;
+        state.ensureCountries(mapGraph.size());
+
+        int[] continentOf = new int[mapGraph.size()];
+        for(int country = 0; country < continentOf.length; country++) continentOf[country] = mapGraph.getContinent(country);
+        state.setContinents(continentOf, mapGraph.getContinentCount());
+    }
+
+    /**
+     * Returns the map the game is played on
+     * @return the compiled map or null, if no map was set
+     */
+    public MapGraph getMapGraph() {
+        return mapGraph;
+    }
+
+    /**
+     * Adds a new player to the game
+     * @return the new player's index
+     */
+    public int addPlayer() {
+        return state.addPlayer();
+    }
+
+    /**
+     * Adds free countries, until the game contains the given number of countries
+     * @param countries the new number of countries
+     */
+    public void ensureCountries(int countries) {
+        state.ensureCountries(countries);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Queries
+    // ------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Returns the owner of the given country
+     * @param country the country's index
+     * @return the owner's index or {@link GameState#NONE}
+     */
+    public int getOwner(int country) {
+        return state.getOwner(country);
+    }
+
+    /**
+     * Checks if the given country is not conquered
+     * @param country the country's index
+     * @return true, if free; otherwise false
+     */
+    public boolean isFree(int country) {
+        return state.getOwner(country) == GameState.NONE;
+    }
+
+    /**
+     * Returns the number of armies the given player has on the given country
+     * @param player the player's index
+     * @param country the country's index
+     * @return the number of armies or 0, if the country does not belong to the player
+     */
+    public int getArmies(int player, int country) {
+        return state.getOwner(country) == player ? state.getArmies(country) : 0;
+    }
+
+    /**
+     * Checks if the given countries are neighbors. Without a map all countries are treated as neighbors
+     * @param a the first country's index
+     * @param b the second country's index
+     * @return true, if they are neighbors; otherwise false
+     */
+    public boolean isNeighbor(int a, int b) {
+        return mapGraph == null || mapGraph.isNeighbor(a, b);
+    }
+
+    /**
+     * Returns the number of countries the given player owns
+     * @param player the player's index
+     * @return the number of countries
+     */
+    public int countCountries(int player) {
+        return state.getCountryCount(player);
+    }
+
+    /**
+     * Checks if all countries have an owner
+     * @return true, if no country is free; otherwise false
+     */
+    public boolean allCountriesTaken() {
+        return state.getFreeCountries() == 0;
+    }
+
+    /**
+     * Checks if the given player has conquered the whole world
+     * @param player the player's index
+     * @return true, if the player owns every country; otherwise false
+     */
+    public boolean hasWon(int player) {
+        return state.getCountries() > 0 && countCountries(player) == state.getCountries();
+    }
+
+    /**
+     * Returns the current phase
+     * @return phase
+     */
+    public GamePhase getPhase() {
+        return state.getPhase();
+    }
+
+    /**
+     * Returns the index of the player, who is on turn
+     * @return the player's index or {@link GameState#NONE}
+     */
+    public int getCurrentPlayer() {
+        return state.getCurrentPlayer();
+    }
+
+    /**
+     * Decides how many armies can be used for attacking
+     * @param player the attacking player's index
+     * @param country the attacking country's index
+     * @return the number of armies, which can be used for attacking
+     */
+    public int getAttackingArmies(int player, int country) {
+        // You can only attack with at most n-1 armies, as one army has to stay in the country
+        int armies = getArmies(player, country);
+        return armies > 1 ? Math.min(maxAttackArmies, armies - 1) : 0;
+    }
+
+    /**
+     * Decides how many armies can be used for defending
+     * @param player the defending player's index
+     * @param country the defending country's index
+     * @return the number of armies, which can be used for defending
+     */
+    public int getDefendingArmies(int player, int country) {
+        // The defending country has at least one army, which must be used for defending
+        int armies = getArmies(player, country);
+        return armies > 1 ? Math.min(maxDefendArmies, armies) : 1;
+    }
+
+    /**
+     * Calculates the number of armies the given player gets at the beginning of a round
+     * @param player the player's index
+     * @return the number of reinforcements
+     */
+    public int getReinforcements(int player) {
+        // The player gets an army for every three countries
+        int armies = countCountries(player) / 3;
+
+        if(mapGraph == null) return armies;
+
+        // Calculate the additional points, if the player has conquered a continent
+        for(int continent = 0; continent < mapGraph.getContinentCount(); continent++)
+            if(holdsContinent(player, continent)) armies += mapGraph.getContinentPoints(continent);
+        return armies;
+    }
+
+    /**
+     * Checks if the given player owns every country of the given continent
+     * @param player the player's index
+     * @param continent the continent's index in the map
+     * @return true, if the player has conquered the continent; otherwise false
+     */
+    public boolean holdsContinent(int player, int continent) {
+        return mapGraph != null && state.getContinentCount(player, continent) == mapGraph.getContinentSize(continent);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Plain changes
+    // ------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assigns the given country to the given player and sets the number of armies for that country to 1
+     * @param country the country's index
+     * @param player the new owner's index or {@link GameState#NONE}, if the country should be free
+     */
+    public void setOwner(int country, int player) {
+        state.setOwner(country, player);
+        state.setArmies(country, player == GameState.NONE ? 0 : 1);
+
+        listeners.forEach(l -> l.ownerChanged(country, player));
+        listeners.forEach(l -> l.armiesChanged(country, state.getArmies(country)));
+    }
+
+    /**
+     * Adds the given number of armies to the given country
+     * @param country the country's index
+     * @param armies the number of armies (can be negative)
+     */
+    public void addArmies(int country, int armies) {
+        state.setArmies(country, state.getArmies(country) + armies);
+        listeners.forEach(l -> l.armiesChanged(country, state.getArmies(country)));
+    }
+
+    /**
+     * Sets the number of armies the given player can still place
+     * @param player the player's index
+     * @param armies the number of armies
+     */
+    public void setReserve(int player, int armies) {
+        state.setReserve(player, armies);
+        listeners.forEach(l -> l.reserveChanged(player, armies));
+    }
+
+    /**
+     * Sets the player, who is on turn
+     * @param player the player's index or {@link GameState#NONE}
+     */
+    public void setCurrentPlayer(int player) {
+        if(state.getCurrentPlayer() == player) return;
+        state.setCurrentPlayer(player);
+        listeners.forEach(l -> l.turnChanged(player));
+    }
+
+    /**
+     * Removes all countries from the given player
+     * @param player the player's index
+     */
+    public void clearCountries(int player) {
+        for(int i = 0; i < state.getCountries(); i++) if(state.getOwner(i) == player) setOwner(i, GameState.NONE);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Rules
+    // ------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The current player acquires the given country, if it is free.
+     * Afterwards the next player is on turn. As soon as all countries are taken, the army placement starts
+     * @param country the country's index
+     * @return true, if the country was acquired; otherwise false
+     */
+    public boolean acquire(int country) {
+        int player = state.getCurrentPlayer();
+        if(state.getPhase() != GamePhase.ACQUISITION || player == GameState.NONE || !isFree(country)) return false;
+
+        setOwner(country, player);
+        if(!eventListeners.isEmpty()) publish(GameEvent.countryAcquired(player, country));
+        nextTurn();
+
+        // Check if the phase switches to the army placement phase
+        if(allCountriesTaken()) beginTurn();
+        return true;
+    }
+
+    /**
+     * The current player places one army on the given country, if it belongs to the player.
+     * As soon as the player has no armies left, the move and attack phase starts
+     * @param country the country's index
+     * @return true, if the army was placed; otherwise false
+     */
+    public boolean place(int country) {
+        int player = state.getCurrentPlayer();
+        if(state.getPhase() != GamePhase.ARMY_PLACEMENT || player == GameState.NONE) return false;
+        if(state.getOwner(country) != player || state.getReserve(player) <= 0) return false;
+
+        addArmies(country, 1);
+        setReserve(player, state.getReserve(player) - 1);
+        if(!eventListeners.isEmpty()) publish(GameEvent.armiesPlaced(player, country, 1));
+
+        // Check if the phase switches to the move and attack phase
+        if(state.getReserve(player) == 0) setPhase(GamePhase.MOVE_AND_ATTACK);
+        return true;
+    }
+
+    /**
+     * The player attacks the defending country with the attacking country
+     * @param player the attacking player's index
+     * @param attackCountry the attacking country's index
+     * @param defendCountry the defending country's index
+     * @return the result of the attack
+     */
+    public AttackResult attack(int player, int attackCountry, int defendCountry) {
+
+        // Assure, that the defending country does not belong to the attacking player
+        if(state.getOwner(defendCountry) == player) return AttackResult.OWN_COUNTRY;
+
+        // A country can only attack its neighbors
+        if(!isNeighbor(attackCountry, defendCountry)) return AttackResult.NO_NEIGHBOR;
+
+        // If the player has not enough armies in the attacking country, then nothing should happen
+        if(getArmies(player, attackCountry) <= 1) return AttackResult.NOT_ENOUGH_ARMIES;
+
+        // Get the player, who owns the country
+        int defender = state.getOwner(defendCountry);
+        if(defender == GameState.NONE) throw new IllegalStateException("No player owns country " + defendCountry);
+
+        // Decide how many armies can attack and defend
+        int attackingArmies = getAttackingArmies(player, attackCountry);
+        int defendingArmies = getDefendingArmies(defender, defendCountry);
+
+        // Throw the dice
+        int attackerLosses = dice.roll(attackingArmies, defendingArmies);
+        int defenderLosses = Math.min(attackingArmies, defendingArmies) - attackerLosses;
+
+        if(LOGGER.isDebugEnabled()) LOGGER.debug("Attack=[" + attackCountry + ",-" + attackerLosses + "], Defend=[" + defendCountry + ",-" + defenderLosses + "]");
+
+        return resolve(player, defender, attackCountry, defendCountry, attackerLosses, defenderLosses, 0);
+    }
+
+    /**
+     * The player attacks the defending country, until it is conquered or the attacking country has the given number
+     * of armies or less. Instead of throwing the dice roll by roll, the final outcome is drawn from the
+     * distribution of all outcomes, so every listener is only notified once per country
+     * @param player the attacking player's index
+     * @param attackCountry the attacking country's index
+     * @param defendCountry the defending country's index
+     * @param stopAt the attack stops at this number of armies on the attacking country (at least 1)
+     * @return the result of the attack
+     */
+    public AttackResult blitz(int player, int attackCountry, int defendCountry, int stopAt) {
+
+        // The same checks as for a single attack
+        if(state.getOwner(defendCountry) == player) return AttackResult.OWN_COUNTRY;
+        if(!isNeighbor(attackCountry, defendCountry)) return AttackResult.NO_NEIGHBOR;
+
+        stopAt = Math.max(1, stopAt);
+        if(getArmies(player, attackCountry) <= stopAt) return AttackResult.NOT_ENOUGH_ARMIES;
+
+        int defender = state.getOwner(defendCountry);
+        if(defender == GameState.NONE) throw new IllegalStateException("No player owns country " + defendCountry);
+
+        // Draw the final outcome
+        BattleOutcomes outcomes = getBattleOdds().getOutcomes(state.getArmies(attackCountry), state.getArmies(defendCountry), stopAt);
+        int outcome = outcomes.sample(dice.getRandom());
+
+        int attackerLosses = state.getArmies(attackCountry) - outcomes.getAttackerArmies(outcome);
+        int defenderLosses = state.getArmies(defendCountry) - outcomes.getDefenderArmies(outcome);
+
+        return resolve(player, defender, attackCountry, defendCountry, attackerLosses, defenderLosses, stopAt);
+    }
+
+    /**
+     * Applies the known outcome of an attack without throwing any dice, e.g. when a recorded game is replayed
+     * @param player the attacking player's index
+     * @param attackCountry the attacking country's index
+     * @param defendCountry the defending country's index
+     * @param attackerLosses the number of armies the attacking country loses
+     * @param defenderLosses the number of armies the defending country loses
+     * @param stopAt the threshold of a whole battle or 0 for a single roll
+     * @return the result of the attack
+     */
+    public AttackResult applyBattle(int player, int attackCountry, int defendCountry, int attackerLosses, int defenderLosses, int stopAt) {
+        if(state.getOwner(defendCountry) == player) return AttackResult.OWN_COUNTRY;
+        if(!isNeighbor(attackCountry, defendCountry)) return AttackResult.NO_NEIGHBOR;
+
+        // The attacking country always keeps one army
+        if(attackerLosses < 0 || defenderLosses < 0 || getArmies(player, attackCountry) - attackerLosses < 1) return AttackResult.NOT_ENOUGH_ARMIES;
+
+        int defender = state.getOwner(defendCountry);
+        if(defender == GameState.NONE) throw new IllegalStateException("No player owns country " + defendCountry);
+        if(state.getArmies(defendCountry) < defenderLosses) throw new IllegalArgumentException("Country " + defendCountry + " cannot lose " + defenderLosses + " armies");
+
+        return resolve(player, defender, attackCountry, defendCountry, attackerLosses, defenderLosses, stopAt);
+    }
+
+    /**
+     * Removes the lost armies of an attack and conquers the defending country, if it has no armies left
+     * @param player the attacking player's index
+     * @param defender the defending player's index
+     * @param attackCountry the attacking country's index
+     * @param defendCountry the defending country's index
+     * @param attackerLosses the number of armies the attacking country loses
+     * @param defenderLosses the number of armies the defending country loses
+     * @param stopAt the threshold of a whole battle or 0 for a single roll
+     * @return the result of the attack
+     */
+    private AttackResult resolve(int player, int defender, int attackCountry, int defendCountry, int attackerLosses, int defenderLosses, int stopAt) {
+        addArmies(attackCountry, -attackerLosses);
+        addArmies(defendCountry, -defenderLosses);
+        if(!eventListeners.isEmpty()) publish(GameEvent.battleRolled(player, attackCountry, defendCountry, attackerLosses, defenderLosses, stopAt));
+
+        // If the country was conquered, it changes its owner
+        if(state.getArmies(defendCountry) == 0 && conquer(player, defender, attackCountry, defendCountry)) return AttackResult.CONQUERED;
+        return AttackResult.DEFENDED;
+    }
+
+    /**
+     * Conquers the defending country and moves all left armies to that country.
+     * It is only possible to conquer a country, if the defending player has no armies left in the country
+     * and the attacking country has at least two armies left
+     * @param attacker the index of the player, to whom the country will belong to
+     * @param defender the index of the player, from whom the country will be removed
+     * @param attackCountry the attacking country's index
+     * @param defendCountry the defending country's index
+     * @return true, if the country was conquered; otherwise false
+     */
+    public boolean conquer(int attacker, int defender, int attackCountry, int defendCountry) {
+        if(getArmies(defender, defendCountry) != 0 || getArmies(attacker, attackCountry) < 2) return false;
+
+        // Add the country to the player, who has conquered it
+        setOwner(defendCountry, attacker);
+        if(!eventListeners.isEmpty()) publish(GameEvent.countryConquered(attacker, attackCountry, defendCountry, defender));
+
+        // Remove the army from the defending country, as it will be added by 'move'
+        addArmies(defendCountry, -1);
+
+        // Move all armies from the attacking to the defending country
+        move(attacker, attackCountry, defendCountry);
+        return true;
+    }
+
+    /**
+     * Moves all armies (except one) from 'from' to 'to', if both belong to the player and are neighbors
+     * @param player the player's index
+     * @param from the index of the country from which the armies should be moved
+     * @param to the index of the country to which the armies should be moved
+     */
+    public void move(int player, int from, int to) {
+        if(state.getOwner(from) != player || state.getOwner(to) != player || !isNeighbor(from, to)) return;
+
+        // Only move, if there are any armies to be moved
+        int armies = state.getArmies(from) - 1;
+        if(armies > 0) {
+            addArmies(to, armies);
+            addArmies(from, -armies);
+            if(!eventListeners.isEmpty()) publish(GameEvent.armiesMoved(player, from, to, armies));
+        }
+    }
+
+    /**
+     * Lets the next player be on turn
+     */
+    public void nextTurn() {
+        int player = state.getCurrentPlayer();
+        if(player != GameState.NONE) setCurrentPlayer((player + 1) % state.getPlayers());
+    }
+
+    /**
+     * Ends the current player's round: the next player, who still owns a country, is on turn and gets the reinforcements
+     */
+    public void endTurn() {
+        int player = state.getCurrentPlayer();
+        if(player == GameState.NONE) return;
+
+        // Skip the players, who have already lost all their countries
+        int next = player;
+        do next = (next + 1) % state.getPlayers();
+        while(next != player && countCountries(next) == 0);
+
+        setCurrentPlayer(next);
+        if(!eventListeners.isEmpty()) publish(GameEvent.turnEnded(player, next));
+        beginTurn();
+    }
+
+    /**
+     * Resets the game: all countries are free again and the acquisition starts from the beginning
+     */
+    public void reset() {
+        for(int i = 0; i < state.getCountries(); i++) if(!isFree(i)) setOwner(i, GameState.NONE);
+        for(int i = 0; i < state.getPlayers(); i++) if(state.getReserve(i) != 0) setReserve(i, 0);
+        setPhase(GamePhase.ACQUISITION);
+    }
+
+    /**
+     * The current player gets the reinforcements and starts with the army placement
+     */
+    private void beginTurn() {
+        int player = state.getCurrentPlayer();
+        setReserve(player, state.getReserve(player) + getReinforcements(player));
+        setPhase(GamePhase.ARMY_PLACEMENT);
+
+        // A player without any reinforcements can directly start attacking
+        if(state.getPhase() == GamePhase.ARMY_PLACEMENT && state.getCurrentPlayer() == player && state.getReserve(player) == 0)
+            setPhase(GamePhase.MOVE_AND_ATTACK);
+    }
+
+    /**
+     * Sets the current phase and notifies the listeners
+     * @param phase the new phase
+     */
+    private void setPhase(GamePhase phase) {
+        setPhase(phase, true);
+    }
+
+    /**
+     * Sets the current phase and notifies the listeners
+     * @param phase the new phase
+     * @param publish true, if the subscribers should get an event
+     */
+    private void setPhase(GamePhase phase, boolean publish) {
+        if(state.getPhase() == phase) return;
+        state.setPhase(phase);
+        if(publish && !eventListeners.isEmpty()) publish(GameEvent.phaseChanged(state.getCurrentPlayer(), phase));
+        listeners.forEach(l -> l.phaseChanged(phase));
+    }
+
+    /**
+     * Publishes the given event to all subscribers.
+     * The callers check for subscribers first, so that no event is created without them (e.g. in simulations)
+     * @param event the event
+     */
+    private void publish(GameEvent event) {
+        for(int i = 0; i < eventListeners.size(); i++) eventListeners.get(i).onEvent(event);
+    }
+}
@@ -0,0 +1,41 @@
+package engine;
+
+/**
+ * A listener, which will be notified by the {@link GameEngine} as soon as the game's state changes.
+ * All methods do nothing per default, so a listener only needs to implement the events it is interested in
+ */
+public interface GameListener {
+
+    /**
+     * Will be called, if a country got a new owner
+     * @param country the country's index
+     * @param owner the new owner's index or {@link GameState#NONE}, if the country is free again
+     */
+    default void ownerChanged(int country, int owner) {}
+
+    /**
+     * Will be called, if the number of armies on a country has changed
+     * @param country the country's index
+     * @param armies the new number of armies
+     */
+    default void armiesChanged(int country, int armies) {}
+
+    /**
+     * Will be called, if the number of armies a player can still place has changed
+     * @param player the player's index
+     * @param armies the new number of armies
+     */
+    default void reserveChanged(int player, int armies) {}
+
+    /**
+     * Will be called, if another player is on turn
+     * @param player the index of the player, who is on turn now
+     */
+    default void turnChanged(int player) {}
+
+    /**
+     * Will be called, if the game has switched to another phase
+     * @param phase the new phase
+     */
+    default void phaseChanged(GamePhase phase) {}
+}
@@ -0,0 +1,22 @@
+package engine;
+
+/**
+ * The phases a game runs through
+ */
+public enum GamePhase {
+
+    /**
+     * Every player chooses alternately one unoccupied country
+     */
+    ACQUISITION,
+
+    /**
+     * The current player distributes the reinforcements
+     */
+    ARMY_PLACEMENT,
+
+    /**
+     * The current player attacks opposing countries or moves armies between his/her own countries
+     */
+    MOVE_AND_ATTACK
+}
@@ -0,0 +1,347 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * The state of a game: the owner and the armies of every country, the armies every player can still place,
+ * the player on turn and the current phase.
+ * Countries and players are identified by their index, so the state does not depend on any ui classes.
+ * Only the {@link GameEngine} changes the state, so that every change can be published to its listeners
+ */
+public class GameState {
+
+    /**
+     * Indicates, that a country has no owner or that no player is on turn
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The owner of every country (indexed by the country's index)
+     */
+    private int[] owner;
+
+    /**
+     * The number of armies on every country (indexed by the country's index)
+     */
+    private int[] armies;
+
+    /**
+     * The number of countries in the game
+     */
+    private int countries;
+
+    /**
+     * The number of countries without an owner
+     */
+    private int freeCountries;
+
+    /**
+     * The number of countries every player owns (indexed by the player's index)
+     */
+    private int[] countryCount;
+
+    /**
+     * The continent of every country or -1 (indexed by the country's index, shared with copies of this state)
+     */
+    private int[] continentOf;
+
+    /**
+     * The number of continents
+     */
+    private int continents;
+
+    /**
+     * The number of countries every player owns on every continent (indexed by player * continents + continent)
+     */
+    private int[] continentCount;
+
+    /**
+     * The number of armies every player can still place (indexed by the player's index)
+     */
+    private int[] reserve;
+
+    /**
+     * The number of players in the game
+     */
+    private int players;
+
+    /**
+     * The index of the player, who is on turn
+     */
+    private int currentPlayer;
+
+    /**
+     * The current phase
+     */
+    private GamePhase phase;
+
+    /**
+     * Creates a new state without any countries and players
+     */
+    public GameState() {
+        this(0);
+    }
+
+    /**
+     * Creates a new state with the given number of free countries
+     * @param countries the number of countries
+     */
+    public GameState(int countries) {
+        this.owner = new int[countries];
+        this.armies = new int[countries];
+        this.countries = countries;
+        this.freeCountries = countries;
+        this.countryCount = new int[0];
+        this.continentOf = new int[0];
+        this.continents = 0;
+        this.continentCount = new int[0];
+        this.reserve = new int[0];
+        this.players = 0;
+        this.currentPlayer = NONE;
+        this.phase = GamePhase.ACQUISITION;
+
+        Arrays.fill(owner, NONE);
+    }
+
+    /**
+     * Creates a copy of the given state
+     * @param other the state to be copied
+     */
+    public GameState(GameState other) {
+        this.owner = Arrays.copyOf(other.owner, other.countries);
+        this.armies = Arrays.copyOf(other.armies, other.countries);
+        this.countries = other.countries;
+        this.freeCountries = other.freeCountries;
+        this.countryCount = Arrays.copyOf(other.countryCount, other.players);
+        this.continentOf = other.continentOf;
+        this.continents = other.continents;
+        this.continentCount = Arrays.copyOf(other.continentCount, other.players * other.continents);
+        this.reserve = Arrays.copyOf(other.reserve, other.players);
+        this.players = other.players;
+        this.currentPlayer = other.currentPlayer;
+        this.phase = other.phase;
+    }
+
+    /**
+     * Overwrites this state with the given state. The arrays are reused, if they are large enough,
+     * so that e.g. a simulation can reset its state without creating any objects
+     * @param other the state to be copied
+     */
+    void copyFrom(GameState other) {
+        if(owner.length < other.countries) {
+            owner = new int[other.countries];
+            armies = new int[other.countries];
+        }
+        if(reserve.length < other.players) {
+            reserve = new int[other.players];
+            countryCount = new int[other.players];
+        }
+        if(continentCount.length < reserve.length * other.continents) continentCount = new int[reserve.length * other.continents];
+
+        System.arraycopy(other.owner, 0, owner, 0, other.countries);
+        System.arraycopy(other.armies, 0, armies, 0, other.countries);
+        System.arraycopy(other.reserve, 0, reserve, 0, other.players);
+        System.arraycopy(other.countryCount, 0, countryCount, 0, other.players);
+        System.arraycopy(other.continentCount, 0, continentCount, 0, other.players * other.continents);
+
+        countries = other.countries;
+        freeCountries = other.freeCountries;
+        continentOf = other.continentOf;
+        continents = other.continents;
+        players = other.players;
+        currentPlayer = other.currentPlayer;
+        phase = other.phase;
+    }
+
+    /**
+     * Returns the number of countries
+     * @return countries
+     */
+    public int getCountries() {
+        return countries;
+    }
+
+    /**
+     * Returns the number of players
+     * @return players
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Returns the owner of the given country
+     * @param country the country's index
+     * @return the owner's index or {@link #NONE}, if the country is free
+     */
+    public int getOwner(int country) {
+        return owner[country];
+    }
+
+    /**
+     * Returns the number of countries the given player owns
+     * @param player the player's index
+     * @return the number of countries
+     */
+    public int getCountryCount(int player) {
+        return countryCount[player];
+    }
+
+    /**
+     * Returns the number of countries the given player owns on the given continent
+     * @param player the player's index
+     * @param continent the continent's index
+     * @return the number of countries
+     */
+    public int getContinentCount(int player, int continent) {
+        return continentCount[player * continents + continent];
+    }
+
+    /**
+     * Returns the number of countries without an owner
+     * @return the number of free countries
+     */
+    public int getFreeCountries() {
+        return freeCountries;
+    }
+
+    /**
+     * Returns the number of armies on the given country
+     * @param country the country's index
+     * @return the number of armies
+     */
+    public int getArmies(int country) {
+        return armies[country];
+    }
+
+    /**
+     * Returns the number of armies, the given player can still place
+     * @param player the player's index
+     * @return the number of armies
+     */
+    public int getReserve(int player) {
+        return reserve[player];
+    }
+
+    /**
+     * Returns the index of the player, who is on turn
+     * @return the player's index or {@link #NONE}
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Returns the current phase
+     * @return phase
+     */
+    public GamePhase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Adds free countries, until the state contains the given number of countries
+     * @param countries the new number of countries
+     */
+    void ensureCountries(int countries) {
+        if(countries <= this.countries) return;
+
+        if(countries > owner.length) {
+            int capacity = Math.max(countries, owner.length * 2);
+            owner = Arrays.copyOf(owner, capacity);
+            armies = Arrays.copyOf(armies, capacity);
+        }
+        Arrays.fill(owner, this.countries, countries, NONE);
+        freeCountries += countries - this.countries;
+        this.countries = countries;
+    }
+
+    /**
+     * Sets the continents of the countries and counts the countries every player already owns on them
+     * @param continentOf the continent of every country or -1 (indexed by the country's index)
+     * @param continents the number of continents
+     */
+    void setContinents(int[] continentOf, int continents) {
+        this.continentOf = continentOf;
+        this.continents = continents;
+        this.continentCount = new int[reserve.length * continents];
+
+        for(int country = 0; country < countries && country < continentOf.length; country++)
+            if(owner[country] != NONE && continentOf[country] >= 0) continentCount[owner[country] * continents + continentOf[country]]++;
+    }
+
+    /**
+     * Adds a new player without any armies to place
+     * @return the new player's index
+     */
+    int addPlayer() {
+        if(players == reserve.length) {
+            reserve = Arrays.copyOf(reserve, Math.max(4, players * 2));
+            countryCount = Arrays.copyOf(countryCount, reserve.length);
+            continentCount = Arrays.copyOf(continentCount, reserve.length * continents);
+        }
+        reserve[players] = 0;
+        countryCount[players] = 0;
+        Arrays.fill(continentCount, players * continents, (players + 1) * continents, 0);
+        return players++;
+    }
+
+    /**
+     * Sets the owner of the given country
+     * @param country the country's index
+     * @param player the owner's index or {@link #NONE}
+     */
+    void setOwner(int country, int player) {
+        int previous = owner[country];
+        if(previous == player) return;
+
+        // Keep the counters in step with the table
+        int continent = country < continentOf.length ? continentOf[country] : -1;
+        if(previous == NONE) freeCountries--;
+        else {
+            countryCount[previous]--;
+            if(continent >= 0) continentCount[previous * continents + continent]--;
+        }
+        if(player == NONE) freeCountries++;
+        else {
+            countryCount[player]++;
+            if(continent >= 0) continentCount[player * continents + continent]++;
+        }
+
+        owner[country] = player;
+    }
+
+    /**
+     * Sets the number of armies on the given country
+     * @param country the country's index
+     * @param armies the number of armies
+     */
+    void setArmies(int country, int armies) {
+        this.armies[country] = armies;
+    }
+
+    /**
+     * Sets the number of armies, the given player can still place
+     * @param player the player's index
+     * @param armies the number of armies
+     */
+    void setReserve(int player, int armies) {
+        reserve[player] = armies;
+    }
+
+    /**
+     * Sets the player, who is on turn
+     * @param player the player's index or {@link #NONE}
+     */
+    void setCurrentPlayer(int player) {
+        currentPlayer = player;
+    }
+
+    /**
+     * Sets the current phase
+     * @param phase the new phase
+     */
+    void setPhase(GamePhase phase) {
+        this.phase = phase;
+    }
+}
@@ -0,0 +1,453 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compiled, immutable graph of a map.
+ * Every country has a dense index from 0 to {@link #size()}-1. The adjacency is stored twice:
+ * as a bit matrix for constant time neighbor tests and as compressed rows (CSR) for iterating the neighbors
+ * without creating any objects
+ */
+public final class MapGraph {
+
+    /**
+     * The name of every country (indexed by the country's index)
+     */
+    private final String[] names;
+
+    /**
+     * The index of every country name
+     */
+    private final Map<String, Integer> indices;
+
+    /**
+     * The number of longs per row of the adjacency matrix
+     */
+    private final int words;
+
+    /**
+     * The adjacency matrix: bit b of row a is set, if a and b are neighbors
+     */
+    private final long[] adjacency;
+
+    /**
+     * The start of every country's neighbors in {@link #neighbors} (one more entry than there are countries)
+     */
+    private final int[] neighborStart;
+
+    /**
+     * The neighbors of all countries, one country after the other
+     */
+    private final int[] neighbors;
+
+    /**
+     * The name of every continent (indexed by the continent's index)
+     */
+    private final String[] continentNames;
+
+    /**
+     * The index of every continent name
+     */
+    private final Map<String, Integer> continentIndices;
+
+    /**
+     * The additional armies for every continent (indexed by the continent's index)
+     */
+    private final int[] continentPoints;
+
+    /**
+     * The start of every continent's countries in {@link #continentCountries} (one more entry than there are continents)
+     */
+    private final int[] continentStart;
+
+    /**
+     * The countries of all continents, one continent after the other
+     */
+    private final int[] continentCountries;
+
+    /**
+     * The continent of every country or -1, if the country does not belong to any continent
+     */
+    private final int[] continentOf;
+
+    /**
+     * The fingerprint of the map
+     */
+    private final long fingerprint;
+
+    // use the builder
+    private MapGraph(Builder builder) {
+        int size = builder.names.size();
+
+        names = builder.names.toArray(new String[0]);
+        indices = new HashMap<>(builder.indices);
+
+        // Build the adjacency matrix and the compressed rows at once
+        words = (size + 63) >>> 6;
+        adjacency = new long[size * words];
+        neighborStart = new int[size + 1];
+
+        int edges = 0;
+        for(BitSet row : builder.neighbors) edges += row.cardinality();
+        neighbors = new int[edges];
+
+        int k = 0;
+        for(int country = 0; country < size; country++) {
+            neighborStart[country] = k;
+            BitSet row = builder.neighbors.get(country);
+            for(int neighbor = row.nextSetBit(0); neighbor >= 0; neighbor = row.nextSetBit(neighbor + 1)) {
+                adjacency[country * words + (neighbor >>> 6)] |= 1L << neighbor;
+                neighbors[k++] = neighbor;
+            }
+        }
+        neighborStart[size] = k;
+
+        // Compress the continents the same way
+        int continents = builder.continentNames.size();
+        continentNames = builder.continentNames.toArray(new String[0]);
+        continentIndices = new HashMap<>();
+        for(int continent = 0; continent < continents; continent++) continentIndices.put(continentNames[continent], continent);
+        continentPoints = new int[continents];
+        continentStart = new int[continents + 1];
+        continentOf = new int[size];
+        Arrays.fill(continentOf, -1);
+
+        int members = 0;
+        for(int[] countries : builder.continentCountries) members += countries.length;
+        continentCountries = new int[members];
+
+        k = 0;
+        for(int continent = 0; continent < continents; continent++) {
+            continentPoints[continent] = builder.continentPoints.get(continent);
+            continentStart[continent] = k;
+            for(int country : builder.continentCountries.get(continent)) {
+                continentCountries[k++] = country;
+                continentOf[country] = continent;
+            }
+        }
+        continentStart[continents] = k;
+
+        fingerprint = calculateFingerprint();
+    }
+
+    /**
+     * Returns a hash of the countries, their neighbors and the continents, which identifies the map
+     * (e.g. to check, if a saved game belongs to the loaded map)
+     * @return fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Calculates the FNV-1a hash of the countries' names, the neighbors and the continents
+     * @return the hash
+     */
+    private long calculateFingerprint() {
+        long hash = 0xcbf29ce484222325L;
+        for(String name : names) hash = hash(hash(hash, name.hashCode()), name.length());
+        for(int neighbor : neighbors) hash = hash(hash, neighbor);
+        for(int start : neighborStart) hash = hash(hash, start);
+        for(int i = 0; i < continentNames.length; i++) hash = hash(hash(hash, continentNames[i].hashCode()), continentPoints[i]);
+        for(int country : continentCountries) hash = hash(hash, country);
+        return hash;
+    }
+
+    /**
+     * Adds the given value to the FNV-1a hash
+     * @param hash the hash so far
+     * @param value the value
+     * @return the new hash
+     */
+    private static long hash(long hash, int value) {
+        for(int i = 0; i < Integer.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the number of countries
+     * @return size
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the name of the given country
+     * @param country the country's index
+     * @return the country's name
+     */
+    public String getName(int country) {
+        return names[country];
+    }
+
+    /**
+     * Returns the index of the country with the given name
+     * @param name the country's name
+     * @return the country's index or -1, if there is no such country
+     */
+    public int indexOf(String name) {
+        return indices.getOrDefault(name, -1);
+    }
+
+    /**
+     * Checks if the given countries are neighbors
+     * @param a the first country's index
+     * @param b the second country's index
+     * @return true, if they are neighbors; otherwise false
+     */
+    public boolean isNeighbor(int a, int b) {
+        return (adjacency[a * words + (b >>> 6)] & (1L << b)) != 0;
+    }
+
+    /**
+     * Returns the number of neighbors of the given country
+     * @param country the country's index
+     * @return the number of neighbors
+     */
+    public int getNeighborCount(int country) {
+        return neighborStart[country + 1] - neighborStart[country];
+    }
+
+    /**
+     * Returns the k-th neighbor of the given country
+     * @param country the country's index
+     * @param k the neighbor's position (from 0 to {@link #getNeighborCount(int)}-1)
+     * @return the neighbor's index
+     */
+    public int getNeighbor(int country, int k) {
+        return neighbors[neighborStart[country] + k];
+    }
+
+    /**
+     * Returns the number of directed edges, i.e. the sum of the neighbors of all countries
+     * @return the number of edges
+     */
+    public int getEdgeCount() {
+        return neighbors.length;
+    }
+
+    /**
+     * Returns the index of the edge from the given country to its k-th neighbor
+     * @param country the country's index
+     * @param k the neighbor's position (from 0 to {@link #getNeighborCount(int)}-1)
+     * @return the edge's index (from 0 to {@link #getEdgeCount()}-1)
+     */
+    public int getEdge(int country, int k) {
+        return neighborStart[country] + k;
+    }
+
+    /**
+     * Returns the country, at which the given edge starts
+     * @param edge the edge's index
+     * @return the country's index
+     */
+    public int getEdgeSource(int edge) {
+        if(edge < 0 || edge >= neighbors.length) throw new IllegalArgumentException("Unknown edge " + edge);
+
+        // Search the last country, whose neighbors start at or before the edge
+        int low = 0;
+        int high = names.length - 1;
+        while(low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if(neighborStart[middle] <= edge) low = middle;
+            else high = middle - 1;
+        }
+        return low;
+    }
+
+    /**
+     * Returns the country, at which the given edge ends
+     * @param edge the edge's index
+     * @return the country's index
+     */
+    public int getEdgeTarget(int edge) {
+        return neighbors[edge];
+    }
+
+    /**
+     * Returns the number of continents
+     * @return the number of continents
+     */
+    public int getContinentCount() {
+        return continentNames.length;
+    }
+
+    /**
+     * Returns the name of the given continent
+     * @param continent the continent's index
+     * @return the continent's name
+     */
+    public String getContinentName(int continent) {
+        return continentNames[continent];
+    }
+
+    /**
+     * Returns the index of the continent with the given name
+     * @param name the continent's name
+     * @return the continent's index or -1, if there is no such continent
+     */
+    public int indexOfContinent(String name) {
+        return continentIndices.getOrDefault(name, -1);
+    }
+
+    /**
+     * Returns the additional armies a player gets for the given continent
+     * @param continent the continent's index
+     * @return the continent's points
+     */
+    public int getContinentPoints(int continent) {
+        return continentPoints[continent];
+    }
+
+    /**
+     * Returns the number of countries of the given continent
+     * @param continent the continent's index
+     * @return the number of countries
+     */
+    public int getContinentSize(int continent) {
+        return continentStart[continent + 1] - continentStart[continent];
+    }
+
+    /**
+     * Returns the k-th country of the given continent
+     * @param continent the continent's index
+     * @param k the country's position (from 0 to {@link #getContinentSize(int)}-1)
+     * @return the country's index
+     */
+    public int getContinentCountry(int continent, int k) {
+        return continentCountries[continentStart[continent] + k];
+    }
+
+    /**
+     * Returns the continent of the given country
+     * @param country the country's index
+     * @return the continent's index or -1, if the country does not belong to any continent
+     */
+    public int getContinent(int country) {
+        return continentOf[country];
+    }
+
+    /**
+     * A builder for a map graph
+     */
+    public static final class Builder {
+
+        /**
+         * The countries' names
+         */
+        private final List<String> names = new ArrayList<>();
+
+        /**
+         * The index of every country name
+         */
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        /**
+         * The neighbors of every country
+         */
+        private final List<BitSet> neighbors = new ArrayList<>();
+
+        /**
+         * The continents' names
+         */
+        private final List<String> continentNames = new ArrayList<>();
+
+        /**
+         * The continents' points
+         */
+        private final List<Integer> continentPoints = new ArrayList<>();
+
+        /**
+         * The continents' countries
+         */
+        private final List<int[]> continentCountries = new ArrayList<>();
+
+        /**
+         * The countries, which already belong to a continent
+         */
+        private final BitSet continentMembers = new BitSet();
+
+        /**
+         * Adds a country with the given name. If the name is already known, the known index will be returned
+         * @param name the country's name
+         * @return the country's index
+         */
+        public int addCountry(String name) {
+            Integer index = indices.get(name);
+            if(index != null) return index;
+
+            names.add(name);
+            neighbors.add(new BitSet());
+            indices.put(name, names.size() - 1);
+            return names.size() - 1;
+        }
+
+        /**
+         * Returns the number of added countries
+         * @return size
+         */
+        public int size() {
+            return names.size();
+        }
+
+        /**
+         * Connects the given countries (in both directions, as the .map file does not always contain both directions)
+         * @param a the first country's index
+         * @param b the second country's index
+         * @return the builder
+         */
+        public Builder addNeighbors(int a, int b) {
+            if(a == b) throw new IllegalArgumentException("A country cannot be its own neighbor!");
+            neighbors.get(a).set(b);
+            neighbors.get(b).set(a);
+            return this;
+        }
+
+        /**
+         * Adds a continent with the given countries. Every country can only belong to one continent
+         * @param name the continent's name
+         * @param points the continent's points
+         * @param countries the indices of the continent's countries
+         * @return the builder
+         */
+        public Builder addContinent(String name, int points, int[] countries) {
+            for(int country : countries) {
+                if(country < 0 || country >= names.size()) throw new IllegalArgumentException("Unknown country " + country + " in continent " + name);
+                // The engine counts the countries of every continent, so a country can only belong to one continent
+                if(continentMembers.get(country)) throw new IllegalArgumentException(names.get(country) + " already belongs to another continent");
+            }
+            for(int country : countries) continentMembers.set(country);
+
+            continentNames.add(name);
+            continentPoints.add(points);
+            continentCountries.add(countries.clone());
+            return this;
+        }
+
+        /**
+         * Builds the graph
+         * @return the compiled graph
+         */
+        public MapGraph build() {
+            return new MapGraph(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MapGraph{" +
+                "countries=" + names.length +
+                ", edges=" + neighbors.length / 2 +
+                ", continents=" + Arrays.toString(continentNames) +
+                '}';
+    }
+}
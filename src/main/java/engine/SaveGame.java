@@ -0,0 +1,173 @@
+package engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Saves and loads the state of a game in a compact binary file.
+ * The file contains the map's fingerprint, the owner and armies of every country, the armies every player can still
+ * place, the player on turn, the phase and the states of the dice and of the computer players' random generator,
+ * followed by a CRC32 checksum of all these bytes. Saving does not touch the engine, so the saved game and its
+ * journal continue unchanged. A loaded game continues with the same numbers as the saved game
+ */
+public final class SaveGame {
+
+    /**
+     * The {@link SaveGame} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SaveGame.class);
+
+    /**
+     * The first bytes of every save ("CTWS")
+     */
+    public static final int MAGIC = 0x43545753;
+
+    /**
+     * The version of the file format
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * The size of the header in bytes: magic, version, fingerprint, countries, players, current player, phase,
+     * the state of the dice and the state of the computer players' random generator
+     */
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 4 + 1 + 8 + 8;
+
+    /**
+     * The size of a country in bytes: owner and armies
+     */
+    private static final int COUNTRY_SIZE = 1 + Integer.BYTES;
+
+    // only static methods
+    private SaveGame() {}
+
+    /**
+     * Saves the game of the given engine without changing it
+     * @param engine the engine
+     * @param aiRandom the random generator of the computer players
+     * @param path the file, which will be overwritten
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(GameEngine engine, SplitMix64 aiRandom, Path path) throws IOException {
+        GameState state = engine.getState();
+        if(state.getPlayers() > Byte.MAX_VALUE) throw new IllegalArgumentException("A save supports up to " + Byte.MAX_VALUE + " players!");
+
+        ByteBuffer buffer = ByteBuffer.allocate(size(state.getCountries(), state.getPlayers()));
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(engine.getMapGraph() == null ? 0 : engine.getMapGraph().getFingerprint());
+        buffer.putInt(state.getCountries());
+        buffer.putInt(state.getPlayers());
+        buffer.putInt(state.getCurrentPlayer());
+        buffer.put((byte) state.getPhase().ordinal());
+        buffer.putLong(engine.getDice().getRandom().getState());
+        buffer.putLong(aiRandom.getState());
+
+        for(int player = 0; player < state.getPlayers(); player++) buffer.putInt(state.getReserve(player));
+        for(int country = 0; country < state.getCountries(); country++) {
+            buffer.put((byte) state.getOwner(country));
+            buffer.putInt(state.getArmies(country));
+        }
+
+        buffer.putInt(checksum(buffer, buffer.position()));
+        buffer.flip();
+
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while(buffer.hasRemaining()) channel.write(buffer);
+        }
+
+        LOGGER.info("Saved the game to " + path);
+    }
+
+    /**
+     * Loads the saved game into the given engine, which must have the same map and players as the saved game.
+     * The listeners of the engine are notified about every change. The dice of the engine and the given random
+     * generator continue with the saved states
+     * @param engine the engine
+     * @param aiRandom the random generator of the computer players
+     * @param path the saved game
+     * @throws IOException if the file cannot be read, is damaged or belongs to another game
+     */
+    public static void load(GameEngine engine, SplitMix64 aiRandom, Path path) throws IOException {
+        ByteBuffer buffer;
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(channel.size() < HEADER_SIZE + Integer.BYTES || channel.size() > Integer.MAX_VALUE) throw new IOException(path + " is not a saved game!");
+
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while(buffer.hasRemaining()) if(channel.read(buffer) < 0) throw new IOException(path + " is truncated!");
+            buffer.flip();
+        }
+
+        // Check the file before anything is changed
+        if(buffer.getInt() != MAGIC) throw new IOException(path + " is not a saved game!");
+        int version = buffer.getInt();
+        if(version != VERSION) throw new IOException("The version " + version + " of " + path + " is not supported!");
+        if(buffer.getInt(buffer.limit() - Integer.BYTES) != checksum(buffer, buffer.limit() - Integer.BYTES))
+            throw new IOException(path + " is damaged!");
+
+        GameState current = engine.getState();
+        long fingerprint = buffer.getLong();
+        if(engine.getMapGraph() != null && fingerprint != engine.getMapGraph().getFingerprint())
+            throw new IOException(path + " was saved on another map!");
+
+        int countries = buffer.getInt();
+        int players = buffer.getInt();
+        if(countries != current.getCountries() || players != current.getPlayers())
+            throw new IOException(path + " was saved with " + countries + " countries and " + players + " players!");
+        if(buffer.limit() != size(countries, players)) throw new IOException(path + " is damaged!");
+
+        int currentPlayer = buffer.getInt();
+        int phase = buffer.get();
+        if(currentPlayer < GameState.NONE || currentPlayer >= players || phase < 0 || phase >= GamePhase.values().length)
+            throw new IOException(path + " is damaged!");
+        long diceState = buffer.getLong();
+        long aiState = buffer.getLong();
+
+        // Build the saved state and let the engine take over the differences
+        GameState saved = new GameState(current);
+        for(int player = 0; player < players; player++) saved.setReserve(player, buffer.getInt());
+        for(int country = 0; country < countries; country++) {
+            int owner = buffer.get();
+            if(owner < GameState.NONE || owner >= players) throw new IOException(path + " is damaged!");
+            saved.setOwner(country, owner);
+            saved.setArmies(country, buffer.getInt());
+        }
+        saved.setCurrentPlayer(currentPlayer);
+        saved.setPhase(GamePhase.values()[phase]);
+
+        engine.applyChanges(saved);
+        engine.getDice().getRandom().setState(diceState);
+        aiRandom.setState(aiState);
+
+        LOGGER.info("Loaded the game from " + path);
+    }
+
+    /**
+     * Returns the size of a saved game in bytes
+     * @param countries the number of countries
+     * @param players the number of players
+     * @return the size
+     */
+    private static int size(int countries, int players) {
+        return HEADER_SIZE + players * Integer.BYTES + countries * COUNTRY_SIZE + Integer.BYTES;
+    }
+
+    /**
+     * Calculates the checksum of the first bytes of the given buffer
+     * @param buffer the buffer
+     * @param length the number of bytes
+     * @return the checksum
+     */
+    private static int checksum(ByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,101 @@
+package engine;
+
+/**
+ * A splitmix64 random generator, the algorithm of {@link java.util.SplittableRandom}.
+ * Its whole state is a single long, which can be read and set again, e.g. to save a game and continue it with the
+ * same numbers. Like {@link java.util.SplittableRandom} it is not thread-safe
+ */
+public final class SplitMix64 {
+
+    /**
+     * The increment of the state, an odd number near 2^64 divided by the golden ratio
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * The factor, which turns the upper 53 bits of a long into a double between 0 and 1
+     */
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    /**
+     * The state of the generator
+     */
+    private long state;
+
+    /**
+     * Creates a new generator with a random seed
+     */
+    public SplitMix64() {
+        this(System.nanoTime() ^ mix64(System.currentTimeMillis()));
+    }
+
+    /**
+     * Creates a new generator with the given seed; two generators with the same seed return the same numbers
+     * @param seed the seed
+     */
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Returns the state of the generator
+     * @return state
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Sets the state of the generator, e.g. a state returned by {@link #getState()}
+     * @param state the state
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    /**
+     * Creates a new generator, which is seeded with the next number of this generator
+     * @return the new generator
+     */
+    public SplitMix64 split() {
+        return new SplitMix64(nextLong());
+    }
+
+    /**
+     * Returns the next random long
+     * @return a random long
+     */
+    public long nextLong() {
+        return mix64(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * Returns a random int between 0 (inclusive) and the bound (exclusive).
+     * The upper 32 bits of the next long are multiplied with the bound, which is biased by less than bound / 2^32
+     * @param bound the bound (greater than 0)
+     * @return a random int
+     */
+    public int nextInt(int bound) {
+        if(bound <= 0) throw new IllegalArgumentException("The bound must be greater than 0!");
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Returns a random double between 0 (inclusive) and 1 (exclusive)
+     * @return a random double
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Mixes the bits of the given value (Stafford's variant 13 of the MurmurHash3 finalizer)
+     * @param z the value
+     * @return the mixed value
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,33 @@
+package engine.ai;
+
+/**
+ * A token, with which a running computer player can be asked to stop.
+ * The token can be cancelled from any thread; the computer player checks it between its steps
+ */
+public class CancellationToken {
+
+    /**
+     * A token, which is never cancelled
+     */
+    public static final CancellationToken NONE = new CancellationToken();
+
+    /**
+     * Indicates, if the token was cancelled
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Cancels the token
+     */
+    public void cancel() {
+        if(this != NONE) cancelled = true;
+    }
+
+    /**
+     * Checks if the token was cancelled
+     * @return true, if the token was cancelled; otherwise false
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,535 @@
+package engine.ai;
+
+import engine.AttackResult;
+import engine.BattleOdds;
+import engine.Dice;
+import engine.GameEngine;
+import engine.GamePhase;
+import engine.GameState;
+import engine.MapGraph;
+import engine.SplitMix64;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A computer player, which searches for its decisions with Monte Carlo Tree Search.
+ * Every decision (acquiring a country, placing an army, attacking or ending the turn) gets its own search, which
+ * runs until the wall-clock budget or the maximum number of iterations is used up. As the battles are random,
+ * the tree only stores the actions (open loop): every iteration copies the current state into a reusable
+ * simulation engine and replays the actions of the tree with new dice. The simulation ends with a short rollout,
+ * in which every player acquires and places randomly and only attacks with good odds.
+ * An action is a country while acquiring or placing, and an edge of the {@link MapGraph} while attacking
+ */
+public class MctsStrategy implements Strategy {
+
+    /**
+     * The action, which ends the current turn
+     */
+    private static final int END_TURN = -1;
+
+    /**
+     * The exploration constant of the UCB formula
+     */
+    private static final double EXPLORATION = 0.7;
+
+    /**
+     * The win probability, which a rollout needs for attacking
+     */
+    private static final double ROLLOUT_ATTACK_ODDS = 0.6;
+
+    /**
+     * The reward of a simulation without a winner is at most this value, so that every win counts more
+     */
+    private static final double MAX_SCORE = 0.9;
+
+    /**
+     * The reward, which a win loses per simulated turn, so that faster wins count more
+     */
+    private static final double WIN_DISCOUNT = 0.01;
+
+    /**
+     * The wall-clock budget of a single decision in nanoseconds (0 for no limit)
+     */
+    private final long budgetNanos;
+
+    /**
+     * The maximum number of iterations of a single decision
+     */
+    private final int maxIterations;
+
+    /**
+     * The number of turns every rollout is played, before the state is evaluated
+     */
+    private final int rolloutTurns;
+
+    /**
+     * Creates a new strategy
+     * @param budgetMillis the wall-clock budget of a single decision in milliseconds (0 for no limit)
+     * @param maxIterations the maximum number of iterations of a single decision
+     * @param rolloutTurns the number of turns every rollout is played, before the state is evaluated
+     */
+    public MctsStrategy(long budgetMillis, int maxIterations, int rolloutTurns) {
+        if(maxIterations <= 0) throw new IllegalArgumentException("The search needs at least one iteration!");
+
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.maxIterations = maxIterations;
+        this.rolloutTurns = rolloutTurns;
+    }
+
+    @Override
+    public String getName() {
+        return "MCTS";
+    }
+
+    @Override
+    public int acquire(GameEngine engine, int player) {
+        return new Search(engine, CancellationToken.NONE).run();
+    }
+
+    @Override
+    public int place(GameEngine engine, int player) {
+        return place(engine, player, CancellationToken.NONE);
+    }
+
+    @Override
+    public int place(GameEngine engine, int player, CancellationToken token) {
+        return new Search(engine, token).run();
+    }
+
+    @Override
+    public void attack(GameEngine engine, int player) {
+        attack(engine, player, CancellationToken.NONE);
+    }
+
+    @Override
+    public void attack(GameEngine engine, int player, CancellationToken token) {
+        Search search = new Search(engine, token);
+
+        // Attack, until the search decides to end the turn
+        while(!engine.hasWon(player) && !token.isCancelled()) {
+            int action = search.run();
+            if(action == END_TURN) return;
+
+            MapGraph mapGraph = engine.getMapGraph();
+            if(engine.blitz(player, mapGraph.getEdgeSource(action), mapGraph.getEdgeTarget(action), 1) == AttackResult.NOT_ENOUGH_ARMIES) return;
+        }
+    }
+
+    /**
+     * A node of the search tree
+     */
+    private static class Node {
+
+        /**
+         * The action, which leads to this node
+         */
+        private final int action;
+
+        /**
+         * The player, who chose the action
+         */
+        private final int mover;
+
+        /**
+         * The actions of the children in an open addressing hash table (parallel to {@link #children})
+         */
+        private int[] childActions = new int[4];
+
+        /**
+         * The children in an open addressing hash table, in which null marks a free slot
+         */
+        private Node[] children = new Node[4];
+
+        /**
+         * The number of children
+         */
+        private int childCount;
+
+        /**
+         * The number of iterations, which went through this node
+         */
+        private int visits;
+
+        /**
+         * The sum of the mover's rewards of these iterations
+         */
+        private double reward;
+
+        Node(int action, int mover) {
+            this.action = action;
+            this.mover = mover;
+        }
+
+        /**
+         * Returns the child with the given action
+         * @param action the action
+         * @return the child or null, if the action has not been tried yet
+         */
+        Node getChild(int action) {
+            int mask = children.length - 1;
+            for(int i = slot(action, mask); children[i] != null; i = (i + 1) & mask)
+                if(childActions[i] == action) return children[i];
+            return null;
+        }
+
+        /**
+         * Adds a child, whose action has not been tried yet
+         * @param child the child
+         */
+        void addChild(Node child) {
+            // Keep the table at most half full
+            if(2 * (childCount + 1) > children.length) {
+                Node[] old = children;
+                children = new Node[old.length * 2];
+                childActions = new int[old.length * 2];
+                for(Node node : old) if(node != null) insert(node);
+            }
+            insert(child);
+            childCount++;
+        }
+
+        /**
+         * Inserts the given child into the first free slot of its action
+         * @param child the child
+         */
+        private void insert(Node child) {
+            int mask = children.length - 1;
+            int i = slot(child.action, mask);
+            while(children[i] != null) i = (i + 1) & mask;
+            childActions[i] = child.action;
+            children[i] = child;
+        }
+
+        /**
+         * Returns the first slot of the given action
+         * @param action the action
+         * @param mask the size of the table minus 1
+         * @return the slot
+         */
+        private static int slot(int action, int mask) {
+            int hash = action * 0x9e3779b9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+
+    /**
+     * The search for a single decision of the real engine's current player
+     */
+    private class Search {
+
+        /**
+         * The real engine
+         */
+        private final GameEngine engine;
+
+        /**
+         * The token, which stops the search
+         */
+        private final CancellationToken token;
+
+        /**
+         * The engine, on which the iterations are simulated
+         */
+        private final GameEngine simulation;
+
+        /**
+         * The map
+         */
+        private final MapGraph mapGraph;
+
+        /**
+         * The battle odds for the rollouts
+         */
+        private final BattleOdds battleOdds;
+
+        /**
+         * The random generator of the search
+         */
+        private final SplitMix64 random;
+
+        /**
+         * The legal actions of the current simulated state
+         */
+        private final int[] actions;
+
+        /**
+         * The nodes of the current iteration
+         */
+        private final List<Node> path = new ArrayList<>();
+
+        /**
+         * The reward of every player at the end of the current iteration
+         */
+        private final double[] rewards;
+
+        /**
+         * The number of turns, which were simulated in the current iteration
+         */
+        private int turns;
+
+        Search(GameEngine engine, CancellationToken token) {
+            this.engine = engine;
+            this.token = token;
+            this.mapGraph = engine.getMapGraph();
+            this.battleOdds = engine.getBattleOdds();
+            this.random = engine.getDice().getRandom().split();
+            this.simulation = engine.copy(new Dice(random.split(), engine.getMaxAttackArmies(), engine.getMaxDefendArmies()));
+
+            int edges = 0;
+            for(int country = 0; country < mapGraph.size(); country++) edges += mapGraph.getNeighborCount(country);
+            this.actions = new int[Math.max(mapGraph.size(), edges) + 1];
+            this.rewards = new double[engine.getState().getPlayers()];
+        }
+
+        /**
+         * Searches for the best action of the real engine's current state
+         * @return the action, which was visited most
+         */
+        int run() {
+            GameState state = engine.getState();
+            Node root = new Node(END_TURN, state.getCurrentPlayer());
+            long deadline = System.nanoTime() + budgetNanos;
+
+            for(int iteration = 0; iteration < maxIterations; iteration++) {
+                if(iteration > 0 && (token.isCancelled() || (budgetNanos > 0 && System.nanoTime() > deadline))) break;
+
+                simulation.copyState(state);
+                path.clear();
+                path.add(root);
+                turns = 0;
+
+                select(root);
+                rollout();
+                evaluate();
+
+                for(Node node : path) {
+                    node.visits++;
+                    if(node != root) node.reward += rewards[node.mover];
+                }
+            }
+
+            // Take the most visited action (or the better one of equally visited actions);
+            // without any iteration, take the last legal action
+            Node best = null;
+            for(Node child : root.children)
+                if(child != null && (best == null || child.visits > best.visits || (child.visits == best.visits && child.reward > best.reward))) best = child;
+            if(best != null) return best.action;
+
+            simulation.copyState(state);
+            return actions[legalActions() - 1];
+        }
+
+        /**
+         * Walks down the tree with UCB and adds a new node, as soon as an action has not been tried yet
+         * @param root the root of the tree
+         */
+        private void select(Node root) {
+            Node node = root;
+            while(winner() == GameState.NONE) {
+                int count = legalActions();
+                int mover = simulation.getCurrentPlayer();
+
+                // Expand one untried action
+                int untried = 0;
+                for(int i = 0; i < count; i++) if(node.getChild(actions[i]) == null) untried++;
+                if(untried > 0) {
+                    int k = random.nextInt(untried);
+                    for(int i = 0; i < count; i++) {
+                        if(node.getChild(actions[i]) != null || k-- != 0) continue;
+
+                        Node child = new Node(actions[i], mover);
+                        node.addChild(child);
+                        path.add(child);
+                        apply(actions[i]);
+                        return;
+                    }
+                }
+
+                // Select the legal child with the highest upper confidence bound
+                Node best = null;
+                double bestValue = Double.NEGATIVE_INFINITY;
+                double logVisits = Math.log(node.visits + 1);
+                for(int i = 0; i < count; i++) {
+                    Node child = node.getChild(actions[i]);
+                    double value = child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                    if(value > bestValue) {
+                        best = child;
+                        bestValue = value;
+                    }
+                }
+
+                if(best == null) return;
+                path.add(best);
+                apply(best.action);
+                node = best;
+            }
+        }
+
+        /**
+         * Collects the legal actions of the simulated state in {@link #actions}
+         * @return the number of legal actions
+         */
+        private int legalActions() {
+            GameState state = simulation.getState();
+            int player = state.getCurrentPlayer();
+            int countries = state.getCountries();
+            int count = 0;
+
+            switch(state.getPhase()) {
+                case ACQUISITION:
+                    for(int country = 0; country < countries; country++)
+                        if(state.getOwner(country) == GameState.NONE) actions[count++] = country;
+                    break;
+
+                case ARMY_PLACEMENT:
+                    // Armies are only useful at the front; without a front every country is fine
+                    for(int country = 0; country < countries; country++)
+                        if(state.getOwner(country) == player && isFront(country, player)) actions[count++] = country;
+                    if(count == 0)
+                        for(int country = 0; country < countries; country++)
+                            if(state.getOwner(country) == player) actions[count++] = country;
+                    break;
+
+                case MOVE_AND_ATTACK:
+                    for(int country = 0; country < countries; country++) {
+                        if(state.getOwner(country) != player || state.getArmies(country) <= 1) continue;
+                        for(int k = 0; k < mapGraph.getNeighborCount(country); k++) {
+                            if(state.getOwner(mapGraph.getNeighbor(country, k)) != player) actions[count++] = mapGraph.getEdge(country, k);
+                        }
+                    }
+                    actions[count++] = END_TURN;
+                    break;
+            }
+            return count;
+        }
+
+        /**
+         * Applies the given action to the simulated state
+         * @param action the action
+         */
+        private void apply(int action) {
+            int player = simulation.getCurrentPlayer();
+
+            switch(simulation.getPhase()) {
+                case ACQUISITION:
+                    simulation.acquire(action);
+                    break;
+                case ARMY_PLACEMENT:
+                    simulation.place(action);
+                    break;
+                case MOVE_AND_ATTACK:
+                    if(action == END_TURN) {
+                        simulation.endTurn();
+                        turns++;
+                    }
+                    else simulation.blitz(player, mapGraph.getEdgeSource(action), mapGraph.getEdgeTarget(action), 1);
+                    break;
+            }
+        }
+
+        /**
+         * Plays the simulated game for a few turns with a fast policy
+         */
+        private void rollout() {
+            GameState state = simulation.getState();
+            int end = turns + rolloutTurns;
+
+            while(turns < end && winner() == GameState.NONE) {
+                int player = state.getCurrentPlayer();
+
+                switch(state.getPhase()) {
+                    case ACQUISITION:
+                    case ARMY_PLACEMENT:
+                        // Acquire a random free country or place on a random country at the front
+                        int count = legalActions();
+                        apply(actions[random.nextInt(count)]);
+                        break;
+
+                    case MOVE_AND_ATTACK:
+                        attackWithGoodOdds(player);
+                        simulation.endTurn();
+                        turns++;
+                        break;
+                }
+            }
+        }
+
+        /**
+         * Attacks every neighbor, which can be conquered with good odds
+         * @param player the attacking player
+         */
+        private void attackWithGoodOdds(int player) {
+            GameState state = simulation.getState();
+            int cap = battleOdds.getCap();
+
+            for(int country = 0; country < state.getCountries(); country++) {
+                for(int k = 0; k < mapGraph.getNeighborCount(country); k++) {
+                    if(state.getOwner(country) != player || state.getArmies(country) <= 1) break;
+
+                    int neighbor = mapGraph.getNeighbor(country, k);
+                    if(state.getOwner(neighbor) == player) continue;
+
+                    double odds = battleOdds.getWinProbability(Math.min(cap, state.getArmies(country)), Math.min(cap, state.getArmies(neighbor)));
+                    if(odds >= ROLLOUT_ATTACK_ODDS) simulation.blitz(player, country, neighbor, 1);
+                }
+            }
+        }
+
+        /**
+         * Rates the simulated state for every player: the winner gets 1 minus a small discount per simulated turn,
+         * otherwise the share of countries and armies counts
+         */
+        private void evaluate() {
+            GameState state = simulation.getState();
+            int winner = winner();
+
+            if(winner != GameState.NONE) {
+                double reward = Math.max(MAX_SCORE, 1 - WIN_DISCOUNT * turns);
+                for(int player = 0; player < rewards.length; player++) rewards[player] = player == winner ? reward : 0;
+                return;
+            }
+
+            int totalArmies = 0;
+            for(int player = 0; player < rewards.length; player++) {
+                rewards[player] = state.getReserve(player);
+                totalArmies += state.getReserve(player);
+            }
+            for(int country = 0; country < state.getCountries(); country++) {
+                if(state.getOwner(country) == GameState.NONE) continue;
+                rewards[state.getOwner(country)] += state.getArmies(country);
+                totalArmies += state.getArmies(country);
+            }
+
+            for(int player = 0; player < rewards.length; player++) {
+                double countries = (double) state.getCountryCount(player) / state.getCountries();
+                double armies = totalArmies == 0 ? 0 : rewards[player] / totalArmies;
+                rewards[player] = MAX_SCORE * (0.5 * countries + 0.5 * armies);
+            }
+        }
+
+        /**
+         * Returns the player, who owns every country
+         * @return the winner's index or {@link GameState#NONE}
+         */
+        private int winner() {
+            GameState state = simulation.getState();
+            for(int player = 0; player < state.getPlayers(); player++)
+                if(state.getCountryCount(player) == state.getCountries()) return player;
+            return GameState.NONE;
+        }
+
+        /**
+         * Checks if the given country has a neighbor, which belongs to another player
+         * @param country the country's index
+         * @param player the owner's index
+         * @return true, if the country is at the front; otherwise false
+         */
+        private boolean isFront(int country, int player) {
+            GameState state = simulation.getState();
+            for(int k = 0; k < mapGraph.getNeighborCount(country); k++)
+                if(state.getOwner(mapGraph.getNeighbor(country, k)) != player) return true;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package engine.ai;
+
+import engine.GameEngine;
+import engine.GameState;
+import engine.MapGraph;
+import engine.SplitMix64;
+
+/**
+ * The strategy of the original computer player: it acquires random countries, places its armies randomly
+ * and attacks every neighbor with every country. Like the original player it throws the dice once per neighbor;
+ * the blitz variant fights every battle until the end instead
+ */
+public class RandomStrategy implements Strategy {
+
+    /**
+     * True, if every battle is fought until the end; otherwise the dice are thrown once per neighbor
+     */
+    private final boolean blitz;
+
+    /**
+     * Creates the strategy of the original computer player, which throws the dice once per neighbor
+     */
+    public RandomStrategy() {
+        this(false);
+    }
+
+    /**
+     * Creates the strategy
+     * @param blitz true, if every battle should be fought until the end; false, if the dice are thrown once per neighbor
+     */
+    public RandomStrategy(boolean blitz) {
+        this.blitz = blitz;
+    }
+
+    @Override
+    public String getName() {
+        return blitz ? "RandomBlitz" : "Random";
+    }
+
+    @Override
+    public int acquire(GameEngine engine, int player) {
+        SplitMix64 random = engine.getDice().getRandom();
+        GameState state = engine.getState();
+
+        // Try random countries, until a free one is found
+        int country;
+        do country = random.nextInt(state.getCountries());
+        while(!engine.isFree(country));
+        return country;
+    }
+
+    @Override
+    public int place(GameEngine engine, int player) {
+        GameState state = engine.getState();
+
+        // Pick the k-th country of the player
+        int k = engine.getDice().getRandom().nextInt(state.getCountryCount(player));
+        for(int country = 0; country < state.getCountries(); country++)
+            if(state.getOwner(country) == player && k-- == 0) return country;
+        throw new IllegalStateException("Player " + player + " has no countries");
+    }
+
+    @Override
+    public void attack(GameEngine engine, int player) {
+        MapGraph mapGraph = engine.getMapGraph();
+        GameState state = engine.getState();
+
+        for(int country = 0; country < state.getCountries(); country++) {
+            if(state.getOwner(country) != player) continue;
+
+            for(int k = 0; k < mapGraph.getNeighborCount(country); k++) {
+                int neighbor = mapGraph.getNeighbor(country, k);
+
+                // Move the armies to the own countries and attack all other countries
+                if(state.getOwner(neighbor) == player) engine.move(player, country, neighbor);
+                else if(blitz) engine.blitz(player, country, neighbor, 1);
+                else engine.attack(player, country, neighbor);
+
+                // A country, which changed its owner, cannot be used anymore
+                if(state.getOwner(country) != player) break;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package engine.ai;
+
+import engine.GameEngine;
+
+/**
+ * A computer player, which decides on the moves of a player in a {@link GameEngine}.
+ * A strategy does not keep any state between its decisions, so one instance can play in several games at once.
+ * Random decisions use the random generator of the engine's dice, so a game with a fixed seed is reproducible
+ */
+public interface Strategy {
+
+    /**
+     * Returns the strategy's name
+     * @return name
+     */
+    String getName();
+
+    /**
+     * Chooses the free country, which the player acquires next
+     * @param engine the engine in the acquisition phase
+     * @param player the player's index
+     * @return the index of a free country
+     */
+    int acquire(GameEngine engine, int player);
+
+    /**
+     * Chooses the own country, on which the player places the next army
+     * @param engine the engine in the army placement phase
+     * @param player the player's index
+     * @return the index of one of the player's countries
+     */
+    int place(GameEngine engine, int player);
+
+    /**
+     * Attacks and moves armies directly on the engine, until the player wants to end the turn
+     * @param engine the engine in the move and attack phase
+     * @param player the player's index
+     */
+    void attack(GameEngine engine, int player);
+
+    /**
+     * Chooses the own country, on which the player places the next army, and stops searching as soon as the
+     * token is cancelled
+     * @param engine the engine in the army placement phase
+     * @param player the player's index
+     * @param token the token, which cancels the search
+     * @return the index of one of the player's countries
+     */
+    default int place(GameEngine engine, int player, CancellationToken token) {
+        return place(engine, player);
+    }
+
+    /**
+     * Attacks and moves armies directly on the engine, until the player wants to end the turn or the token is cancelled
+     * @param engine the engine in the move and attack phase
+     * @param player the player's index
+     * @param token the token, which cancels the attacks
+     */
+    default void attack(GameEngine engine, int player, CancellationToken token) {
+        attack(engine, player);
+    }
+}
@@ -0,0 +1,224 @@
+package engine.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only journal, which writes every event into a binary file.
+ * The header contains the seed and the players of the game, so that the journal can be replayed as a {@link GameRecord}.
+ * The file is mapped into memory chunk by chunk, so appending an event is only a write into memory.
+ * The number of events in the header is updated with every flush, which happens after a number of events and on
+ * close, so a reader never sees a half written event. A caller, which needs the events on the disk earlier, calls
+ * {@link #flush()}. The file ends with unused space of the last chunk
+ */
+public class EventJournal implements GameEventListener, Closeable {
+
+    /**
+     * The {@link EventJournal} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventJournal.class);
+
+    /**
+     * The first bytes of every journal ("CTWJ")
+     */
+    public static final int MAGIC = 0x4354574A;
+
+    /**
+     * The version of the file format
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * The size of the header in bytes: magic, version, the number of events, the seed, the number of players and
+     * the computer players
+     */
+    private static final int HEADER_SIZE = 36;
+
+    /**
+     * The size of an event in bytes: type and player (one byte each) and five numbers
+     */
+    private static final int RECORD_SIZE = 2 + 5 * Integer.BYTES;
+
+    /**
+     * The size of a mapped chunk in bytes
+     */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * The default number of events between two flushes
+     */
+    public static final int DEFAULT_FLUSH_INTERVAL = 256;
+
+    /**
+     * The channel of the journal's file
+     */
+    private final FileChannel channel;
+
+    /**
+     * The mapped header
+     */
+    private final MappedByteBuffer header;
+
+    /**
+     * The number of events between two flushes
+     */
+    private final int flushInterval;
+
+    /**
+     * The mapped chunk, into which the next events are written
+     */
+    private MappedByteBuffer chunk;
+
+    /**
+     * The position of the current chunk in the file
+     */
+    private long chunkStart;
+
+    /**
+     * The number of written events
+     */
+    private long events;
+
+    /**
+     * The number of events at the last flush
+     */
+    private long flushedEvents;
+
+    /**
+     * Creates a new journal with the default flush interval. An existing file will be overwritten
+     * @param path the journal's file
+     * @param seed the seed of the game's dice
+     * @param players the number of players
+     * @param computerPlayers the computer players (bit i is set for the player with the index i)
+     * @throws IOException if the file cannot be created
+     */
+    public EventJournal(Path path, long seed, int players, long computerPlayers) throws IOException {
+        this(path, seed, players, computerPlayers, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Creates a new journal. An existing file will be overwritten
+     * @param path the journal's file
+     * @param seed the seed of the game's dice
+     * @param players the number of players
+     * @param computerPlayers the computer players (bit i is set for the player with the index i)
+     * @param flushInterval the number of events between two flushes
+     * @throws IOException if the file cannot be created
+     */
+    public EventJournal(Path path, long seed, int players, long computerPlayers, int flushInterval) throws IOException {
+        if(flushInterval <= 0) throw new IllegalArgumentException("The flush interval must be greater than 0!");
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.flushInterval = flushInterval;
+
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putLong(8, 0);
+        header.putLong(16, seed);
+        header.putInt(24, players);
+        header.putLong(28, computerPlayers);
+
+        this.chunkStart = HEADER_SIZE;
+        this.chunk = channel.map(FileChannel.MapMode.READ_WRITE, chunkStart, CHUNK_SIZE);
+        LOGGER.info("Writing the events to " + path);
+    }
+
+    /**
+     * Appends the given event to the journal
+     * @param event the event
+     */
+    @Override
+    public void onEvent(GameEvent event) {
+        try {
+            // Map the next chunk, if the current one is full
+            if(chunk.remaining() < RECORD_SIZE) {
+                chunk.force();
+                chunkStart += chunk.position();
+                chunk = channel.map(FileChannel.MapMode.READ_WRITE, chunkStart, CHUNK_SIZE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        chunk.put((byte) event.getType().ordinal());
+        chunk.put((byte) event.getPlayer());
+        chunk.putInt(event.getCountry());
+        chunk.putInt(event.getTarget());
+        chunk.putInt(event.getFirst());
+        chunk.putInt(event.getSecond());
+        chunk.putInt(event.getThird());
+        events++;
+
+        // Forcing the file to the disk is slow, so it only happens after a number of events
+        if(events - flushedEvents >= flushInterval) flush();
+    }
+
+    /**
+     * Returns the number of written events
+     * @return events
+     */
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * Writes all events to the disk and publishes them in the header
+     */
+    public void flush() {
+        chunk.force();
+        header.putLong(8, events);
+        header.force();
+        flushedEvents = events;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    /**
+     * Reads the game with all published events of the given journal
+     * @param path the journal's file
+     * @return the game with the events in the order they were written
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    public static GameRecord read(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(channel.size() < HEADER_SIZE) throw new IOException(path + " is not an event journal!");
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if(buffer.getInt() != MAGIC) throw new IOException(path + " is not an event journal!");
+            int version = buffer.getInt();
+            if(version != VERSION) throw new IOException("The version " + version + " of " + path + " is not supported!");
+
+            long count = buffer.getLong();
+            long seed = buffer.getLong();
+            int players = buffer.getInt();
+            long computerPlayers = buffer.getLong();
+            if(count < 0 || HEADER_SIZE + count * RECORD_SIZE > channel.size()) throw new IOException(path + " is truncated!");
+
+            GameEventType[] types = GameEventType.values();
+            List<GameEvent> events = new ArrayList<>((int) count);
+            for(long i = 0; i < count; i++) {
+                int type = buffer.get();
+                if(type < 0 || type >= types.length) throw new IOException("Unknown event type " + type + " in " + path);
+
+                events.add(new GameEvent(types[type], buffer.get(), buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt()));
+            }
+            return new GameRecord(seed, players, computerPlayers, events);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package engine.event;
+
+import engine.GamePhase;
+
+import java.util.Objects;
+
+/**
+ * An event, which is published by the {@link engine.GameEngine} after a player's action.
+ * Every event has a type, the acting player and up to five numbers, whose meaning depends on the type.
+ * The events should be created with the static factory methods, which name the numbers
+ */
+public final class GameEvent {
+
+    /**
+     * The type of the event
+     */
+    private final GameEventType type;
+
+    /**
+     * The index of the acting player
+     */
+    private final int player;
+
+    /**
+     * The index of the (attacking) country
+     */
+    private final int country;
+
+    /**
+     * The index of the target country or -1
+     */
+    private final int target;
+
+    /**
+     * The first value (depends on the type)
+     */
+    private final int first;
+
+    /**
+     * The second value (depends on the type)
+     */
+    private final int second;
+
+    /**
+     * The third value (depends on the type)
+     */
+    private final int third;
+
+    /**
+     * Creates a new event
+     * @param type the type of the event
+     * @param player the index of the acting player
+     * @param country the index of the (attacking) country or -1
+     * @param target the index of the target country or -1
+     * @param first the first value
+     * @param second the second value
+     * @param third the third value
+     */
+    public GameEvent(GameEventType type, int player, int country, int target, int first, int second, int third) {
+        this.type = Objects.requireNonNull(type);
+        this.player = player;
+        this.country = country;
+        this.target = target;
+        this.first = first;
+        this.second = second;
+        this.third = third;
+    }
+
+    /**
+     * Creates the event for an acquired country
+     * @param player the player's index
+     * @param country the country's index
+     * @return the event
+     */
+    public static GameEvent countryAcquired(int player, int country) {
+        return new GameEvent(GameEventType.COUNTRY_ACQUIRED, player, country, -1, 0, 0, 0);
+    }
+
+    /**
+     * Creates the event for placed armies
+     * @param player the player's index
+     * @param country the country's index
+     * @param armies the number of placed armies
+     * @return the event
+     */
+    public static GameEvent armiesPlaced(int player, int country, int armies) {
+        return new GameEvent(GameEventType.ARMIES_PLACED, player, country, -1, armies, 0, 0);
+    }
+
+    /**
+     * Creates the event for an attack
+     * @param player the attacking player's index
+     * @param attackCountry the attacking country's index
+     * @param defendCountry the defending country's index
+     * @param attackerLosses the number of armies the attacking country has lost
+     * @param defenderLosses the number of armies the defending country has lost
+     * @param stopAt the threshold of a whole battle or 0 for a single roll
+     * @return the event
+     */
+    public static GameEvent battleRolled(int player, int attackCountry, int defendCountry, int attackerLosses, int defenderLosses, int stopAt) {
+        return new GameEvent(GameEventType.BATTLE_ROLLED, player, attackCountry, defendCountry, attackerLosses, defenderLosses, stopAt);
+    }
+
+    /**
+     * Creates the event for a conquered country
+     * @param player the conquering player's index
+     * @param attackCountry the attacking country's index
+     * @param defendCountry the conquered country's index
+     * @param defender the index of the player, who has lost the country
+     * @return the event
+     */
+    public static GameEvent countryConquered(int player, int attackCountry, int defendCountry, int defender) {
+        return new GameEvent(GameEventType.COUNTRY_CONQUERED, player, attackCountry, defendCountry, defender, 0, 0);
+    }
+
+    /**
+     * Creates the event for moved armies
+     * @param player the player's index
+     * @param from the index of the country, from which the armies were moved
+     * @param to the index of the country, to which the armies were moved
+     * @param armies the number of moved armies
+     * @return the event
+     */
+    public static GameEvent armiesMoved(int player, int from, int to, int armies) {
+        return new GameEvent(GameEventType.ARMIES_MOVED, player, from, to, armies, 0, 0);
+    }
+
+    /**
+     * Creates the event for an ended round
+     * @param player the index of the player, who has ended the round
+     * @param next the index of the player, who is on turn now
+     * @return the event
+     */
+    public static GameEvent turnEnded(int player, int next) {
+        return new GameEvent(GameEventType.TURN_ENDED, player, -1, -1, next, 0, 0);
+    }
+
+    /**
+     * Creates the event for a new phase
+     * @param player the index of the player, who is on turn
+     * @param phase the new phase
+     * @return the event
+     */
+    public static GameEvent phaseChanged(int player, GamePhase phase) {
+        return new GameEvent(GameEventType.PHASE_CHANGED, player, -1, -1, phase.ordinal(), 0, 0);
+    }
+
+    /**
+     * Returns the type of the event
+     * @return type
+     */
+    public GameEventType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the index of the acting player
+     * @return player
+     */
+    public int getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the index of the acquired, placed on, attacking or source country
+     * @return country or -1
+     */
+    public int getCountry() {
+        return country;
+    }
+
+    /**
+     * Returns the index of the defending, conquered or destination country
+     * @return target or -1
+     */
+    public int getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the number of placed or moved armies
+     * @return the number of armies
+     */
+    public int getArmies() {
+        return first;
+    }
+
+    /**
+     * Returns the number of armies the attacking country has lost
+     * @return the attacker's losses
+     */
+    public int getAttackerLosses() {
+        return first;
+    }
+
+    /**
+     * Returns the number of armies the defending country has lost
+     * @return the defender's losses
+     */
+    public int getDefenderLosses() {
+        return second;
+    }
+
+    /**
+     * Returns the threshold of a whole battle
+     * @return the threshold or 0, if only a single roll was thrown
+     */
+    public int getStopAt() {
+        return third;
+    }
+
+    /**
+     * Returns the index of the player, who has lost the conquered country
+     * @return the defender's index
+     */
+    public int getDefender() {
+        return first;
+    }
+
+    /**
+     * Returns the index of the player, who is on turn after the round has ended
+     * @return the next player's index
+     */
+    public int getNextPlayer() {
+        return first;
+    }
+
+    /**
+     * Returns the new phase
+     * @return phase
+     */
+    public GamePhase getPhase() {
+        return GamePhase.values()[first];
+    }
+
+    /**
+     * Returns the first value (depends on the type)
+     * @return first
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    /**
+     * Returns the second value (depends on the type)
+     * @return second
+     */
+    public int getSecond() {
+        return second;
+    }
+
+    /**
+     * Returns the third value (depends on the type)
+     * @return third
+     */
+    public int getThird() {
+        return third;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GameEvent event = (GameEvent) o;
+        return type == event.type && player == event.player && country == event.country && target == event.target &&
+                first == event.first && second == event.second && third == event.third;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, player, country, target, first, second, third);
+    }
+
+    @Override
+    public String toString() {
+        return type + "[player=" + player + ", country=" + country + ", target=" + target + ", values=" + first + "," + second + "," + third + "]";
+    }
+}
@@ -0,0 +1,14 @@
+package engine.event;
+
+/**
+ * A subscriber to the events, which are published by the {@link engine.GameEngine}
+ */
+@FunctionalInterface
+public interface GameEventListener {
+
+    /**
+     * Will be called after every action of a player
+     * @param event the event
+     */
+    void onEvent(GameEvent event);
+}
@@ -0,0 +1,42 @@
+package engine.event;
+
+/**
+ * The types of the events, which are published by the {@link engine.GameEngine}
+ */
+public enum GameEventType {
+
+    /**
+     * The player has acquired a free country
+     */
+    COUNTRY_ACQUIRED,
+
+    /**
+     * The player has placed armies on an own country
+     */
+    ARMIES_PLACED,
+
+    /**
+     * The player has attacked a country: either with a single roll or with a whole battle at once
+     */
+    BATTLE_ROLLED,
+
+    /**
+     * The player has conquered a country
+     */
+    COUNTRY_CONQUERED,
+
+    /**
+     * The player has moved armies between two own countries
+     */
+    ARMIES_MOVED,
+
+    /**
+     * The player has ended the round and the next player is on turn
+     */
+    TURN_ENDED,
+
+    /**
+     * The game has switched to another phase
+     */
+    PHASE_CHANGED
+}
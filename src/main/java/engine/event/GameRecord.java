@@ -0,0 +1,87 @@
+package engine.event;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A recorded game: the seed of its dice, its players and the events of all actions in their order
+ */
+public class GameRecord {
+
+    /**
+     * The seed of the game's dice
+     */
+    private final long seed;
+
+    /**
+     * The number of players
+     */
+    private final int players;
+
+    /**
+     * The computer players (bit i is set for the player with the index i)
+     */
+    private final long computerPlayers;
+
+    /**
+     * The events of the game
+     */
+    private final List<GameEvent> events;
+
+    /**
+     * Creates a new record
+     * @param seed the seed of the game's dice
+     * @param players the number of players
+     * @param computerPlayers the computer players (bit i is set for the player with the index i)
+     * @param events the events of the game
+     */
+    public GameRecord(long seed, int players, long computerPlayers, List<GameEvent> events) {
+        if(players < 0 || players > Long.SIZE) throw new IllegalArgumentException("A record supports up to " + Long.SIZE + " players!");
+
+        this.seed = seed;
+        this.players = players;
+        this.computerPlayers = computerPlayers;
+        this.events = Collections.unmodifiableList(events);
+    }
+
+    /**
+     * Returns the seed of the game's dice
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of players
+     * @return players
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Returns the computer players
+     * @return computerPlayers (bit i is set for the player with the index i)
+     */
+    public long getComputerPlayers() {
+        return computerPlayers;
+    }
+
+    /**
+     * Checks if the given player is a computer player
+     * @param player the player's index
+     * @return true, if the player is a computer player; otherwise false
+     */
+    public boolean isComputer(int player) {
+        return player >= 0 && player < Long.SIZE && (computerPlayers & (1L << player)) != 0;
+    }
+
+    /**
+     * Returns the events of the game
+     * @return events
+     */
+    public List<GameEvent> getEvents() {
+        return events;
+    }
+}
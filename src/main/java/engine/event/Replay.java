@@ -0,0 +1,133 @@
+package engine.event;
+
+import engine.GameEngine;
+import engine.GameState;
+
+import java.util.List;
+
+/**
+ * Replays a recorded game on an engine, which has the same map and players as the recorded game.
+ * The dice are seeded with the recorded seed and every action is executed again, so the battles of the human
+ * players are thrown again with the same results. The computer players think with a time budget, so their battles
+ * are applied with the recorded losses instead. Every event the engine publishes is compared with the record,
+ * so the replay stops with an exception, as soon as it differs from the recorded game
+ */
+public class Replay implements GameEventListener {
+
+    /**
+     * The engine, on which the game is replayed
+     */
+    private final GameEngine engine;
+
+    /**
+     * The recorded game
+     */
+    private final GameRecord record;
+
+    /**
+     * The recorded events
+     */
+    private final List<GameEvent> events;
+
+    /**
+     * The index of the next recorded event, which the engine has not published yet
+     */
+    private int position;
+
+    /**
+     * Prepares the replay of the given game. The engine must be in the initial state of the game
+     * @param engine the engine with the map and the players of the recorded game
+     * @param record the recorded game
+     */
+    public Replay(GameEngine engine, GameRecord record) {
+        if(engine.getState().getPlayers() != record.getPlayers())
+            throw new IllegalArgumentException("The game was recorded with " + record.getPlayers() + " players, but the engine has " + engine.getState().getPlayers());
+
+        this.engine = engine;
+        this.record = record;
+        this.events = record.getEvents();
+
+        engine.setSeed(record.getSeed());
+        engine.addEventListener(this);
+    }
+
+    /**
+     * Checks if all recorded events were replayed
+     * @return true, if the replay is finished; otherwise false
+     */
+    public boolean isFinished() {
+        return position >= events.size();
+    }
+
+    /**
+     * Returns the number of replayed events
+     * @return position
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Executes the next recorded action
+     * @return true, if there are more actions; otherwise false
+     */
+    public boolean step() {
+        if(isFinished()) return false;
+
+        GameEvent event = events.get(position);
+        int before = position;
+        execute(event);
+
+        // The action has to publish at least its own event
+        if(position == before) throw new IllegalStateException("The replay differs at event " + position + ": " + event + " was not published");
+        return !isFinished();
+    }
+
+    /**
+     * Replays all recorded actions as fast as possible
+     */
+    public void run() {
+        while(step());
+        engine.removeEventListener(this);
+    }
+
+    /**
+     * Executes the action, which has published the given event
+     * @param event the event
+     */
+    private void execute(GameEvent event) {
+        switch(event.getType()) {
+            case COUNTRY_ACQUIRED:
+                if(engine.getCurrentPlayer() == GameState.NONE) engine.setCurrentPlayer(event.getPlayer());
+                engine.acquire(event.getCountry());
+                break;
+            case ARMIES_PLACED:
+                engine.place(event.getCountry());
+                break;
+            case BATTLE_ROLLED:
+                if(record.isComputer(event.getPlayer()))
+                    engine.applyBattle(event.getPlayer(), event.getCountry(), event.getTarget(), event.getAttackerLosses(), event.getDefenderLosses(), event.getStopAt());
+                else if(event.getStopAt() == 0) engine.attack(event.getPlayer(), event.getCountry(), event.getTarget());
+                else engine.blitz(event.getPlayer(), event.getCountry(), event.getTarget(), event.getStopAt());
+                break;
+            case ARMIES_MOVED:
+                engine.move(event.getPlayer(), event.getCountry(), event.getTarget());
+                break;
+            case TURN_ENDED:
+                engine.endTurn();
+                break;
+            default:
+                // Conquests and phase changes are only the consequences of other actions
+                break;
+        }
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        if(isFinished() || !event.equals(events.get(position))) {
+            throw new IllegalStateException("The replay differs at event " + position + ": expected " +
+                    (isFinished() ? "the end" : events.get(position)) + ", but was " + event);
+        }
+        position++;
+    }
+}
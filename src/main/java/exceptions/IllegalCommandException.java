@@ -15,6 +15,7 @@ public class IllegalCommandException extends Exception {
      * @param s dialog message
      */
     public IllegalCommandException(String s){
+        super(s);
         LOGGER.info(s);
     }
 }
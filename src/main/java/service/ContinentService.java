@@ -2,6 +2,7 @@ package service;
 
 import dto.Continent;
 import dto.Country;
+import engine.MapGraph;
 import exceptions.IllegalCommandException;
 import javafx.scene.Group;
 
@@ -22,7 +23,7 @@ public interface ContinentService {
     List<Continent> getContinents() throws IOException, IllegalCommandException;
 
     /**
-     * Returns the list of all continents of the given map
+     * Returns the list of all continents of the given map, which may be a .map file or a compiled .cmap file
      * @param map the map, which contains the continents
      * @return the list with all continents
      * @throws IOException will be thrown, if something went wrong during reading
@@ -31,12 +32,39 @@ public interface ContinentService {
     List<Continent> getContinents(String map) throws IOException, IllegalCommandException;
 
     /**
-     * Scales all patches with the given factor
+     * Returns the list of all continents of the given map, whose patches are simplified while reading.
+     * The patches of a compiled map are not simplified again
+     * @param map the map, which contains the continents
+     * @param tolerance the maximum distance of a removed point of a patch (negative keeps every point)
+     * @return the list with all continents
+     * @throws IOException will be thrown, if something went wrong during reading
+     * @throws IllegalCommandException will be thrown, if an illegal command happened
+     */
+    List<Continent> getContinents(String map, double tolerance) throws IOException, IllegalCommandException;
+
+    /**
+     * Returns the compiled graph of the loaded map, in which every country has its index
+     * @return the map graph
+     */
+    MapGraph getMapGraph();
+
+    /**
+     * Scales all patches with the given factor. The points are taken from the coarsest level of detail,
+     * which differs by less than a pixel from the loaded patches at this scale
      * @param factorX scale factor in x direction
      * @param factorY scale factor in y direction
      */
     void resizePatches(double factorX, double factorY);
 
+    /**
+     * Replaces the points of all patches with the level of detail for the given scale, without scaling them.
+     * This is needed, if the patches are scaled by a transform of their group; the points only change, if the scale
+     * needs another level than the current one
+     * @param factorX the scale factor in x direction
+     * @param factorY the scale factor in y direction
+     */
+    void setLevelOfDetail(double factorX, double factorY);
+
     /**
      * Resize the country
      * @param country the country, which polygons need to be resized
@@ -45,9 +73,17 @@ public interface ContinentService {
      */
     void resizeCountry(Country country, double factorX, double factorY);
 
+    /**
+     * Returns the country, whose patch contains the given point
+     * @param x the x coordinate in the coordinates of the patches
+     * @param y the y coordinate in the coordinates of the patches
+     * @return the country or null, if there is no country at the point
+     */
+    Country getCountryAt(double x, double y);
+
     /**
      * Sets up all relevant information for the continent service
-     * @param root the root element
+     * @param root the root element, to which the patches are added, or null, if the patches are not shown as nodes
      */
     void setupContinentService(Group root);
 }
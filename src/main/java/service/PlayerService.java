@@ -1,8 +1,11 @@
 package service;
 
+import dto.Board;
 import dto.Continent;
 import dto.Country;
 import dto.Player;
+import engine.BattleOdds;
+import engine.MapGraph;
 import exceptions.AttackOwnCountryException;
 import exceptions.CountryNotAvailableException;
 import exceptions.NotEnoughArmiesException;
@@ -14,6 +17,19 @@ import java.util.List;
  */
 public interface PlayerService {
 
+    /**
+     * Registers all countries of the given continents, so that the game can be played on them
+     * @param continents the continents in the game
+     * @param mapGraph the compiled graph of the continents
+     */
+    void setupPlayerService(List<Continent> continents, MapGraph mapGraph);
+
+    /**
+     * Returns the board, which connects the players and countries with the game engine
+     * @return the board
+     */
+    Board getBoard();
+
     /**
      * Creates a new simple player
      * @return player
@@ -64,6 +80,20 @@ public interface PlayerService {
      */
     void attack(Player p1, Country attackCountry, Country defendingCountry) throws NotEnoughArmiesException, AttackOwnCountryException;
 
+    /**
+     * Attacks the defending country with the attacking country, until the defending country is conquered
+     * or the attacking country has the given number of armies or less.
+     * The whole battle is resolved at once
+     * @param player the attacking player
+     * @param attackCountry the attacking country
+     * @param defendCountry the defending country
+     * @param stopAt the attack stops at this number of armies on the attacking country (at least 1)
+     * @return true, if the defending country was conquered; otherwise false
+     * @throws NotEnoughArmiesException if the attacking country has not more armies than the threshold
+     * @throws AttackOwnCountryException if the defending country belongs to the player
+     */
+    boolean blitz(Player player, Country attackCountry, Country defendCountry, int stopAt) throws NotEnoughArmiesException, AttackOwnCountryException;
+
     /**
      * Conquers the defending country and moves all left armies to that country
      * @param p1 the player, to whom the country will belong to
@@ -91,6 +121,19 @@ public interface PlayerService {
      */
     Player getCurrentPlayer();
 
+    /**
+     * Returns the odds of the battles with the game's rules
+     * @return the battle odds
+     */
+    BattleOdds getBattleOdds();
+
+    /**
+     * Returns the owner of the given country
+     * @param country the country
+     * @return the owner or null, if the country is free
+     */
+    Player getOwner(Country country);
+
     /**
      * Decides how many armies can be used for attacking
      * @param player the player used for calculation
@@ -105,4 +148,34 @@ public interface PlayerService {
      * @return the number of armies, which can be used for defending
      */
     int getDefendingArmies(Player player, Country defendingCountry);
+
+    /**
+     * The current player acquires the given country, if it is free. Afterwards the next player is on turn
+     * @param country the country to be acquired
+     * @return true, if the country was acquired; otherwise false
+     */
+    boolean acquireCountry(Country country);
+
+    /**
+     * The current player places one army on the given country, if it belongs to the player
+     * @param country the country, on which the army should be placed
+     */
+    void placeArmy(Country country);
+
+    /**
+     * Ends the current player's round and lets the next player start with the army placement
+     */
+    void endTurn();
+
+    /**
+     * Checks if the given player has conquered the whole world
+     * @param player the player to be checked
+     * @return true, if the player owns all countries; otherwise false
+     */
+    boolean hasWon(Player player);
+
+    /**
+     * Resets all countries and starts a new game with the acquisition
+     */
+    void newGame();
 }
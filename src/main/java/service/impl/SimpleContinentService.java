@@ -2,15 +2,18 @@ package service.impl;
 
 import dto.Continent;
 import dto.Country;
+import engine.MapGraph;
 import exceptions.IllegalCommandException;
 import javafx.geometry.Point2D;
 import javafx.scene.Group;
 import javafx.scene.shape.Polygon;
-import javafx.scene.transform.Scale;
-import javafx.scene.transform.Translate;
 import service.ContinentService;
 import util.properties.PropertiesManager;
+import util.reader.impl.CompiledMapReader;
 import util.reader.impl.SimpleMapReader;
+import util.spatial.PickBuffer;
+import util.spatial.PolygonSimplifier;
+import util.spatial.SpatialIndex;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -23,31 +26,82 @@ import java.util.Map;
  */
 public class SimpleContinentService implements ContinentService {
 
+    /**
+     * The continent service of the ui
+     */
     private static ContinentService continentService;
 
+    /**
+     * The tolerances of the levels of detail in the coordinates of the map, beginning with the loaded patches
+     */
+    private static final double[] LOD_TOLERANCES = {0, 0.5, 1, 2, 4};
+
+    /**
+     * The maximum distance on the screen in pixels, by which a level of detail may differ from the loaded patches
+     */
+    private static final double MAX_SCREEN_ERROR = 0.5;
+
     /**
      * The service's continent list
      */
     private List<Continent> continentList;
 
+    /**
+     * The compiled graph of {@link #continentList}
+     */
+    private MapGraph mapGraph;
+
+    /**
+     * The index of the current patches, which is built on first use and after every resize
+     */
+    private SpatialIndex spatialIndex;
+
+    /**
+     * The raster of the current patches, which is filled on first use after every resize
+     */
+    private PickBuffer pickBuffer;
+
+    /**
+     * True, if the countries are picked from the {@link PickBuffer}; otherwise from the {@link SpatialIndex}
+     */
+    private boolean usePickBuffer;
+
     /**
      * The map with the original polygons, belonging to the country
      * TODO: Optimize me!
      */
-    private static Map<String, Country> originalCountriesMap;
+    private final Map<String, Country> originalCountriesMap;
+
+    /**
+     * The original points of every patch at every level of detail, belonging to the country
+     */
+    private final Map<String, double[][][]> patchLevelsMap;
+
+    /**
+     * The level of detail of the unscaled points of the patches (0 are the loaded points)
+     */
+    private int levelOfDetail;
 
-    // private constructor
-    private SimpleContinentService() {}
+    /**
+     * The reused arrays for the new points of every patch at every level of detail, belonging to the country
+     */
+    private final Map<String, Double[][][]> pointBuffersMap;
+
+    /**
+     * Creates a new continent service. Every game, which does not share its map with the ui, needs its own service
+     */
+    public SimpleContinentService() {
+        originalCountriesMap = new HashMap<>();
+        patchLevelsMap = new HashMap<>();
+        pointBuffersMap = new HashMap<>();
+    }
 
     /**
-     * Returns the continent service, which can be used for performing actions on the continent
+     * Returns the continent service of the ui, which can be used for performing actions on the continent
      * @return the continent service
      */
     public static ContinentService getContinentService() {
-        if(continentService == null) {
-            continentService = new SimpleContinentService();
-            originalCountriesMap = new HashMap<>();
-        }
+        if(continentService == null) continentService = new SimpleContinentService();
         return continentService;
     }
 
@@ -58,87 +112,199 @@ public class SimpleContinentService implements ContinentService {
 
     @Override
     public List<Continent> getContinents(String map) throws IOException, IllegalCommandException {
-        if(continentList == null) continentList = new SimpleMapReader().readFile(map);
+        return getContinents(map, -1);
+    }
+
+    @Override
+    public List<Continent> getContinents(String map, double tolerance) throws IOException, IllegalCommandException {
+        if(continentList == null) {
+            // A compiled map is already simplified by the compiler
+            continentList = map.endsWith(CompiledMapReader.EXTENSION) ? new CompiledMapReader().readFile(map) : new SimpleMapReader(tolerance).readFile(map);
+            mapGraph = compileMapGraph(continentList);
+        }
         return continentList;
     }
 
+    @Override
+    public MapGraph getMapGraph() {
+        return mapGraph;
+    }
+
+    /**
+     * Compiles the given continents into a {@link MapGraph} and sets every country's id to its index in the graph.
+     * The countries are numbered in the order of the continents
+     * @param continents the continents, which should be compiled
+     * @return the compiled graph
+     */
+    public static MapGraph compileMapGraph(List<Continent> continents) {
+        MapGraph.Builder builder = new MapGraph.Builder();
+
+        // Give every country a dense index
+        List<Country> countries = new ArrayList<>();
+        continents.forEach(continent -> continent.getCountries().forEach(country -> {
+            int known = builder.size();
+            int index = builder.addCountry(country.getBaseName());
+
+            // A country, which belongs to more than one continent, only gets one index
+            if(index < known) return;
+
+            country.setId(index);
+            countries.add(country);
+        }));
+
+        // Connect the neighbors
+        countries.forEach(country -> country.getNeighbors().forEach(neighbor -> {
+            if(neighbor.getId() < 0 || neighbor.getId() >= countries.size() || countries.get(neighbor.getId()) != neighbor)
+                throw new IllegalStateException("Neighbor " + neighbor.getBaseName() + " of " + country.getBaseName() + " is not part of any continent");
+            builder.addNeighbors(country.getId(), neighbor.getId());
+        }));
+
+        // Add the continents
+        continents.forEach(continent -> builder.addContinent(
+                continent.getBaseName(),
+                continent.getPoints(),
+                continent.getCountries().stream().mapToInt(Country::getId).toArray()
+        ));
+
+        return builder.build();
+    }
+
     @Override
     public void resizePatches(double factorX, double factorY){
+        // resizeCountry chooses the same level for every country
         continentList.forEach(continent -> continent.getCountries().forEach(country -> {
             resizeCountry(country, factorX, factorY);
         }));
+
+        // The patches have new coordinates, so the index has to be built again.
+        // The raster is only filled, when it is needed, because the window may still be resized
+        if(usePickBuffer) pickBuffer = null;
+        else spatialIndex = new SpatialIndex(continentList);
     }
 
     @Override
     public void resizeCountry(Country country, double factorX, double factorY) {
+        // The index and the raster do not know the new coordinates of this country
+        spatialIndex = null;
+        pickBuffer = null;
+
         // Get the original country and it's polygons
         Country originalCountry = originalCountriesMap.get(country.getBaseName());
 
-        List<Polygon> originalPatches = originalCountry.getPatches();
+        double[][][] patchLevels = patchLevelsMap.get(country.getBaseName());
         List<Polygon> newPatches = country.getPatches();
 
-        Translate translate = new Translate(factorX, factorY);
-        Scale scale = new Scale(factorX, factorY);
-
-        if(originalPatches.size() != newPatches.size()) throw new IllegalStateException("originalPatches and newPatches must have the same length!");
-
-        Polygon originalPatch, newPatch;
-        for(int i = 0; i < originalPatches.size(); i++) {
-            originalPatch = originalPatches.get(i);
-            newPatch = newPatches.get(i);
-
-            newPatch.getPoints().clear();
-            newPatch.getPoints().addAll(originalPatch.getPoints());
+        if(patchLevels.length != newPatches.size()) throw new IllegalStateException("originalPatches and newPatches must have the same length!");
 
-            // Get the current points and transform them into Point2D
-            List<Double> doubles = newPatch.getPoints();
-            List<Point2D> points = new ArrayList<>();
-            for(int j = 0; j < doubles.size(); j += 2) points.add(new Point2D(doubles.get(j), doubles.get(j+1)));
+        int level = getLevelOfDetail(factorX, factorY);
+        for(int i = 0; i < patchLevels.length; i++) {
+            double[] originalPoints = patchLevels[i][level];
 
-            // Create two new lists, which will be used for storing the new values
-            List<Point2D> outPoints = new ArrayList<>();
-            List<Double> outDoubles = new ArrayList<>();
+            // Translate and scale the original points, then replace the patch's points with a single change.
+            // The array is reused, but a polygon keeps its points as Double objects, so every coordinate is boxed
+            Double[] points = getPointBuffer(country, i, level, originalPoints.length);
+            for(int j = 0; j + 1 < points.length; j += 2) {
+                points[j] = (originalPoints[j] + factorX) * factorX;
+                points[j + 1] = (originalPoints[j + 1] + factorY) * factorY;
+            }
+            newPatches.get(i).getPoints().setAll(points);
+        }
 
-            // Now we can transform our new patch, as it now has the standard values
-            points.forEach(point2D -> {
-                Point2D point = point2D;
+        // Resize the position of the capital in the same way
+        Point2D capital = originalCountry.getCapital();
+        country.setCapital(new Point2D((capital.getX() + factorX) * factorX, (capital.getY() + factorY) * factorY));
+    }
 
-                // Translate the point
-                point = translate.transform(point);
+    @Override
+    public void setLevelOfDetail(double factorX, double factorY) {
+        int level = getLevelOfDetail(factorX, factorY);
+        if(level == levelOfDetail) return;
+        levelOfDetail = level;
 
-                // Scale the point
-                point = scale.transform(point);
+        // Replace the points of every patch with the points of the new level
+        continentList.forEach(continent -> continent.getCountries().forEach(country -> {
+            double[][][] patchLevels = patchLevelsMap.get(country.getBaseName());
+            List<Polygon> patches = country.getPatches();
+            for(int i = 0; i < patchLevels.length; i++) {
+                double[] levelPoints = patchLevels[i][level];
+                Double[] points = getPointBuffer(country, i, level, levelPoints.length);
+                for(int j = 0; j < points.length; j++) points[j] = levelPoints[j];
+                patches.get(i).getPoints().setAll(points);
+            }
+        }));
 
-                outPoints.add(point);
-            });
+        // The patches have other points, so the index and the raster have to be built again
+        spatialIndex = null;
+        pickBuffer = null;
+    }
 
-            // Store the calculated points in the doubles list
-            outPoints.forEach(point2D -> {
-                outDoubles.add(point2D.getX());
-                outDoubles.add(point2D.getY());
-            });
+    /**
+     * Returns the coarsest level of detail, which differs by at most {@link #MAX_SCREEN_ERROR} pixels from the loaded
+     * patches, if they are scaled with the given factors
+     * @param factorX the factor in x-direction
+     * @param factorY the factor in y-direction
+     * @return the index of the level in {@link #LOD_TOLERANCES}
+     */
+    static int getLevelOfDetail(double factorX, double factorY) {
+        double factor = Math.max(factorX, factorY);
+        int level = 0;
+        while(level + 1 < LOD_TOLERANCES.length && LOD_TOLERANCES[level + 1] * factor <= MAX_SCREEN_ERROR) level++;
+        return level;
+    }
 
-            newPatch.getPoints().clear();
-            newPatch.getPoints().addAll(outDoubles);
+    /**
+     * Returns the reused array for the new points of the given patch at the given level of detail
+     * @param country the country
+     * @param patch the index of the patch
+     * @param level the level of detail
+     * @param length the number of coordinates of the patch at this level
+     * @return the array
+     */
+    private Double[] getPointBuffer(Country country, int patch, int level, int length) {
+        Double[][][] pointBuffers = pointBuffersMap.computeIfAbsent(country.getBaseName(), name -> new Double[country.getPatches().size()][LOD_TOLERANCES.length][]);
+        if(pointBuffers[patch][level] == null) pointBuffers[patch][level] = new Double[length];
+        return pointBuffers[patch][level];
+    }
 
-            country.getPatches().set(i, newPatch);
+    /**
+     * Simplifies the loaded points of every patch of the given country to every level of detail
+     * @param originalCountry the original country
+     * @return the points by the index of the patch and the level
+     */
+    private static double[][][] createPatchLevels(Country originalCountry) {
+        List<Polygon> originalPatches = originalCountry.getPatches();
+        double[][][] patchLevels = new double[originalPatches.size()][LOD_TOLERANCES.length][];
+        for(int i = 0; i < originalPatches.size(); i++) {
+            List<Double> originalPoints = originalPatches.get(i).getPoints();
+            double[] points = new double[originalPoints.size()];
+            for(int j = 0; j < points.length; j++) points[j] = originalPoints.get(j);
+
+            // Every level is simplified from the previous one, so it never has more points
+            patchLevels[i][0] = points;
+            for(int level = 1; level < LOD_TOLERANCES.length; level++)
+                patchLevels[i][level] = PolygonSimplifier.simplify(patchLevels[i][level - 1], LOD_TOLERANCES[level] - LOD_TOLERANCES[level - 1]);
         }
+        return patchLevels;
+    }
 
-        // Resize the position of the capital
-        // Get current position
-        Point2D capital = originalCountry.getCapital();
-        capital = translate.transform(capital);
-        capital = scale.transform(capital);
-
-        // Translate the position
-        country.setCapital(capital);
+    @Override
+    public Country getCountryAt(double x, double y) {
+        if(continentList == null) return null;
+        if(usePickBuffer) {
+            if(pickBuffer == null) pickBuffer = new PickBuffer(continentList);
+            return pickBuffer.getCountryAt(x, y);
+        }
+        if(spatialIndex == null) spatialIndex = new SpatialIndex(continentList);
+        return spatialIndex.getCountryAt(x, y);
     }
 
     @Override
     public void setupContinentService(Group root) {
+        usePickBuffer = "buffer".equalsIgnoreCase(PropertiesManager.getString("Game.PickMode", "settings"));
+
         // Add all patches to the root group
         continentList.forEach(continent -> continent.getCountries().forEach(country -> {
-            country.getPatches().forEach(patch -> root.getChildren().add(patch));
+            if(root != null) country.getPatches().forEach(patch -> root.getChildren().add(patch));
 
             // Clone the country and put it into the map with its polygon list
             Country clonedCountry = country.clone();
@@ -146,6 +312,9 @@ public class SimpleContinentService implements ContinentService {
             // Put the country inside the map with it's default name (with removed whitespaces
             originalCountriesMap.put(clonedCountry.getBaseName(), clonedCountry);
 
+            // Simplify the patches to all levels of detail, so that a resize only has to choose a level
+            patchLevelsMap.computeIfAbsent(clonedCountry.getBaseName(), name -> createPatchLevels(clonedCountry));
+
             // Set the continent's locale name
             continent.setName(PropertiesManager.getString("Continent."+continent.getBaseName().replaceAll("\\s+",""),"lang"));
 
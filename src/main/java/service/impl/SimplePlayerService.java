@@ -1,8 +1,14 @@
 package service.impl;
 
+import dto.Board;
 import dto.Continent;
 import dto.Country;
 import dto.Player;
+import engine.AttackResult;
+import engine.BattleOdds;
+import engine.GameEngine;
+import engine.GameState;
+import engine.MapGraph;
 import exceptions.AttackOwnCountryException;
 import exceptions.CountryNotAvailableException;
 import exceptions.NotEnoughArmiesException;
@@ -12,8 +18,10 @@ import service.PlayerService;
 import util.properties.PropertiesManager;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * The default player service, which delegates all rules to the {@link GameEngine} of its {@link Board}
+ */
 public class SimplePlayerService implements PlayerService {
 
     /**
@@ -26,20 +34,42 @@ public class SimplePlayerService implements PlayerService {
      */
     private final List<Player> players;
 
+    /**
+     * The board, which connects the players and countries with the game engine
+     */
+    private final Board board;
+
+    /**
+     * The odds of the battles, which are calculated on first use
+     */
+    private BattleOdds battleOdds;
+
     /**
      * The SimplePlayerInstance, which will be used throughout the game
      */
     private static SimplePlayerService simplePlayerService;
 
     /**
-     * Creates a new SimplePlayerService
+     * Creates a new SimplePlayerService with the rules of the settings
+     */
+    public SimplePlayerService(){
+        this(new GameEngine(
+                PropertiesManager.getInt("Game.MaxAttackArmies", "settings"),
+                PropertiesManager.getInt("Game.MaxDefendArmies", "settings")
+        ));
+    }
+
+    /**
+     * Creates a new SimplePlayerService for the given engine. Every game needs its own service
+     * @param engine the engine of the game
      */
-    private SimplePlayerService(){
+    public SimplePlayerService(GameEngine engine){
         players = new ArrayList<>();
+        board = new Board(engine);
     }
 
     /**
-     * Returns the one and only SimplePlayerService in the game
+     * Returns the SimplePlayerService of the ui
      * @return the simple player service
      */
     public static SimplePlayerService getSimplePlayerService() {
@@ -47,6 +77,18 @@ public class SimplePlayerService implements PlayerService {
         return simplePlayerService;
     }
 
+    @Override
+    public void setupPlayerService(List<Continent> continents, MapGraph mapGraph) {
+        // Register every country with its index in the graph, so that the engine knows all countries of the game
+        continents.forEach(continent -> continent.getCountries().forEach(board::indexOf));
+        board.getEngine().setMapGraph(mapGraph);
+    }
+
+    @Override
+    public Board getBoard() {
+        return board;
+    }
+
     @Override
     public Player createPlayer() {
         return createPlayer("",true);
@@ -57,6 +99,7 @@ public class SimplePlayerService implements PlayerService {
         Player p =  new Player.PlayerBuilder()
                 .name(name)
                 .ai(ai)
+                .board(board)
                 .build();
         players.add(p);
         return p;
@@ -69,7 +112,8 @@ public class SimplePlayerService implements PlayerService {
 
     @Override
     public void addCountry(Player player, Country country) throws CountryNotAvailableException {
-        for(Player p : players) if(p.hasCountry(country)) throw new CountryNotAvailableException(p, country);
+        Player owner = board.getOwner(country);
+        if(owner != null) throw new CountryNotAvailableException(owner, country);
         player.addCountry(country);
     }
 
@@ -79,7 +123,7 @@ public class SimplePlayerService implements PlayerService {
         int armies = player.getArmies();
 
         // Calculate the number of armies the player gets for his countries
-        armies += (player.getCountries().size() / 3);
+        armies += (player.sizeCountries() / 3);
 
         // Calculate the additional points, if the player has conquered a continent
         for(Continent continent : continents) {
@@ -97,18 +141,7 @@ public class SimplePlayerService implements PlayerService {
         Objects.requireNonNull(from);
         Objects.requireNonNull(to);
 
-        // Only move armies, if player has both armies
-        if(player.hasCountry(from) && player.hasCountry(to)){
-
-            // Get the armies to be moved
-            int armies = player.getArmies(from)-1;
-
-            // Only move, if there are any armies to be moved
-            if(armies > 0){
-                player.addArmies(to, armies);
-                player.removeArmies(from, armies);
-            }
-        }
+        board.getEngine().move(player.getIndex(), board.indexOf(from), board.indexOf(to));
     }
 
     @Override
@@ -118,174 +151,109 @@ public class SimplePlayerService implements PlayerService {
         Objects.requireNonNull(attackCountry);
         Objects.requireNonNull(defendCountry);
 
-        // Assure, that the defendingCountry does not belong to player1
-        if(p1.hasCountry(defendCountry)) throw new AttackOwnCountryException(p1);
+        AttackResult result = board.getEngine().attack(p1.getIndex(), board.indexOf(attackCountry), board.indexOf(defendCountry));
 
-        // If the player has not enough armies in the attacking country, then nothing should happen
-        if(p1.getArmies(attackCountry) == 1) throw new NotEnoughArmiesException(p1);
-
-        // Get the player, who owns the country
-        Optional<Player> op = Optional.empty();
-        for(Player player : players) if(player.hasCountry(defendCountry)) op = Optional.of(player);
-
-        // If there is no player who owns the country -> illegal state
-        if(!op.isPresent()) throw new IllegalStateException("No player owns country " + defendCountry.getBaseName());
-
-        // Get the player the country belongs to
-        Player p2 = op.get();
-
-        // If the attacking country has n armies, you can attack only attack with at most n-1 armies
-        int attackingArmies = getAttackingArmies(p1, attackCountry);
-
-        // Decide how many armies can defend the attacked country
-        int defendingArmies = getDefendingArmies(p2, defendCountry);
-
-        // Remove the attacking and defending armies from the respective country, so that you can work with the values
-        p1.removeArmies(attackCountry, attackingArmies);
-        p2.removeArmies(defendCountry, defendingArmies);
-
-        // To save the thrown dices, we need to use an array
-        Integer[] attackDices = new Integer[attackingArmies];
-        Integer[] defendDices = new Integer[defendingArmies];
-
-        // Calculate the thrown dices
-        for(int i=0; i<attackDices.length; i++) attackDices[i] = (int) (Math.random()*6)+1;
-        for(int i=0; i<defendDices.length; i++) defendDices[i] = (int) (Math.random()*6)+1;
-
-        // Sort the dice arrays in descending order to compare the first elements
-        Arrays.sort(attackDices, Collections.reverseOrder());
-        Arrays.sort(defendDices, Collections.reverseOrder());
-
-        // Decide how many armies can be used for checking the dices
-        int maxArmies = (attackingArmies > defendingArmies) ? defendingArmies : attackingArmies;
-
-        // Check which army has the highest number per dice
-        for(int i=0; i<maxArmies; i++){
-
-            int attackingDice = attackDices[i];
-            int defendingDice = defendDices[i];
-
-            LOGGER.info(
-                    "Attack=[" + attackCountry.getName() + "," + attackingDice + "], " +
-                    "Defend=[" + defendCountry.getName() + "," + defendingDice + "]"
-            );
-
-            // If the attacking player has a larger number, the number of defending armies should be decremented
-            if(attackingDice < defendingDice) attackingArmies--;
-            else defendingArmies--;
+        if(result == AttackResult.OWN_COUNTRY) throw new AttackOwnCountryException(p1);
+        if(result == AttackResult.NO_NEIGHBOR) LOGGER.info(attackCountry.getName() + " cannot attack " + defendCountry.getName());
+        if(result == AttackResult.NOT_ENOUGH_ARMIES) throw new NotEnoughArmiesException(p1);
+    }
 
-            if(defendingArmies == 0 || attackingArmies == 0) break;
-        }
+    @Override
+    public boolean blitz(Player player, Country attackCountry, Country defendCountry, int stopAt) throws NotEnoughArmiesException, AttackOwnCountryException {
 
-        // If the country was conquered, remove it from the defending players list and add it to the attacking players list
-        if(defendingArmies == 0){
-            // Add the remaining attacking armies back to the attacking country
-            p1.addArmies(attackCountry, attackingArmies);
+        Objects.requireNonNull(player);
+        Objects.requireNonNull(attackCountry);
+        Objects.requireNonNull(defendCountry);
 
-            conquerCountry(p1, p2, attackCountry, defendCountry);
-            return;
-        }
+        // Make sure, that the engine uses the odds with the configured cap
+        getBattleOdds();
 
-        // Finally, if the country was not conquered, you have to return the armies to the respective country
-        p1.addArmies(attackCountry, attackingArmies);
-        p2.addArmies(defendCountry, defendingArmies);
+        AttackResult result = board.getEngine().blitz(player.getIndex(), board.indexOf(attackCountry), board.indexOf(defendCountry), stopAt);
 
+        if(result == AttackResult.OWN_COUNTRY) throw new AttackOwnCountryException(player);
+        if(result == AttackResult.NO_NEIGHBOR) LOGGER.info(attackCountry.getName() + " cannot attack " + defendCountry.getName());
+        if(result == AttackResult.NOT_ENOUGH_ARMIES) throw new NotEnoughArmiesException(player);
+        return result == AttackResult.CONQUERED;
     }
 
     @Override
     public void conquerCountry(Player p1, Player p2, Country attackCountry, Country defendingCountry) {
         // TODO: Make exceptions, if any of the conditions is false
-        // It is only possible to conquer a country, if the defending player has no armies left in the country
-        // And the attacking country has at least two armies left
-        if(p2.getArmies(defendingCountry) == 0 && p1.getArmies(attackCountry) >= 2) {
-
-            // Remove the country from the player, who has lost it
-            p2.removeCountry(defendingCountry);
-
-            // Add the country to the player, who has conquered it
-            p1.addCountry(defendingCountry);
-
-            // Remove the army from the defending country, as it will be added by 'moveArmies'
-            p1.removeArmies(defendingCountry, 1);
-
-            // Move all countries from the attacking to the defending country
-            moveArmies(p1, attackCountry, defendingCountry);
-
-            // Change the defending country's color
-            defendingCountry.getPatches().forEach(polygon -> polygon.setFill(p1.getColor()));
-        }
+        board.getEngine().conquer(p1.getIndex(), p2.getIndex(), board.indexOf(attackCountry), board.indexOf(defendingCountry));
     }
 
     @Override
     public void nextTurn() {
-        int index = -1;
-        Player currentPlayer = getCurrentPlayer();
-        int playersSize = players.size();
-        for(int i=0; i<playersSize; i++) if(players.get(i).equals(currentPlayer)) index = i;
-        if(index >= 0){
-            index = ((index+1) % players.size());
-            currentPlayer.setMove(false);
-            currentPlayer = players.get(index);
-            currentPlayer.setMove(true);
-        }
+        board.getEngine().nextTurn();
     }
 
     @Override
     public int getAttackingArmies(Player player, Country attackingCountry) {
         LOGGER.info("Enter");
+        return board.getEngine().getAttackingArmies(player.getIndex(), board.indexOf(attackingCountry));
+    }
 
-        // Get the max attacking / defending property
-        int maxAttackingArmies = PropertiesManager.getInt("Game.MaxAttackArmies", "settings");
-
-        // Get all armies of the attacking country
-        int allCountryArmies = player.getArmies(attackingCountry);
-
-        // Decide how many armies can attack the opponent
-        // Default: 0, as there could be not enough armies in the country (e.g. the attacking country has only one army)
-        int attackingArmies = 0;
+    @Override
+    public int getDefendingArmies(Player player, Country defendingCountry) {
+        LOGGER.info("Enter");
+        return board.getEngine().getDefendingArmies(player.getIndex(), board.indexOf(defendingCountry));
+    }
 
-        if(allCountryArmies > 1)
-            attackingArmies = (allCountryArmies > maxAttackingArmies) ? maxAttackingArmies : allCountryArmies - 1;
 
-        return attackingArmies;
+    @Override
+    public boolean isCountryFree(Country country) {
+        return board.getEngine().isFree(board.indexOf(country));
     }
 
     @Override
-    public int getDefendingArmies(Player player, Country defendingCountry) {
-        LOGGER.info("Enter");
+    public Player getCurrentPlayer() {
+        // The engine knows exactly one player on turn, so there is no need to look at every player
+        int current = board.getEngine().getCurrentPlayer();
+        if(current == GameState.NONE) throw new IllegalStateException("There is no active player");
+        return board.getPlayer(current);
+    }
 
-        // Get the max attacking / defending property
-        int maxDefendingArmies = PropertiesManager.getInt("Game.MaxDefendArmies", "settings");
+    @Override
+    public BattleOdds getBattleOdds() {
+        // Calculate the tables only once, when they are needed for the first time
+        if(battleOdds == null) {
+            battleOdds = new BattleOdds(
+                    board.getEngine().getMaxAttackArmies(),
+                    board.getEngine().getMaxDefendArmies(),
+                    PropertiesManager.getInt("Game.MaxOddsArmies", "settings")
+            );
+            board.getEngine().setBattleOdds(battleOdds);
+        }
+        return battleOdds;
+    }
 
-        // Get all armies of the defending country
-        int allCountryArmies = player.getArmies(defendingCountry);
+    @Override
+    public Player getOwner(Country country) {
+        return board.getOwner(country);
+    }
 
-        // Decide how many armies can defend the country
-        // Default: 1, as the defending country has at least one army, which must be used for defending
-        int defendingArmies = 1;
-        if(allCountryArmies > 1)
-            defendingArmies = (allCountryArmies >= maxDefendingArmies) ? maxDefendingArmies : allCountryArmies;
+    @Override
+    public boolean acquireCountry(Country country) {
+        return board.getEngine().acquire(board.indexOf(country));
+    }
 
-        return defendingArmies;
+    @Override
+    public void placeArmy(Country country) {
+        board.getEngine().place(board.indexOf(country));
     }
 
+    @Override
+    public void endTurn() {
+        board.getEngine().endTurn();
+    }
 
     @Override
-    public boolean isCountryFree(Country country) {
-        boolean free = true;
-        for(Player player : players) if(player.hasCountry(country)) free = false;
-        return free;
+    public boolean hasWon(Player player) {
+        return board.getEngine().hasWon(player.getIndex());
     }
 
     @Override
-    public Player getCurrentPlayer() {
-        // Get the current player
-        List<Player> currentPlayers = players.stream()
-                .filter(Player::canBeMoved)
-                .collect(Collectors.toList());
-
-        // Assure, that there is exactly one current player
-        if(currentPlayers.size() != 1) throw new IllegalStateException("There is none | more than one active players");
-        return currentPlayers.get(0);
+    public void newGame() {
+        board.getEngine().reset();
     }
 }
@@ -0,0 +1,101 @@
+package simulation;
+
+import engine.BattleOdds;
+import engine.GameEngine;
+import engine.GamePhase;
+import engine.GameState;
+import engine.MapGraph;
+import engine.ai.Strategy;
+
+/**
+ * A single game between computer players, which is played without any ui
+ */
+public class Match {
+
+    /**
+     * The engine of this game
+     */
+    private final GameEngine engine;
+
+    /**
+     * The strategy of every seat (indexed by the player's index)
+     */
+    private final Strategy[] seats;
+
+    /**
+     * The maximum number of turns, before the game ends in a draw
+     */
+    private final int maxTurns;
+
+    /**
+     * The number of played turns
+     */
+    private int turns;
+
+    /**
+     * Creates a new game
+     * @param mapGraph the map
+     * @param battleOdds the odds of the battles, which can be shared between the games
+     * @param seats the strategy of every seat; the first seat starts
+     * @param seed the seed of the game's dice
+     * @param maxTurns the maximum number of turns, before the game ends in a draw
+     */
+    public Match(MapGraph mapGraph, BattleOdds battleOdds, Strategy[] seats, long seed, int maxTurns) {
+        this.engine = new GameEngine(battleOdds.getMaxAttackArmies(), battleOdds.getMaxDefendArmies());
+        this.seats = seats.clone();
+        this.maxTurns = maxTurns;
+
+        engine.setMapGraph(mapGraph);
+        engine.setBattleOdds(battleOdds);
+        engine.setSeed(seed);
+        for(Strategy ignored : seats) engine.addPlayer();
+    }
+
+    /**
+     * Returns the engine of this game
+     * @return engine
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns the number of played turns
+     * @return turns
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Plays the game until a player has won or the maximum number of turns is reached
+     * @return the winner's index or {@link GameState#NONE} for a draw
+     */
+    public int play() {
+        engine.setCurrentPlayer(0);
+
+        // Acquire all countries
+        while(engine.getPhase() == GamePhase.ACQUISITION) {
+            int player = engine.getCurrentPlayer();
+            if(!engine.acquire(seats[player].acquire(engine, player)))
+                throw new IllegalStateException(seats[player].getName() + " chose a country, which is not free");
+        }
+
+        for(turns = 1; turns <= maxTurns; turns++) {
+            int player = engine.getCurrentPlayer();
+
+            while(engine.getPhase() == GamePhase.ARMY_PLACEMENT) {
+                if(!engine.place(seats[player].place(engine, player)))
+                    throw new IllegalStateException(seats[player].getName() + " chose a country, which does not belong to it");
+            }
+
+            seats[player].attack(engine, player);
+            if(engine.hasWon(player)) return player;
+
+            engine.endTurn();
+        }
+
+        turns = maxTurns;
+        return GameState.NONE;
+    }
+}
@@ -0,0 +1,166 @@
+package simulation;
+
+import engine.BattleOdds;
+import engine.MapGraph;
+import engine.ai.Strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays a batch of games between computer players on all cores.
+ * Every game has its own engine and dice, only the immutable map and the battle odds are shared.
+ * The strategies rotate through the seats, so that every strategy plays every seat equally often.
+ * The seed of every game only depends on the batch's seed and the game's number, so a batch is reproducible
+ * regardless of the number of threads
+ */
+public class MatchSimulator {
+
+    /**
+     * The number of games, which a single task plays without splitting
+     */
+    private static final int GAMES_PER_TASK = 16;
+
+    /**
+     * The map
+     */
+    private final MapGraph mapGraph;
+
+    /**
+     * The odds of the battles
+     */
+    private final BattleOdds battleOdds;
+
+    /**
+     * The strategies, one per seat
+     */
+    private final List<Strategy> strategies;
+
+    /**
+     * The seed of the batch
+     */
+    private final long seed;
+
+    /**
+     * The maximum number of turns, before a game ends in a draw
+     */
+    private final int maxTurns;
+
+    /**
+     * Creates a new simulator
+     * @param mapGraph the map
+     * @param battleOdds the odds of the battles
+     * @param strategies the strategies, one per seat
+     * @param seed the seed of the batch
+     * @param maxTurns the maximum number of turns, before a game ends in a draw
+     */
+    public MatchSimulator(MapGraph mapGraph, BattleOdds battleOdds, List<Strategy> strategies, long seed, int maxTurns) {
+        if(strategies.size() < 2) throw new IllegalArgumentException("A game needs at least two players!");
+
+        this.mapGraph = mapGraph;
+        this.battleOdds = battleOdds;
+        this.strategies = new ArrayList<>(strategies);
+        this.seed = seed;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Plays the given number of games in the common fork join pool
+     * @param games the number of games
+     * @return the statistics of the games
+     */
+    public SimulationResult run(int games) {
+        return run(games, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays the given number of games in the given pool
+     * @param games the number of games
+     * @param pool the pool, which plays the games
+     * @return the statistics of the games
+     */
+    public SimulationResult run(int games, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        SimulationResult result = pool.invoke(new SimulationTask(0, games));
+        result.setNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Plays the game with the given number
+     * @param game the game's number
+     * @param result the result, to which the game is added
+     */
+    private void play(int game, SimulationResult result) {
+        int players = strategies.size();
+
+        // Rotate the strategies through the seats
+        Strategy[] seats = new Strategy[players];
+        String[] names = new String[players];
+        for(int seat = 0; seat < players; seat++) {
+            seats[seat] = strategies.get((seat + game) % players);
+            names[seat] = seats[seat].getName();
+        }
+
+        Match match = new Match(mapGraph, battleOdds, seats, gameSeed(game), maxTurns);
+        int winner = match.play();
+        result.add(names, winner, match.getTurns());
+    }
+
+    /**
+     * Returns the seed of the given game
+     * @param game the game's number
+     * @return the seed
+     */
+    private long gameSeed(int game) {
+        // Mix the bits, so that neighboring games do not get similar seeds
+        long z = seed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays a range of games, which is split until it is small enough
+     */
+    private class SimulationTask extends RecursiveTask<SimulationResult> {
+
+        /**
+         * The version of the task, which is never serialized
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The first game of the range
+         */
+        private final int from;
+
+        /**
+         * The game after the last game of the range
+         */
+        private final int to;
+
+        SimulationTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if(to - from <= GAMES_PER_TASK) {
+                SimulationResult result = new SimulationResult(strategies.size(), maxTurns);
+                for(int game = from; game < to; game++) play(game, result);
+                return result;
+            }
+
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(from, middle);
+            left.fork();
+            SimulationResult result = new SimulationTask(middle, to).compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+}
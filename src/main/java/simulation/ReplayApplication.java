@@ -0,0 +1,71 @@
+package simulation;
+
+import engine.GameEngine;
+import engine.GameState;
+import engine.MapGraph;
+import engine.event.EventJournal;
+import engine.event.GameRecord;
+import engine.event.Replay;
+import exceptions.IllegalCommandException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.ContinentService;
+import service.impl.SimpleContinentService;
+import util.properties.PropertiesManager;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Replays a recorded game without any ui as fast as possible and prints the final state.
+ * Usage: {@code ReplayApplication journal} with the system property {@code map} (default /map/world.map),
+ * which has to be the map of the recorded game
+ */
+public class ReplayApplication {
+
+    /**
+     * The {@link ReplayApplication} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplayApplication.class);
+
+    /**
+     * Starts the replay
+     * @param args the journal of the recorded game
+     * @throws IOException if the map or the journal cannot be read
+     * @throws IllegalCommandException if the map contains an illegal command
+     */
+    public static void main(String[] args) throws IOException, IllegalCommandException {
+        if(args.length < 1) throw new IllegalArgumentException("Usage: ReplayApplication journal");
+
+        PropertiesManager.initialize();
+        GameRecord record = EventJournal.read(Paths.get(args[0]));
+
+        ContinentService continentService = new SimpleContinentService();
+        continentService.getContinents(System.getProperty("map", "/map/world.map"));
+        MapGraph mapGraph = continentService.getMapGraph();
+
+        GameEngine engine = new GameEngine(
+                PropertiesManager.getInt("Game.MaxAttackArmies", "settings"),
+                PropertiesManager.getInt("Game.MaxDefendArmies", "settings")
+        );
+        engine.setMapGraph(mapGraph);
+        for(int i = 0; i < record.getPlayers(); i++) engine.addPlayer();
+
+        LOGGER.info("Replaying " + record.getEvents().size() + " events with the seed " + record.getSeed());
+        long start = System.nanoTime();
+        new Replay(engine, record).run();
+        long nanos = System.nanoTime() - start;
+
+        GameState state = engine.getState();
+        StringBuilder builder = new StringBuilder();
+        builder.append("Replayed ").append(record.getEvents().size()).append(" events in ").append(nanos / 1_000_000).append(" ms\n");
+        builder.append("Phase: ").append(state.getPhase()).append(", player on turn: ").append(state.getCurrentPlayer()).append('\n');
+        for(int player = 0; player < state.getPlayers(); player++) {
+            int armies = 0;
+            for(int country = 0; country < state.getCountries(); country++) armies += engine.getArmies(player, country);
+            builder.append("Player ").append(player).append(record.isComputer(player) ? " (computer)" : "")
+                    .append(": ").append(state.getCountryCount(player)).append(" countries, ").append(armies).append(" armies\n");
+        }
+        System.out.print(builder);
+    }
+}
@@ -0,0 +1,92 @@
+package simulation;
+
+import engine.BattleOdds;
+import engine.MapGraph;
+import engine.ai.MctsStrategy;
+import engine.ai.RandomStrategy;
+import engine.ai.Strategy;
+import exceptions.IllegalCommandException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.ContinentService;
+import service.impl.SimpleContinentService;
+import util.properties.PropertiesManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays a batch of games between computer players without any ui and prints the statistics.
+ * Usage: {@code SimulationApplication [games] [strategy...]} with the system properties
+ * {@code map} (default /map/world.map), {@code seed} (default 0) and {@code maxTurns} (default 1000).
+ * The strategies are {@code random}, {@code randomblitz} and {@code mcts}. The strategy {@code mcts} reads {@code budgetMillis} (default 0), {@code iterations} (default 200)
+ * and {@code rolloutTurns} (default 6)
+ */
+public class SimulationApplication {
+
+    /**
+     * The {@link SimulationApplication} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimulationApplication.class);
+
+    /**
+     * Starts the simulation
+     * @param args the number of games and the strategies of the seats
+     * @throws IOException if the map cannot be read
+     * @throws IllegalCommandException if the map contains an illegal command
+     */
+    public static void main(String[] args) throws IOException, IllegalCommandException {
+        PropertiesManager.initialize();
+
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+        List<Strategy> strategies = new ArrayList<>();
+        for(int i = 1; i < args.length; i++) strategies.add(createStrategy(args[i]));
+        while(strategies.size() < 3) strategies.add(new RandomStrategy());
+
+        // Every simulation reads its own map, so it does not share any state with the ui
+        ContinentService continentService = new SimpleContinentService();
+        continentService.getContinents(System.getProperty("map", "/map/world.map"));
+        MapGraph mapGraph = continentService.getMapGraph();
+
+        BattleOdds battleOdds = new BattleOdds(
+                PropertiesManager.getInt("Game.MaxAttackArmies", "settings"),
+                PropertiesManager.getInt("Game.MaxDefendArmies", "settings"),
+                PropertiesManager.getInt("Game.MaxOddsArmies", "settings")
+        );
+
+        MatchSimulator simulator = new MatchSimulator(
+                mapGraph,
+                battleOdds,
+                strategies,
+                Long.getLong("seed", 0),
+                Integer.getInteger("maxTurns", 1000)
+        );
+
+        LOGGER.info("Simulating " + games + " games on " + mapGraph);
+        System.out.println(simulator.run(games));
+    }
+
+    /**
+     * Creates the strategy with the given name
+     * @param name the strategy's name
+     * @return the strategy
+     */
+    private static Strategy createStrategy(String name) {
+        switch(name.toLowerCase()) {
+            case "random":
+                return new RandomStrategy();
+            case "randomblitz":
+                return new RandomStrategy(true);
+            case "mcts":
+                return new MctsStrategy(
+                        Long.getLong("budgetMillis", 0),
+                        Integer.getInteger("iterations", 200),
+                        Integer.getInteger("rolloutTurns", 6)
+                );
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + name);
+        }
+    }
+}
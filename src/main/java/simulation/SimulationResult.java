@@ -0,0 +1,191 @@
+package simulation;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The statistics of a batch of games. Results of separately played batches can be merged
+ */
+public class SimulationResult {
+
+    /**
+     * The number of played games
+     */
+    private int games;
+
+    /**
+     * The number of games, which ended in a draw
+     */
+    private int draws;
+
+    /**
+     * The number of wins of every seat (indexed by the player's index)
+     */
+    private final int[] seatWins;
+
+    /**
+     * The number of games and wins of every strategy (by the strategy's name)
+     */
+    private final Map<String, int[]> strategyGames;
+
+    /**
+     * The number of games for every length (indexed by the number of turns)
+     */
+    private final int[] lengths;
+
+    /**
+     * The time, which was needed for playing the games, in nanoseconds
+     */
+    private long nanos;
+
+    /**
+     * Creates an empty result
+     * @param seats the number of seats
+     * @param maxTurns the maximum number of turns of a game
+     */
+    public SimulationResult(int seats, int maxTurns) {
+        this.seatWins = new int[seats];
+        this.strategyGames = new LinkedHashMap<>();
+        this.lengths = new int[maxTurns + 1];
+    }
+
+    /**
+     * Adds a played game
+     * @param strategies the name of the strategy of every seat
+     * @param winner the winner's index or -1 for a draw
+     * @param turns the number of played turns
+     */
+    public void add(String[] strategies, int winner, int turns) {
+        games++;
+        lengths[turns]++;
+
+        for(int seat = 0; seat < strategies.length; seat++) {
+            int[] counts = strategyGames.computeIfAbsent(strategies[seat], name -> new int[2]);
+            counts[0]++;
+            if(seat == winner) counts[1]++;
+        }
+
+        if(winner < 0) draws++;
+        else seatWins[winner]++;
+    }
+
+    /**
+     * Adds all games of the given result
+     * @param other the other result
+     */
+    public void merge(SimulationResult other) {
+        games += other.games;
+        draws += other.draws;
+        for(int seat = 0; seat < seatWins.length; seat++) seatWins[seat] += other.seatWins[seat];
+        for(int turns = 0; turns < lengths.length; turns++) lengths[turns] += other.lengths[turns];
+        other.strategyGames.forEach((name, counts) -> {
+            int[] own = strategyGames.computeIfAbsent(name, n -> new int[2]);
+            own[0] += counts[0];
+            own[1] += counts[1];
+        });
+    }
+
+    /**
+     * Returns the number of played games
+     * @return games
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of games, which ended in a draw
+     * @return draws
+     */
+    public int getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the win rate of the given seat
+     * @param seat the player's index
+     * @return the win rate
+     */
+    public double getSeatWinRate(int seat) {
+        return games == 0 ? 0 : (double) seatWins[seat] / games;
+    }
+
+    /**
+     * Returns the win rate of the given strategy
+     * @param strategy the strategy's name
+     * @return the win rate (wins per played seat)
+     */
+    public double getStrategyWinRate(String strategy) {
+        int[] counts = strategyGames.get(strategy);
+        return counts == null || counts[0] == 0 ? 0 : (double) counts[1] / counts[0];
+    }
+
+    /**
+     * Returns the number of turns, which the given share of games did not exceed
+     * @param quantile the share of games (from 0 to 1)
+     * @return the number of turns
+     */
+    public int getLengthQuantile(double quantile) {
+        long needed = (long) Math.ceil(quantile * games);
+        long count = 0;
+        for(int turns = 0; turns < lengths.length; turns++) {
+            count += lengths[turns];
+            if(count >= needed && count > 0) return turns;
+        }
+        return lengths.length - 1;
+    }
+
+    /**
+     * Returns the average number of turns per game
+     * @return the average length
+     */
+    public double getAverageLength() {
+        long sum = 0;
+        for(int turns = 0; turns < lengths.length; turns++) sum += (long) turns * lengths[turns];
+        return games == 0 ? 0 : (double) sum / games;
+    }
+
+    /**
+     * Sets the time, which was needed for playing the games
+     * @param nanos the time in nanoseconds
+     */
+    public void setNanos(long nanos) {
+        this.nanos = nanos;
+    }
+
+    /**
+     * Returns the number of games, which were played per second
+     * @return games per second
+     */
+    public double getGamesPerSecond() {
+        return nanos == 0 ? 0 : games / (nanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Games: %d (%d draws), %.1f games/s%n", games, draws, getGamesPerSecond()));
+        for(int seat = 0; seat < seatWins.length; seat++)
+            builder.append(String.format("Seat %d: %.2f%% wins%n", seat, 100 * getSeatWinRate(seat)));
+        strategyGames.keySet().forEach(name ->
+                builder.append(String.format("%s: %.2f%% wins%n", name, 100 * getStrategyWinRate(name))));
+        builder.append(String.format("Turns: mean %.1f, min %d, median %d, p90 %d, max %d",
+                getAverageLength(), getLengthQuantile(0), getLengthQuantile(0.5), getLengthQuantile(0.9), getLengthQuantile(1)));
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        SimulationResult that = (SimulationResult) o;
+        return games == that.games && draws == that.draws &&
+                Arrays.equals(seatWins, that.seatWins) && Arrays.equals(lengths, that.lengths);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(seatWins) + Arrays.hashCode(lengths);
+    }
+}
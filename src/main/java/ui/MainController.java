@@ -104,10 +104,15 @@ public class MainController {
             // Set the game controllers on key pressed
             gameController.setOnKeyPressed(scene);
 
+            // Stop the game, when the window is closed
+            primaryStage.setOnHidden(event -> gameController.stop());
+
             // Bind the game controller's width and height property to the stage's width and height property
             if(PropertiesManager.getBoolean("window.resizable","window")) {
-                primaryStage.widthProperty().addListener((observable, oldValue, newValue) -> gameController.resize((Double)newValue, primaryStage.getHeight()));
-                primaryStage.heightProperty().addListener((observable, oldValue, newValue) -> gameController.resize(primaryStage.getWidth(), (Double)newValue));
+                // Both listeners only request a resize, which is done once before the next layout
+                gameController.setupResize(scene);
+                primaryStage.widthProperty().addListener((observable, oldValue, newValue) -> gameController.requestResize((Double)newValue, primaryStage.getHeight()));
+                primaryStage.heightProperty().addListener((observable, oldValue, newValue) -> gameController.requestResize(primaryStage.getWidth(), (Double)newValue));
             }
         }
 
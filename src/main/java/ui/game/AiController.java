@@ -0,0 +1,150 @@
+package ui.game;
+
+import engine.Dice;
+import engine.GameEngine;
+import engine.GamePhase;
+import engine.SplitMix64;
+import engine.ai.CancellationToken;
+import engine.ai.MctsStrategy;
+import engine.ai.RandomStrategy;
+import engine.ai.Strategy;
+import engine.event.GameEvent;
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import util.properties.PropertiesManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The controller class for the turns of the computer players.
+ * A turn is played on a copy of the engine in a background thread, so that the ui stays responsive while the
+ * computer thinks. Afterwards all changes are applied to the real engine at once on the JavaFX application thread.
+ * The computer players have their own random generator, so that the dice of the real engine are only thrown
+ * by the human players and a recorded game can be replayed
+ */
+class AiController {
+
+    /**
+     * The {@link AiController} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(AiController.class);
+
+    /**
+     * The thread, on which the computer players think
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The strategy of the computer players
+     */
+    private final Strategy strategy;
+
+    /**
+     * The random generator of the computer players
+     */
+    private SplitMix64 random;
+
+    /**
+     * The token of the running turn or null, if no turn is running
+     */
+    private CancellationToken token;
+
+    /**
+     * Creates the controller with the strategy of the settings
+     */
+    AiController() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ai");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if(PropertiesManager.getString("Ai.Strategy", "settings").equalsIgnoreCase("random")) strategy = new RandomStrategy();
+        else strategy = new MctsStrategy(
+                PropertiesManager.getInt("Ai.BudgetMillis", "settings"),
+                PropertiesManager.getInt("Ai.Iterations", "settings"),
+                PropertiesManager.getInt("Ai.RolloutTurns", "settings")
+        );
+        random = new SplitMix64();
+    }
+
+    /**
+     * Seeds the random generator of the computer players for a new game
+     * @param seed the seed of the game
+     */
+    void setSeed(long seed) {
+        // Use another stream than the dice, which are seeded with the same seed
+        random = new SplitMix64(seed).split();
+    }
+
+    /**
+     * Returns the random generator of the computer players
+     * @return random
+     */
+    SplitMix64 getRandom() {
+        return random;
+    }
+
+    /**
+     * Checks if a computer player is thinking
+     * @return true, if a turn is running; otherwise false
+     */
+    boolean isRunning() {
+        return token != null;
+    }
+
+    /**
+     * Plays the current player's turn (army placement and attacks) in the background. A player without reinforcements
+     * starts directly with the attacks. Must be called on the JavaFX application thread
+     * @param engine the real engine
+     * @param onFinished will be run on the JavaFX application thread, after the changes were applied
+     */
+    void playTurn(GameEngine engine, Runnable onFinished) {
+        cancel();
+
+        CancellationToken turnToken = new CancellationToken();
+        token = turnToken;
+
+        // Copy the engine on this thread, so that the background thread never touches the real engine
+        int player = engine.getCurrentPlayer();
+        GameEngine copy = engine.copy(new Dice(random.split(), engine.getMaxAttackArmies(), engine.getMaxDefendArmies()));
+
+        // Collect the events of the turn, so that they can be published by the real engine
+        List<GameEvent> events = new ArrayList<>();
+        copy.addEventListener(events::add);
+
+        executor.execute(() -> {
+            try {
+                while(copy.getPhase() == GamePhase.ARMY_PLACEMENT && !turnToken.isCancelled())
+                    if(!copy.place(strategy.place(copy, player, turnToken))) break;
+                if(copy.getPhase() == GamePhase.MOVE_AND_ATTACK) strategy.attack(copy, player, turnToken);
+            } catch (RuntimeException e) {
+                LOGGER.error("The computer player failed: " + e.getMessage(), e);
+            }
+
+            // Apply the whole turn at once
+            Platform.runLater(() -> {
+                if(turnToken.isCancelled()) return;
+                token = null;
+
+                // The copy only moves forward, so an earlier phase means, that the engine has moved on in the meantime.
+                // Such a turn is discarded, so that it never takes the engine back to an earlier phase
+                if(copy.getPhase().ordinal() < engine.getPhase().ordinal()) LOGGER.warn("The turn of the computer player is outdated");
+                else engine.applyChanges(copy.getState(), events);
+                onFinished.run();
+            });
+        });
+    }
+
+    /**
+     * Cancels the running turn, whose changes will not be applied anymore
+     */
+    void cancel() {
+        if(token != null) token.cancel();
+        token = null;
+    }
+}
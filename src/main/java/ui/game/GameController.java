@@ -3,6 +3,17 @@ package ui.game;
 import dto.Continent;
 import dto.Country;
 import dto.Player;
+import engine.GameListener;
+import engine.GamePhase;
+import engine.GameState;
+import engine.SaveGame;
+import engine.SplitMix64;
+import engine.event.EventJournal;
+import engine.event.GameRecord;
+import engine.event.Replay;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.fxml.FXML;
@@ -10,11 +21,18 @@ import javafx.geometry.Point2D;
 import javafx.scene.Group;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Line;
+import javafx.scene.shape.Polygon;
 import javafx.scene.text.Text;
+import javafx.scene.transform.Scale;
+import javafx.scene.transform.Translate;
+import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import service.ContinentService;
@@ -26,19 +44,24 @@ import ui.game.phase.impl.AcquisitionPhase;
 import ui.game.phase.impl.ArmyPlacementPhase;
 import ui.game.phase.impl.EndRoundPhase;
 import ui.game.phase.impl.MoveAndAttackPhase;
+import util.dialog.DialogHelper;
 import util.fxml.FXMLHelper;
 import util.properties.PropertiesManager;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.SplittableRandom;
 
 /**
- * The controller, which handles the actual game logic
+ * The controller, which handles the actual game logic.
+ * It listens to the game engine and updates the ui, as soon as the game's state changes
  */
-public class GameController {
+public class GameController implements GameListener {
 
     /**
      * The {@link GameController} logger
@@ -55,6 +78,16 @@ public class GameController {
      */
     private Map<String, Text> capitalMap;
 
+    /**
+     * The indices of the countries, whose owner or armies changed since their {@link Text} was updated
+     */
+    private BitSet dirtyCountries;
+
+    /**
+     * Indicates, if the {@link Text} objects are already shown (they are hidden during the acquisition)
+     */
+    private boolean capitalsShown;
+
     /**
      * The pane containing the game elements (containing gameBottom and gameContainer)
      */
@@ -119,11 +152,76 @@ public class GameController {
      */
     private InformationController informationController;
 
+    /**
+     * The controller, which plays the turns of the computer players in the background
+     */
+    private AiController aiController;
+
+    /**
+     * True, if the turn of a computer player will start, as soon as the engine has begun the turn
+     */
+    private boolean aiTurnPending;
+
+    /**
+     * The journal, which records the current game, or null
+     */
+    private EventJournal journal;
+
+    /**
+     * The replay, which is shown instead of a new game, or null
+     */
+    private Replay replay;
+
     /**
      * Sets the selected country
      */
     private Country selectedCountry;
 
+    /**
+     * The scale of the game group, if the window is resized with transforms
+     */
+    private Scale gameScale;
+
+    /**
+     * The translation of the game group, if the window is resized with transforms
+     */
+    private Translate gameTranslate;
+
+    /**
+     * The group of the lines between neighbors, which lies below all patches, or null, if it is not drawn yet
+     */
+    private Group lineGroup;
+
+    /**
+     * The lines between neighbors (one line per pair of neighbors)
+     */
+    private List<Line> lines;
+
+    /**
+     * The second half of every line, which wraps around the map, or null (one entry per line)
+     */
+    private List<Line> wrapLines;
+
+    /**
+     * The two countries of every line, one line after the other
+     */
+    private List<Country> lineCountries;
+
+    /**
+     * The canvas, on which the map is drawn instead of the patches, or null, if the patches are shown as nodes
+     */
+    private MapCanvas mapCanvas;
+
+    /**
+     * The country, on which the mouse was pressed on the canvas, or null
+     */
+    private Country pressedCountry;
+
+    /**
+     * The scheduler, which coalesces the resize requests of the window
+     */
+    private ResizeScheduler resizeScheduler;
+
     /**
      * The window's base width
      */
@@ -142,21 +240,45 @@ public class GameController {
         // Load the game's content
         loaderController = new LoaderController("/map/world.map");      // TODO: Let the user decide which map to use!
 
+        // The map is either drawn onto a canvas or every patch is a node
+        boolean canvasRenderer = "canvas".equalsIgnoreCase(PropertiesManager.getString("window.renderer", "window"));
+
         // TODO Optional: Maybe toggle colors?
         loaderController.setColors();
-        loaderController.darkenPatchesOnMouseOver();
+        if(!canvasRenderer) loaderController.darkenPatchesOnMouseOver();
 
         continentList = loaderController.getContinentList();
 
         currentPhase = new AcquisitionPhase(this);
         capitalMap = new HashMap<>();
+        dirtyCountries = new BitSet();
+        aiController = new AiController();
 
         // Get all relevant services
         playerService = SimplePlayerService.getSimplePlayerService();
         continentService = SimpleContinentService.getContinentService();
 
-        continentService.setupContinentService(gameGroup);
-        redrawLines(BASE_WIDTH);
+        continentService.setupContinentService(canvasRenderer ? null : gameGroup);
+        if(canvasRenderer) {
+            mapCanvas = new MapCanvas(continentList, BASE_WIDTH, BASE_HEIGHT);
+            continentList.forEach(continent -> continent.getCountries().forEach(country -> mapCanvas.setColor(country.getId(), continent.getColor())));
+            gameGroup.getChildren().add(mapCanvas.getCanvas());
+        }
+        else redrawLines(BASE_WIDTH);
+
+        // The whole group can be resized with two transforms, so the patches keep their coordinates
+        if(mapCanvas == null && "transform".equalsIgnoreCase(PropertiesManager.getString("window.resize.mode", "window"))) {
+            gameScale = new Scale(1, 1);
+            gameTranslate = new Translate(0, 0);
+            gameGroup.getTransforms().addAll(gameScale, gameTranslate);
+        }
+
+        // The texts of the capitals are needed before the first resize, which might never happen
+        resetCapitalText();
+
+        // Register all countries in the game engine and listen to its changes
+        playerService.setupPlayerService(continentList, continentService.getMapGraph());
+        playerService.getBoard().getEngine().addListener(this);
 
         // Initialize the bottom pane
         try {
@@ -170,8 +292,8 @@ public class GameController {
         // Get the labels and bind their text properties to the respective properties
         gameBottom.getChildren().add(informationController.getView());
 
-        // Set the hover property
-        continentList.forEach(continent -> continent.getCountries().forEach(country -> {
+        // Set the hover property (the canvas shows the country under the mouse itself)
+        if(mapCanvas == null) continentList.forEach(continent -> continent.getCountries().forEach(country -> {
             // Set the hover property: If a player hovers over a country, display the name in the information pane
             country.getPatches().forEach(
                     patch -> patch.hoverProperty().addListener(
@@ -224,6 +346,154 @@ public class GameController {
         informationController.phaseTextProperty().bindBidirectional(phaseProperty);
 
         start();
+
+        // The recorded game has to be read first, as the journal could overwrite its file
+        GameRecord record = readReplay();
+        startRecording();
+        if(record != null) startReplay(record);
+    }
+
+    /**
+     * Seeds the dice and the computer players for a new game and starts a new journal, if a file is configured.
+     * A seed of 0 in the settings means, that every game gets a random seed
+     */
+    private void startRecording() {
+        long seed = Long.parseLong(PropertiesManager.getString("Game.Seed", "settings").trim());
+        if(seed == 0) seed = new SplittableRandom().nextLong();
+        LOGGER.info("Game seed: " + seed);
+
+        playerService.getBoard().getEngine().setSeed(seed);
+        aiController.setSeed(seed);
+        stopRecording();
+
+        String path = PropertiesManager.getString("Game.Journal", "settings").trim();
+        if(path.isEmpty()) return;
+
+        List<Player> players = playerService.getPlayers();
+        long computerPlayers = 0;
+        for(int i = 0; i < players.size(); i++) if(players.get(i).isAi()) computerPlayers |= 1L << i;
+
+        try {
+            journal = new EventJournal(Paths.get(path), seed, players.size(), computerPlayers);
+            playerService.getBoard().getEngine().addEventListener(journal);
+        } catch (IOException e) {
+            LOGGER.error("Could not create the journal " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the game, e.g. when the window is closed, so that the journal writes all events
+     */
+    public void stop() {
+        stopRecording();
+    }
+
+    /**
+     * Closes the journal of the current game, if there is one
+     */
+    private void stopRecording() {
+        if(journal != null) {
+            playerService.getBoard().getEngine().removeEventListener(journal);
+            try {
+                journal.close();
+            } catch (IOException e) {
+                LOGGER.error("Could not close the journal: " + e.getMessage());
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * Saves the game into the file of the settings
+     */
+    private void saveGame() {
+        String path = PropertiesManager.getString("Game.SaveFile", "settings").trim();
+        try {
+            // The game and its journal continue unchanged, a loaded game continues with the same dice
+            SaveGame.save(playerService.getBoard().getEngine(), aiController.getRandom(), Paths.get(path));
+        } catch (IOException e) {
+            LOGGER.error("Could not save the game: " + e.getMessage());
+            DialogHelper.createErrorDialog(e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the game from the file of the settings
+     */
+    private void loadGame() {
+        String path = PropertiesManager.getString("Game.SaveFile", "settings").trim();
+        try {
+            SaveGame.load(playerService.getBoard().getEngine(), aiController.getRandom(), Paths.get(path));
+        } catch (IOException e) {
+            LOGGER.error("Could not load the game: " + e.getMessage());
+            DialogHelper.createErrorDialog(e.getMessage());
+            return;
+        }
+
+        // The journal cannot be replayed from the start anymore
+        stopRecording();
+
+        // The free countries have changed
+        if(playerService.getBoard().getEngine().getPhase() == GamePhase.ACQUISITION) setPhase(new AcquisitionPhase(this));
+        else showArmiesOnCountries();
+    }
+
+    /**
+     * Reads the recorded game, which should be replayed, if a file is configured
+     * @return the recorded game or null
+     */
+    private GameRecord readReplay() {
+        String path = PropertiesManager.getString("Game.Replay", "settings").trim();
+        if(path.isEmpty()) return null;
+
+        try {
+            return EventJournal.read(Paths.get(path));
+        } catch (IOException e) {
+            LOGGER.error("Could not read the replay " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Replays the given game with one action per step, while the input of the players is ignored
+     * @param record the recorded game
+     */
+    private void startReplay(GameRecord record) {
+        try {
+            replay = new Replay(playerService.getBoard().getEngine(), record);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Could not replay the game: " + e.getMessage());
+            return;
+        }
+
+        Timeline timeline = new Timeline();
+        timeline.getKeyFrames().add(new KeyFrame(Duration.millis(Math.max(1, PropertiesManager.getInt("Game.ReplayDelayMillis", "settings"))), event -> {
+            try {
+                if(!replay.step()) timeline.stop();
+            } catch (IllegalStateException e) {
+                LOGGER.error(e.getMessage());
+                timeline.stop();
+            }
+            if(playerService.getBoard().getEngine().getPhase() != GamePhase.ACQUISITION) showArmiesOnCountries();
+        }));
+        timeline.setCycleCount(Timeline.INDEFINITE);
+        timeline.play();
+    }
+
+    /**
+     * Checks if the input of the players has to be ignored, because a computer player is thinking or a game is replayed
+     * @return true, if the input is ignored; otherwise false
+     */
+    private boolean isBusy() {
+        return aiController.isRunning() || aiTurnPending || replay != null;
+    }
+
+    /**
+     * Returns the random generator of the computer players
+     * @return the random generator
+     */
+    public SplitMix64 getAiRandom() {
+        return aiController.getRandom();
     }
 
     /**
@@ -232,15 +502,23 @@ public class GameController {
     private void start(){
 
         // Start the game
-        continentList.forEach(continent -> continent.getCountries().forEach(country -> {
+        if(mapCanvas != null) setupCanvasInput();
+        else continentList.forEach(continent -> continent.getCountries().forEach(country -> {
             country.getPatches().forEach(patch -> {
 
+                // The player has to wait, while a computer player is thinking or a game is replayed
                 // CLICKED
-                patch.setOnMouseClicked(event -> currentPhase.click(country));
+                patch.setOnMouseClicked(event -> {
+                    if(!isBusy()) currentPhase.click(country);
+                });
 
                 // DRAGGED
-                patch.setOnDragDetected(event -> currentPhase.dragDetect(country));
-                patch.setOnMouseReleased(event -> currentPhase.dragDrop(event.getX(), event.getY(), country));
+                patch.setOnDragDetected(event -> {
+                    if(!isBusy()) currentPhase.dragDetect(country);
+                });
+                patch.setOnMouseReleased(event -> {
+                    if(!isBusy()) currentPhase.dragDrop(event.getX(), event.getY(), country);
+                });
 
             });
         }));
@@ -251,34 +529,130 @@ public class GameController {
             Player currentPlayer = playerService.getCurrentPlayer();
             LOGGER.info("Current " + PropertiesManager.getString("Game.Player", "lang") +": " + currentPlayer.getName());
 
-            // Define what to do, if it's the computer's turn
-            if(currentPlayer.isAi()) {
-                LOGGER.info("Current " + PropertiesManager.getString("Game.Player", "lang") + " isAi");
-
-                // Define what to do on ArmyPlacement
-                if (currentPhase.getClass() == ArmyPlacementPhase.class) {
-                    while(currentPlayer.getArmies() > 0) {
-                        // Place armies in random countries
-                        Country randomCountry = currentPlayer.getCountries().get((int) (Math.random() * currentPlayer.getCountries().size()));
-                        currentPhase.click(randomCountry);
-                    }
-                }
-
-                // Define what to do on MoveAndAttack
-                if (currentPhase.getClass() == MoveAndAttackPhase.class) {
-                    currentPlayer.getCountries().forEach(country -> {
-                        // Detect the dragging
-                        currentPhase.dragDetect(country);
-                        country.getNeighbors().forEach(
-                                neighbor -> currentPhase.dragDrop(neighbor.getCapital().getX(), neighbor.getCapital().getY(), country)
-                        );
-                    });
-                    new EndRoundPhase(this);
-                }
+            // Define what to do, if it's the computer's turn: the whole turn starts with the army placement.
+            // The engine may still switch to the move and attack phase in the same turn, so the turn is played afterwards
+            if(currentPlayer.isAi() && currentPhase.getClass() == ArmyPlacementPhase.class && !isBusy()) {
+                aiTurnPending = true;
+                Platform.runLater(() -> startAiTurn(currentPlayer));
             }
         }));
     }
 
+    /**
+     * Lets the computer player play its turn, after the engine has begun the turn
+     * @param player the computer player
+     */
+    private void startAiTurn(Player player) {
+        aiTurnPending = false;
+
+        // The game could have been restarted or loaded in the meantime
+        GamePhase phase = playerService.getBoard().getEngine().getPhase();
+        if(isBusy() || playerService.getCurrentPlayer() != player || (phase != GamePhase.ARMY_PLACEMENT && phase != GamePhase.MOVE_AND_ATTACK)) return;
+
+        LOGGER.info("Current " + PropertiesManager.getString("Game.Player", "lang") + " isAi");
+        aiController.playTurn(playerService.getBoard().getEngine(), () -> finishAiTurn(player));
+    }
+
+    /**
+     * Lets the canvas handle the mouse like the patches would. The countries are found with the continent service's
+     * index, so the same country gets the same events as its patches in the other renderer
+     */
+    private void setupCanvasInput() {
+        Canvas canvas = mapCanvas.getCanvas();
+
+        // HOVERED
+        canvas.setOnMouseMoved(event -> hoverCountry(pickCountry(event)));
+        canvas.setOnMouseExited(event -> hoverCountry(null));
+
+        // The player has to wait, while a computer player is thinking or a game is replayed
+        // CLICKED (released on the same country, on which the mouse was pressed)
+        canvas.setOnMousePressed(event -> pressedCountry = pickCountry(event));
+        canvas.setOnMouseClicked(event -> {
+            if(pressedCountry != null && pressedCountry == pickCountry(event) && !isBusy()) currentPhase.click(pressedCountry);
+        });
+
+        // DRAGGED
+        canvas.setOnDragDetected(event -> {
+            if(pressedCountry != null && !isBusy()) currentPhase.dragDetect(pressedCountry);
+        });
+        canvas.setOnMouseReleased(event -> {
+            if(pressedCountry != null && !isBusy())
+                currentPhase.dragDrop(mapCanvas.toMapX(event.getX()), mapCanvas.toMapY(event.getY()), pressedCountry);
+        });
+    }
+
+    /**
+     * Returns the country under the mouse on the canvas
+     * @param event the mouse event of the canvas
+     * @return the country or null
+     */
+    private Country pickCountry(MouseEvent event) {
+        return continentService.getCountryAt(mapCanvas.toMapX(event.getX()), mapCanvas.toMapY(event.getY()));
+    }
+
+    /**
+     * Darkens the given country on the canvas and displays its name in the information pane
+     * @param country the country under the mouse or null
+     */
+    private void hoverCountry(Country country) {
+        mapCanvas.setHovered(country == null ? -1 : country.getId());
+        informationController.countryTextProperty().setValue(country == null ? "" : country.getName());
+    }
+
+    /**
+     * Finishes the turn of a computer player, after its changes were applied to the engine
+     * @param player the computer player
+     */
+    private void finishAiTurn(Player player) {
+        if(currentPhase.getClass() == MoveAndAttackPhase.class) ((MoveAndAttackPhase) currentPhase).finishMove(player);
+        else showArmiesOnCountries();
+
+        // The game could have been restarted after the computer has won
+        GamePhase phase = playerService.getBoard().getEngine().getPhase();
+        if(playerService.getCurrentPlayer() != player) return;
+
+        // A computer player, which could not place its armies, keeps them for the next turn instead of blocking the game
+        if(phase == GamePhase.ARMY_PLACEMENT) LOGGER.warn(player.getName() + " has not placed all armies");
+        if(phase == GamePhase.ARMY_PLACEMENT || phase == GamePhase.MOVE_AND_ATTACK) new EndRoundPhase(this);
+    }
+
+    @Override
+    public void ownerChanged(int countryIndex, int owner) {
+        Country country = playerService.getBoard().getCountry(countryIndex);
+
+        // Use the owner's color or the continent's color, if the country is free again
+        Color color = Color.WHITE;
+        if(owner != GameState.NONE) color = playerService.getBoard().getPlayer(owner).getColor();
+        else for(Continent continent : continentList) if(continent.getCountries().contains(country)) color = continent.getColor();
+
+        if(mapCanvas != null) mapCanvas.setColor(countryIndex, color);
+        else for(Polygon patch : country.getPatches()) patch.setFill(color);
+        dirtyCountries.set(countryIndex);
+    }
+
+    @Override
+    public void armiesChanged(int countryIndex, int armies) {
+        dirtyCountries.set(countryIndex);
+    }
+
+    @Override
+    public void phaseChanged(GamePhase phase) {
+        switch(phase) {
+            case ACQUISITION:
+                // A new game has started
+                aiController.cancel();
+                startRecording();
+                setPhase(new AcquisitionPhase(this));
+                break;
+            case ARMY_PLACEMENT:
+                setPhase(new ArmyPlacementPhase(this));
+                break;
+            case MOVE_AND_ATTACK:
+                setPhase(new MoveAndAttackPhase(this));
+                break;
+        }
+    }
+
     /**
      * Shows armies for the player on the screen
      * @param player the player which is used to display army information
@@ -319,6 +693,14 @@ public class GameController {
         return playerService;
     }
 
+    /**
+     * Returns the {@link GameController}'s continentService
+     * @return {@link ContinentService}
+     */
+    public ContinentService getContinentService() {
+        return continentService;
+    }
+
     public Map<String, Text> getCapitalMap() {
         return capitalMap;
     }
@@ -327,6 +709,13 @@ public class GameController {
      * Resets the text of the capitals (for a new game)
      */
     public void resetCapitalText() {
+        // The canvas draws the army counts itself
+        if(mapCanvas != null) {
+            mapCanvas.clearLabels();
+            capitalsShown = false;
+            return;
+        }
+
         // Create the capital text objects and put them into the map
         continentList.forEach(continent -> continent.getCountries().forEach(country -> {
 
@@ -343,21 +732,41 @@ public class GameController {
 
             gameGroup.getChildren().add(text);
         }));
+        capitalsShown = false;
     }
 
     /**
-     * Draws all armies for every player (in black)
+     * Draws the armies for every player (in black).
+     * The first call draws every country, afterwards only the countries, whose owner or armies changed, are updated
      */
     public void showArmiesOnCountries(){
-        continentList.forEach(continent -> continent.getCountries().forEach(country -> {
-            Text text = capitalMap.get(country.getBaseName());
+        if(!capitalsShown) {
+            continentList.forEach(continent -> continent.getCountries().forEach(country -> {
+                Text text = capitalMap.get(country.getBaseName());
+                showArmies(playerService.getBoard().indexOf(country), text);
+                if(text != null) text.setVisible(true);
+            }));
+            capitalsShown = true;
+        }
+        else {
+            for(int i = dirtyCountries.nextSetBit(0); i >= 0; i = dirtyCountries.nextSetBit(i + 1))
+                showArmies(i, capitalMap.get(playerService.getBoard().getCountry(i).getBaseName()));
+        }
+        dirtyCountries.clear();
+    }
 
-            playerService.getPlayers().forEach(player -> {
-                if(player.hasCountry(country)) text.setText(player.getArmies(country) + "");
-            });
+    /**
+     * Writes the armies of the given country into its {@link Text} or onto the canvas, if the country has an owner
+     * @param countryIndex the country's index
+     * @param text the country's text
+     */
+    private void showArmies(int countryIndex, Text text) {
+        GameState state = playerService.getBoard().getEngine().getState();
+        if(state.getOwner(countryIndex) == GameState.NONE) return;
 
-            text.setVisible(true);
-        }));
+        String armies = Integer.toString(state.getArmies(countryIndex));
+        if(mapCanvas != null) mapCanvas.setLabel(countryIndex, armies);
+        else if(text != null) text.setText(armies);
     }
 
     /**
@@ -374,12 +783,49 @@ public class GameController {
      * @param scene the Scene object for registering the key
      */
     public void setOnKeyPressed(Scene scene){
-        scene.setOnKeyPressed(event -> currentPhase.setOnKeyPressed(event));
+        scene.setOnKeyPressed(event -> {
+            if(isBusy()) return;
+
+            // Save and load the game with the shortcuts, everything else belongs to the phase
+            if(event.isShortcutDown() && event.getCode() == KeyCode.S) saveGame();
+            else if(event.isShortcutDown() && event.getCode() == KeyCode.L) loadGame();
+            else currentPhase.setOnKeyPressed(event);
+        });
+    }
+
+    /**
+     * Lets the window's size changes resize the game at most once per pulse of the given scene.
+     * Only a resize of the points is expensive, so only this one waits for the configured debounce
+     * @param scene the scene of the window
+     */
+    public void setupResize(Scene scene) {
+        long debounceMillis = gameScale != null || mapCanvas != null ? 0 : PropertiesManager.getInt("window.resize.debounceMillis", "window");
+        resizeScheduler = new ResizeScheduler(scene, this::resize, debounceMillis);
+    }
+
+    /**
+     * Requests a resize of the game, which is done with the next pass of the {@link ResizeScheduler}
+     * @param newWidth the window's new width
+     * @param newHeight the window's new height
+     */
+    public void requestResize(double newWidth, double newHeight) {
+        if(resizeScheduler == null) resize(newWidth, newHeight);
+        else resizeScheduler.request(newWidth, newHeight);
+    }
+
+    /**
+     * Returns the number of resize requests, which were coalesced with other requests
+     * @return the number of skipped resize passes
+     */
+    public long getSkippedResizes() {
+        return resizeScheduler == null ? 0 : resizeScheduler.getSkipped();
     }
 
     /**
      * TODO: Move this method somewhere else...
-     * Resize all patches in the game
+     * Resize all patches in the game. The canvas renderer only paints the map again. With the resize mode 'transform'
+     * only the transforms of the game group change, otherwise the points of every patch, the lines and the capitals
+     * are calculated again
      * @param newWidth the window's new width
      * @param newHeight the window's new height
      */
@@ -390,6 +836,24 @@ public class GameController {
             double factorX = newWidth / BASE_WIDTH;
             double factorY = newHeight / BASE_HEIGHT;
 
+            // The canvas only paints the map again with the new factors
+            if(mapCanvas != null) {
+                mapCanvas.resize(factorX, factorY);
+                return;
+            }
+
+            // Translate and scale the whole group like the points of every patch would be
+            if(gameScale != null) {
+                gameTranslate.setX(factorX);
+                gameTranslate.setY(factorY);
+                gameScale.setX(factorX);
+                gameScale.setY(factorY);
+
+                // The scaled patches do not need more points than the screen can show
+                continentService.setLevelOfDetail(factorX, factorY);
+                return;
+            }
+
             // Scale the patches according to the stage size and only if it is allowed
             continentService.resizePatches(factorX, factorY);
             redrawLines(newWidth);
@@ -416,37 +880,71 @@ public class GameController {
     }
 
     /**
-     * Draws the lines, connecting the neighboring countries
+     * Draws the lines, connecting the neighboring countries. The lines are created once per pair of neighbors in their
+     * own group below the patches, afterwards only their end points are moved. A line, which wraps around the map,
+     * gets a second line from the neighbor to its border
      * @param width the window's current width
      */
     private void redrawLines(double width) {
-        // Remove all lines, which might be present due to already drawn once
-        gameGroup.getChildren().removeAll(gameGroup.getChildren().stream()
-                .filter(n -> n instanceof Line)
-                .collect(Collectors.toList()));
-
-        // Add lines, which connect the countries with their neighbors
-        continentList.forEach(continent -> continent.getCountries().forEach(country -> {
+        if(lineGroup == null) {
+            lineGroup = new Group();
+            lines = new ArrayList<>();
+            wrapLines = new ArrayList<>();
+            lineCountries = new ArrayList<>();
+
+            // Every pair of neighbors gets one line, even if a country belongs to more than one continent
+            BitSet drawn = new BitSet();
+            continentList.forEach(continent -> continent.getCountries().forEach(country -> {
+                if(drawn.get(country.getId())) return;
+                drawn.set(country.getId());
+
+                country.getNeighbors().forEach(neighbor -> {
+                    if(drawn.get(neighbor.getId())) return;
+                    lines.add(new Line());
+                    wrapLines.add(null);
+                    lineCountries.add(country);
+                    lineCountries.add(neighbor);
+                });
+            }));
+
+            // The group is added at index 0, so that all other elements will be drawn over it
+            lineGroup.getChildren().addAll(lines);
+            gameGroup.getChildren().add(0, lineGroup);
+        }
 
-            // Draw the line between the country and the country's neighbors
-            country.getNeighbors().forEach(neighbor -> {
-                Line line;
-                // Check if the line length would be greater than the half of the window width
-                // If this is the case, then just draw the line to 0 or window width
-                if(Math.abs((country.getCapital().getX()-neighbor.getCapital().getX())) > width/2){
-                    // Check if the start position is on the left or right half of the screen and set the correct end x position
-                    if(country.getCapital().getX() < width/2)
-                        line = new Line(country.getCapital().getX(), country.getCapital().getY(), 0, neighbor.getCapital().getY());
-                    else
-                        line = new Line(country.getCapital().getX(), country.getCapital().getY(), width, neighbor.getCapital().getY());
-                }
-                else
-                    line = new Line(country.getCapital().getX(), country.getCapital().getY(), neighbor.getCapital().getX(), neighbor.getCapital().getY());
-
-                // Add the lines at index 0, so that all other elements will be drawn over it
-                gameGroup.getChildren().add(0, line);
-            });
-        }));
+        for(int i = 0; i < lines.size(); i++) {
+            Point2D from = lineCountries.get(2 * i).getCapital();
+            Point2D to = lineCountries.get(2 * i + 1).getCapital();
+            Line line = lines.get(i);
+
+            line.setStartX(from.getX());
+            line.setStartY(from.getY());
+            line.setEndY(to.getY());
+
+            // Check if the line length would be greater than the half of the window width
+            // If this is the case, then just draw the line to 0 or window width
+            boolean wraps = Math.abs(from.getX() - to.getX()) > width/2;
+            if(wraps) {
+                // Check if the start position is on the left or right half of the screen and set the correct end x position
+                line.setEndX(from.getX() < width/2 ? 0 : width);
+            }
+            else line.setEndX(to.getX());
+
+            // The neighbor draws the other half of a wrapping line to its own border
+            Line back = wrapLines.get(i);
+            if(wraps && back == null) {
+                back = new Line();
+                wrapLines.set(i, back);
+                lineGroup.getChildren().add(back);
+            }
+            if(back != null) {
+                back.setVisible(wraps);
+                back.setStartX(to.getX());
+                back.setStartY(to.getY());
+                back.setEndX(to.getX() < width/2 ? 0 : width);
+                back.setEndY(from.getY());
+            }
+        }
     }
 
     public Parent getView(){
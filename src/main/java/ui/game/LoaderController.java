@@ -26,8 +26,9 @@ class LoaderController {
      */
     LoaderController(String map){
 
-        // Try to get the default map
-        try { continentList = SimpleContinentService.getContinentService().getContinents(map); }
+        // Try to get the default map, whose patches are simplified with the configured tolerance
+        double tolerance = Double.parseDouble(PropertiesManager.getString("Map.SimplifyTolerance", "settings"));
+        try { continentList = SimpleContinentService.getContinentService().getContinents(map, tolerance); }
         catch (IOException | IllegalCommandException e) {
             DialogHelper.createErrorDialog(e.getMessage());
             // Exit the program
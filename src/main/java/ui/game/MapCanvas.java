@@ -0,0 +1,461 @@
+package ui.game;
+
+import dto.Continent;
+import dto.Country;
+import javafx.application.Platform;
+import javafx.geometry.Point2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Polygon;
+import javafx.scene.text.Font;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Draws the map onto a single {@link Canvas} instead of showing a node for every patch, line and text.
+ * The geometry is copied into primitive arrays in the coordinates of the map, and the canvas is resized with the
+ * same translation and scale as the patches would be. Every change marks its country as dirty and only the region of
+ * the dirty countries is painted again, at most once for all changes of the same event
+ */
+class MapCanvas {
+
+    /**
+     * The color of the borders of the patches
+     */
+    private static final Color BORDER_COLOR = Color.gray(0.25);
+
+    /**
+     * The color of the lines between neighbors
+     */
+    private static final Color LINE_COLOR = Color.BLACK;
+
+    /**
+     * The color of the army counts
+     */
+    private static final Color LABEL_COLOR = Color.BLACK;
+
+    /**
+     * The space around a dirty region, which is painted as well, so no antialiased edge is left behind
+     */
+    private static final double MARGIN = 2;
+
+    /**
+     * The canvas, on which the map is drawn
+     */
+    private final Canvas canvas;
+
+    /**
+     * The width of the map
+     */
+    private final double mapWidth;
+
+    /**
+     * The height of the map
+     */
+    private final double mapHeight;
+
+    /**
+     * The coordinates of every patch as x, y pairs
+     */
+    private final double[][] patches;
+
+    /**
+     * The country of every patch
+     */
+    private final int[] patchCountry;
+
+    /**
+     * The bounding boxes of all patches: min x, min y, max x and max y of every patch one after the other
+     */
+    private final double[] patchBoxes;
+
+    /**
+     * The bounding boxes of all countries including their labels (indexed by the country's index)
+     */
+    private final double[] countryBoxes;
+
+    /**
+     * The position of every country's capital as x, y pairs (indexed by the country's index)
+     */
+    private final double[] capitals;
+
+    /**
+     * The two countries of every line between neighbors, one line after the other
+     */
+    private final int[] lines;
+
+    /**
+     * The fill color of every country (indexed by the country's index)
+     */
+    private final Color[] colors;
+
+    /**
+     * The army count of every country or null, if it is not shown (indexed by the country's index)
+     */
+    private final String[] labels;
+
+    /**
+     * The countries, which have to be painted again
+     */
+    private final BitSet dirty;
+
+    /**
+     * The font of the army counts
+     */
+    private final Font font;
+
+    /**
+     * True, if the whole map has to be painted again
+     */
+    private boolean dirtyAll;
+
+    /**
+     * True, if a paint is already scheduled
+     */
+    private boolean scheduled;
+
+    /**
+     * The country under the mouse or -1
+     */
+    private int hovered = -1;
+
+    /**
+     * The factor in x direction, with which the map is scaled
+     */
+    private double factorX = 1;
+
+    /**
+     * The factor in y direction, with which the map is scaled
+     */
+    private double factorY = 1;
+
+    /**
+     * The translation in x direction, which is applied before the scale
+     */
+    private double translateX;
+
+    /**
+     * The translation in y direction, which is applied before the scale
+     */
+    private double translateY;
+
+    /**
+     * Copies the geometry of the given continents in their current coordinates, which become the map's coordinates
+     * @param continents the continents with their countries
+     * @param mapWidth the width of the map, at which the lines between neighbors wrap around
+     * @param mapHeight the height of the map
+     */
+    MapCanvas(List<Continent> continents, double mapWidth, double mapHeight) {
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        canvas = new Canvas(mapWidth, mapHeight);
+        font = Font.getDefault();
+
+        // Collect every country once by its index
+        List<Country> countryList = new ArrayList<>();
+        continents.forEach(continent -> continent.getCountries().forEach(country -> {
+            while(countryList.size() <= country.getId()) countryList.add(null);
+            countryList.set(country.getId(), country);
+        }));
+        int countries = countryList.size();
+
+        colors = new Color[countries];
+        labels = new String[countries];
+        capitals = new double[countries * 2];
+        countryBoxes = new double[countries * 4];
+        dirty = new BitSet(countries);
+
+        // Copy the patches and calculate their bounding boxes
+        List<double[]> patchList = new ArrayList<>();
+        List<Integer> patchCountryList = new ArrayList<>();
+        Arrays.fill(countryBoxes, Double.NaN);
+        for(int id = 0; id < countries; id++) {
+            Country country = countryList.get(id);
+            if(country == null) continue;
+
+            colors[id] = Color.WHITE;
+            Point2D capital = country.getCapital();
+            capitals[id * 2] = capital.getX();
+            capitals[id * 2 + 1] = capital.getY();
+
+            // The label is written to the right and above the capital
+            double fontSize = font.getSize();
+            include(countryBoxes, id, capital.getX(), capital.getY() - fontSize);
+            include(countryBoxes, id, capital.getX() + fontSize * 4, capital.getY() + fontSize / 2);
+
+            for(Polygon patch : country.getPatches()) {
+                List<Double> points = patch.getPoints();
+                double[] coords = new double[points.size() & ~1];
+                for(int i = 0; i < coords.length; i++) coords[i] = points.get(i);
+                for(int i = 0; i < coords.length; i += 2) include(countryBoxes, id, coords[i], coords[i + 1]);
+                patchList.add(coords);
+                patchCountryList.add(id);
+            }
+        }
+
+        patches = patchList.toArray(new double[0][]);
+        patchCountry = patchCountryList.stream().mapToInt(Integer::intValue).toArray();
+        patchBoxes = new double[patches.length * 4];
+        Arrays.fill(patchBoxes, Double.NaN);
+        for(int patch = 0; patch < patches.length; patch++)
+            for(int i = 0; i < patches[patch].length; i += 2) include(patchBoxes, patch, patches[patch][i], patches[patch][i + 1]);
+
+        // Every pair of neighbors gets one line
+        List<Integer> lineList = new ArrayList<>();
+        for(int id = 0; id < countries; id++) {
+            Country country = countryList.get(id);
+            if(country == null) continue;
+            for(Country neighbor : country.getNeighbors()) {
+                if(neighbor.getId() <= id) continue;
+                lineList.add(id);
+                lineList.add(neighbor.getId());
+            }
+        }
+        lines = lineList.stream().mapToInt(Integer::intValue).toArray();
+
+        dirtyAll = true;
+        schedule();
+    }
+
+    /**
+     * Returns the canvas, which has to be shown instead of the patches
+     * @return canvas
+     */
+    Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Converts an x coordinate of the canvas into the coordinates of the map
+     * @param x the x coordinate on the canvas
+     * @return the x coordinate on the map
+     */
+    double toMapX(double x) {
+        return x / factorX - translateX;
+    }
+
+    /**
+     * Converts a y coordinate of the canvas into the coordinates of the map
+     * @param y the y coordinate on the canvas
+     * @return the y coordinate on the map
+     */
+    double toMapY(double y) {
+        return y / factorY - translateY;
+    }
+
+    /**
+     * Sets the fill color of the given country
+     * @param country the country's index
+     * @param color the color
+     */
+    void setColor(int country, Color color) {
+        if(color.equals(colors[country])) return;
+        colors[country] = color;
+        invalidate(country);
+    }
+
+    /**
+     * Sets the army count of the given country
+     * @param country the country's index
+     * @param label the army count or null, if it should not be shown
+     */
+    void setLabel(int country, String label) {
+        if(label == null ? labels[country] == null : label.equals(labels[country])) return;
+        labels[country] = label;
+        invalidate(country);
+    }
+
+    /**
+     * Hides the army counts of all countries
+     */
+    void clearLabels() {
+        for(int country = 0; country < labels.length; country++) setLabel(country, null);
+    }
+
+    /**
+     * Darkens the given country, which is under the mouse
+     * @param country the country's index or -1, if the mouse is not over a country
+     */
+    void setHovered(int country) {
+        if(country == hovered) return;
+        if(hovered >= 0) invalidate(hovered);
+        hovered = country;
+        if(hovered >= 0) invalidate(hovered);
+    }
+
+    /**
+     * Resizes the canvas, so that the map is translated and scaled like the patches in
+     * {@link service.ContinentService#resizePatches(double, double)}
+     * @param factorX the factor in x direction
+     * @param factorY the factor in y direction
+     */
+    void resize(double factorX, double factorY) {
+        this.factorX = factorX;
+        this.factorY = factorY;
+        translateX = factorX;
+        translateY = factorY;
+        canvas.setWidth((mapWidth + translateX) * factorX);
+        canvas.setHeight((mapHeight + translateY) * factorY);
+
+        dirtyAll = true;
+        schedule();
+    }
+
+    /**
+     * Marks the given country as dirty
+     * @param country the country's index
+     */
+    private void invalidate(int country) {
+        dirty.set(country);
+        schedule();
+    }
+
+    /**
+     * Paints the dirty countries later, so that all changes of the current event are painted at once
+     */
+    private void schedule() {
+        if(scheduled) return;
+        scheduled = true;
+        Platform.runLater(this::paint);
+    }
+
+    /**
+     * Paints the region of all dirty countries or the whole map again
+     */
+    private void paint() {
+        scheduled = false;
+
+        // Find the region, which has to be painted again
+        double x1 = -translateX, y1 = -translateY;
+        double x2 = canvas.getWidth() / factorX - translateX, y2 = canvas.getHeight() / factorY - translateY;
+        if(!dirtyAll) {
+            x1 = y1 = Double.POSITIVE_INFINITY;
+            x2 = y2 = Double.NEGATIVE_INFINITY;
+            for(int country = dirty.nextSetBit(0); country >= 0; country = dirty.nextSetBit(country + 1)) {
+                if(Double.isNaN(countryBoxes[country * 4])) continue;
+                x1 = Math.min(x1, countryBoxes[country * 4]);
+                y1 = Math.min(y1, countryBoxes[country * 4 + 1]);
+                x2 = Math.max(x2, countryBoxes[country * 4 + 2]);
+                y2 = Math.max(y2, countryBoxes[country * 4 + 3]);
+            }
+            if(x1 > x2) {
+                dirty.clear();
+                return;
+            }
+            x1 -= MARGIN;
+            y1 -= MARGIN;
+            x2 += MARGIN;
+            y2 += MARGIN;
+        }
+        dirty.clear();
+        dirtyAll = false;
+
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.save();
+        gc.setTransform(factorX, 0, 0, factorY, translateX * factorX, translateY * factorY);
+        gc.clearRect(x1, y1, x2 - x1, y2 - y1);
+        gc.beginPath();
+        gc.rect(x1, y1, x2 - x1, y2 - y1);
+        gc.clip();
+
+        // The lines lie below the patches
+        gc.setStroke(LINE_COLOR);
+        gc.setLineWidth(1);
+        for(int i = 0; i < lines.length; i += 2) paintLine(gc, lines[i], lines[i + 1], x1, y1, x2, y2);
+
+        // The patches in the order of the continents, so the last patch wins where they overlap
+        gc.setStroke(BORDER_COLOR);
+        gc.setLineWidth(0.5);
+        for(int patch = 0; patch < patches.length; patch++) {
+            int box = patch * 4;
+            if(Double.isNaN(patchBoxes[box]) || patchBoxes[box] > x2 || patchBoxes[box + 2] < x1 || patchBoxes[box + 1] > y2 || patchBoxes[box + 3] < y1) continue;
+
+            double[] coords = patches[patch];
+            int country = patchCountry[patch];
+            gc.setFill(country == hovered ? colors[country].darker() : colors[country]);
+            gc.beginPath();
+            gc.moveTo(coords[0], coords[1]);
+            for(int i = 2; i < coords.length; i += 2) gc.lineTo(coords[i], coords[i + 1]);
+            gc.closePath();
+            gc.fill();
+            gc.stroke();
+        }
+
+        // The army counts lie above everything else
+        gc.setFill(LABEL_COLOR);
+        gc.setFont(font);
+        for(int country = 0; country < labels.length; country++) {
+            if(labels[country] == null) continue;
+            int box = country * 4;
+            if(countryBoxes[box] > x2 || countryBoxes[box + 2] < x1 || countryBoxes[box + 1] > y2 || countryBoxes[box + 3] < y1) continue;
+            gc.fillText(labels[country], capitals[country * 2], capitals[country * 2 + 1]);
+        }
+
+        gc.restore();
+    }
+
+    /**
+     * Paints the line between the given neighbors, if it crosses the given region.
+     * A line, which would be longer than half of the map's width, is drawn to the nearer border of the map instead
+     * @param gc the graphics context
+     * @param from the first country's index
+     * @param to the second country's index
+     * @param x1 the left border of the region
+     * @param y1 the upper border of the region
+     * @param x2 the right border of the region
+     * @param y2 the lower border of the region
+     */
+    private void paintLine(GraphicsContext gc, int from, int to, double x1, double y1, double x2, double y2) {
+        double startX = capitals[from * 2], startY = capitals[from * 2 + 1];
+        double endX = capitals[to * 2], endY = capitals[to * 2 + 1];
+
+        // Each country of a wrapping line draws its half to its own border
+        if(Math.abs(startX - endX) > mapWidth / 2) {
+            paintSegment(gc, startX, startY, startX < mapWidth / 2 ? 0 : mapWidth, endY, x1, y1, x2, y2);
+            paintSegment(gc, endX, endY, endX < mapWidth / 2 ? 0 : mapWidth, startY, x1, y1, x2, y2);
+        }
+        else paintSegment(gc, startX, startY, endX, endY, x1, y1, x2, y2);
+    }
+
+    /**
+     * Paints a straight line, if its bounding box intersects the given region
+     * @param gc the graphics context
+     * @param startX the x coordinate of the start
+     * @param startY the y coordinate of the start
+     * @param endX the x coordinate of the end
+     * @param endY the y coordinate of the end
+     * @param x1 the left border of the region
+     * @param y1 the upper border of the region
+     * @param x2 the right border of the region
+     * @param y2 the lower border of the region
+     */
+    private static void paintSegment(GraphicsContext gc, double startX, double startY, double endX, double endY,
+                                     double x1, double y1, double x2, double y2) {
+        if(Math.min(startX, endX) > x2 || Math.max(startX, endX) < x1 || Math.min(startY, endY) > y2 || Math.max(startY, endY) < y1) return;
+        gc.strokeLine(startX, startY, endX, endY);
+    }
+
+    /**
+     * Extends the bounding box with the given index, so that it contains the given point
+     * @param boxes the bounding boxes: min x, min y, max x and max y of every box one after the other
+     * @param index the box's index
+     * @param x the x coordinate
+     * @param y the y coordinate
+     */
+    private static void include(double[] boxes, int index, double x, double y) {
+        int box = index * 4;
+        if(Double.isNaN(boxes[box])) {
+            boxes[box] = boxes[box + 2] = x;
+            boxes[box + 1] = boxes[box + 3] = y;
+            return;
+        }
+        boxes[box] = Math.min(boxes[box], x);
+        boxes[box + 1] = Math.min(boxes[box + 1], y);
+        boxes[box + 2] = Math.max(boxes[box + 2], x);
+        boxes[box + 3] = Math.max(boxes[box + 3], y);
+    }
+}
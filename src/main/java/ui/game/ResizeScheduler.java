@@ -0,0 +1,122 @@
+package ui.game;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Coalesces the resize requests of the window into at most one resize pass per JavaFX pulse.
+ * The window changes its width and height separately and may do so several times per pulse, but only the latest
+ * size is resized right before the next layout. With a debounce the pass is delayed further, until the window has
+ * not changed for the given time, so an expensive resize only runs once the user has stopped dragging
+ */
+class ResizeScheduler {
+
+    /**
+     * The {@link ResizeScheduler} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResizeScheduler.class);
+
+    /**
+     * The resize pass, which gets the new width and height
+     */
+    private final BiConsumer<Double, Double> pass;
+
+    /**
+     * The timer of the trailing debounce or null, if every pulse may resize
+     */
+    private final PauseTransition debounce;
+
+    /**
+     * The latest requested width
+     */
+    private double width;
+
+    /**
+     * The latest requested height
+     */
+    private double height;
+
+    /**
+     * True, if the next pulse has to resize
+     */
+    private boolean pending;
+
+    /**
+     * The number of resize requests
+     */
+    private long requests;
+
+    /**
+     * The number of resize passes
+     */
+    private long passes;
+
+    /**
+     * Creates the scheduler and lets it resize before the layout of every pulse of the given scene
+     * @param scene the scene of the window
+     * @param pass the resize pass, which gets the new width and height
+     * @param debounceMillis the time without changes before a pass or 0, if every pulse may resize
+     */
+    ResizeScheduler(Scene scene, BiConsumer<Double, Double> pass, long debounceMillis) {
+        this.pass = pass;
+
+        if(debounceMillis > 0) {
+            debounce = new PauseTransition(Duration.millis(debounceMillis));
+            debounce.setOnFinished(event -> schedule());
+        } else {
+            debounce = null;
+        }
+
+        scene.addPreLayoutPulseListener(this::pulse);
+    }
+
+    /**
+     * Requests a resize to the given size, which will be done with the next pass
+     * @param width the window's new width
+     * @param height the window's new height
+     */
+    void request(double width, double height) {
+        this.width = width;
+        this.height = height;
+        requests++;
+
+        // Every request restarts the debounce, so the pass waits until the window has settled
+        if(debounce != null) debounce.playFromStart();
+        else schedule();
+    }
+
+    /**
+     * Returns the number of resize requests, which did not get their own pass
+     * @return the number of skipped passes
+     */
+    long getSkipped() {
+        return requests - passes;
+    }
+
+    /**
+     * Lets the next pulse resize
+     */
+    private void schedule() {
+        if(pending) return;
+        pending = true;
+        Platform.requestNextPulse();
+    }
+
+    /**
+     * Resizes to the latest size, if a pass is pending
+     */
+    private void pulse() {
+        if(!pending) return;
+        pending = false;
+        passes++;
+
+        pass.accept(width, height);
+        if(LOGGER.isDebugEnabled()) LOGGER.debug("Resized to " + width + "x" + height + ", skipped " + getSkipped() + " of " + requests + " passes");
+    }
+}
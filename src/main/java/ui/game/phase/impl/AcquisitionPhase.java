@@ -1,18 +1,19 @@
 package ui.game.phase.impl;
 
+import dto.Board;
 import dto.Continent;
 import dto.Country;
 import dto.Player;
+import engine.GamePhase;
 import javafx.scene.input.KeyEvent;
-import javafx.scene.shape.Polygon;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import service.impl.SimplePlayerService;
+import service.PlayerService;
 import ui.game.GameController;
 import ui.game.phase.Phase;
 import util.properties.PropertiesManager;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Arrays;
 
 /**
  * The acquisition phase
@@ -26,6 +27,21 @@ public class AcquisitionPhase implements Phase {
 
     private final GameController gameController;
 
+    /**
+     * The countries, which can still be acquired (the first {@link #freeCount} entries)
+     */
+    private Country[] free;
+
+    /**
+     * The position of every country in {@link #free} or -1, if it is already taken (indexed by the country's index)
+     */
+    private int[] position;
+
+    /**
+     * The number of countries, which can still be acquired
+     */
+    private int freeCount;
+
     /**
      * Creates a new acquisition phase
      * @param gameController the {@link GameController}, containing relevant information for this phase
@@ -33,70 +49,86 @@ public class AcquisitionPhase implements Phase {
     public AcquisitionPhase(GameController gameController){
         LOGGER.info("Initialize");
         this.gameController = gameController;
-
-        // Reset the game -> We need this, if the player has started a new game
-        // TODO: Maybe add a boolean to check, if this is a new game?
-
-        // Clear the country list of all players
-        SimplePlayerService.getSimplePlayerService().getPlayers().forEach(Player::clearCountryMap);
-
-        // Reset the color of the continents and their countries
-        gameController.getContinentList().forEach(continent -> continent.getCountries().forEach(country -> {
-            country.getPatches().forEach(patch -> patch.setFill(continent.getColor()));
-        }));
     }
 
     @Override
     public void click(Country country) {
 
-        Player currentPlayer = SimplePlayerService.getSimplePlayerService().getCurrentPlayer();
+        PlayerService playerService = gameController.getPlayerService();
 
-        // Check if the country is not assigned
-        if(gameController.getPlayerService().isCountryFree(country)) {
-            // Add the country to the player and change its color
-            currentPlayer.addCountry(country);
-            for(Polygon p : country.getPatches()) p.setFill(currentPlayer.getColor());
-        }
-        // Else the player has clicked on a conquered country: then just return
-        else return;
+        if(free == null) collectFreeCountries();
 
-        // Move and check if the next player is a real person. If it is a bot, then just add randomly a country
-        gameController.getPlayerService().nextTurn();
+        // Acquire the country, if it is not assigned (the engine changes its color and lets the next player move)
+        // Else the player has clicked on a conquered country: then just return
+        if(!playerService.acquireCountry(country)) return;
+        take(country);
 
         // If the next player is a bot, then just assign a random country to it
-        currentPlayer = gameController.getPlayerService().getCurrentPlayer();
+        Player currentPlayer = playerService.getCurrentPlayer();
 
-        while(currentPlayer.isAi()) {
-            Country randomCountry = null;
-            while(randomCountry == null) {
-                int iRandomContinent = (int)(Math.random()*gameController.getContinentList().size());
-                Continent randomContinent = gameController.getContinentList().get(iRandomContinent);
-                Country test = randomContinent.getCountries().get((int)(Math.random()*randomContinent.getCountries().size()));
+        while(currentPlayer.isAi() && isAcquisition() && freeCount > 0) {
+            Country randomCountry = free[gameController.getAiRandom().nextInt(freeCount)];
 
-                if(gameController.getPlayerService().isCountryFree(test))
-                    randomCountry = test;
-            }
+            // Acquiring lets the next user play as well (can also be another AI)
+            playerService.acquireCountry(randomCountry);
+            take(randomCountry);
+            currentPlayer = playerService.getCurrentPlayer();
+        }
 
-            currentPlayer.addCountry(randomCountry);
-            for(Polygon p : randomCountry.getPatches()) p.setFill(currentPlayer.getColor());
+        // The engine switches to the army placement phase, as soon as all countries are taken
+        if(!isAcquisition()) gameController.showArmiesOnCountries();
+    }
 
-            // Change the user, so he can play as well (can also be another AI)
-            gameController.getPlayerService().nextTurn();
-            currentPlayer = gameController.getPlayerService().getCurrentPlayer();
+    /**
+     * Collects the countries of all continents, which can still be acquired
+     */
+    private void collectFreeCountries() {
+        Board board = gameController.getPlayerService().getBoard();
+        int countries = 0;
+        for(Continent continent : gameController.getContinentList()) countries += continent.getCountries().size();
+
+        free = new Country[countries];
+        position = new int[0];
+        freeCount = 0;
+
+        for(Continent continent : gameController.getContinentList()) {
+            for(Country country : continent.getCountries()) {
+                int index = board.indexOf(country);
+                if(index >= position.length) {
+                    int length = position.length;
+                    position = Arrays.copyOf(position, Math.max(index + 1, length * 2));
+                    Arrays.fill(position, length, position.length, -1);
+                }
+                if(position[index] >= 0 || !board.getEngine().isFree(index)) continue;
+
+                position[index] = freeCount;
+                free[freeCount++] = country;
+            }
         }
+    }
 
-        // Get the total number of countries
-        int sumCountries = gameController.getContinentList().stream().mapToInt(cont -> cont.getCountries().size()).sum();
-
-        // Calculate the total number of conquered countries
-        int sizes = gameController.getPlayerService().getPlayers().stream().mapToInt(Player::sizeCountries).sum();
+    /**
+     * Removes the given country from the free countries by moving the last free country to its position
+     * @param country the acquired country
+     */
+    private void take(Country country) {
+        int index = gameController.getPlayerService().getBoard().indexOf(country);
+        if(index >= position.length || position[index] < 0) return;
+
+        Country last = free[--freeCount];
+        int i = position[index];
+        free[i] = last;
+        position[gameController.getPlayerService().getBoard().indexOf(last)] = i;
+        free[freeCount] = null;
+        position[index] = -1;
+    }
 
-        // Check if the phase switches to the army placement phase
-        if(sumCountries == sizes) {
-            gameController.setPhase(new ArmyPlacementPhase(gameController));
-            gameController.showArmiesLabel(currentPlayer);
-            gameController.showArmiesOnCountries();
-        }
+    /**
+     * Checks if the game is still in the acquisition phase
+     * @return true, if there are still free countries; otherwise false
+     */
+    private boolean isAcquisition() {
+        return gameController.getPlayerService().getBoard().getEngine().getPhase() == GamePhase.ACQUISITION;
     }
 
     @Override
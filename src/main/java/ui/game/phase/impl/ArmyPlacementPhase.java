@@ -1,12 +1,9 @@
 package ui.game.phase.impl;
 
 import dto.Country;
-import dto.Player;
 import javafx.scene.input.KeyEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import service.PlayerService;
-import service.impl.SimplePlayerService;
 import ui.game.GameController;
 import ui.game.phase.Phase;
 import util.properties.PropertiesManager;
@@ -30,33 +27,22 @@ public class ArmyPlacementPhase implements Phase {
      * Creates a new ArmyPlacementPhase and sets the information needed for this phase
      * @param gameController the gameController
      */
-    ArmyPlacementPhase(GameController gameController) {
+    public ArmyPlacementPhase(GameController gameController) {
         LOGGER.info("Initialize");
         this.gameController = gameController;
-
-        PlayerService playerService = SimplePlayerService.getSimplePlayerService();
-
-        Player currentPlayer = gameController.getPlayerService().getCurrentPlayer();
-        playerService.setArmies(currentPlayer, gameController.getContinentList());
     }
 
     @Override
     public void click(Country country) {
         LOGGER.info("Clicked");
-        Player currentPlayer = gameController.getPlayerService().getCurrentPlayer();
 
         // Increment the counter of the armies of the clicked country, if the player has the country
         // and has enough armies to place
-        currentPlayer.placeArmies(country);
-        currentPlayer.removeArmies(1);
-
-        gameController.showArmiesLabel(currentPlayer);
+        // The engine switches to 'MOVE_AND_ATTACK', as soon as the player has no armies left
+        gameController.getPlayerService().placeArmy(country);
 
         // Show the newly placed armies
         gameController.showArmiesOnCountries();
-
-        // Check if the phase switches to 'CONQUERING_MOVE_AND_ATTACK'
-        if(currentPlayer.getArmies()==0) gameController.setPhase(new MoveAndAttackPhase(gameController));
     }
 
     @Override
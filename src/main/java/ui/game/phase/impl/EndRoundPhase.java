@@ -21,8 +21,8 @@ public class EndRoundPhase implements Phase {
     public EndRoundPhase(GameController gameController) {
         LOGGER.info("Initialize");
 
-        gameController.getPlayerService().nextTurn();
-        gameController.setPhase(new ArmyPlacementPhase(gameController));
+        // The engine lets the next player move and switches to the army placement
+        gameController.getPlayerService().endTurn();
     }
 
     @Override
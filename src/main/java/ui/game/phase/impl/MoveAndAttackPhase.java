@@ -1,6 +1,5 @@
 package ui.game.phase.impl;
 
-import dto.Continent;
 import dto.Country;
 import dto.Player;
 import exceptions.AttackOwnCountryException;
@@ -8,7 +7,6 @@ import exceptions.NotEnoughArmiesException;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.input.KeyEvent;
-import javafx.scene.shape.Polygon;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ui.game.GameController;
@@ -32,12 +30,18 @@ public class MoveAndAttackPhase implements Phase {
 
     private boolean drag;
 
-    MoveAndAttackPhase(GameController gameController) {
+    /**
+     * Indicates, if a drag and drop fights the whole battle at once
+     */
+    private boolean blitz;
+
+    public MoveAndAttackPhase(GameController gameController) {
         LOGGER.info("Initialize");
         Objects.requireNonNull(gameController);
 
         this.gameController = gameController;
         drag = false;
+        blitz = false;
     }
 
     @Override
@@ -62,32 +66,56 @@ public class MoveAndAttackPhase implements Phase {
         // Only if drag==true, we have an actual drag
         if(drag) {
             // Get the country at the current mouse location
-            Country releasedCountry = null;
-            for(Continent continent : gameController.getContinentList())
-                for(Country c : continent.getCountries())
-                    for(Polygon polygon : c.getPatches())
-                        if(polygon.contains(x, y))
-                            releasedCountry = c;
+            Country releasedCountry = gameController.getContinentService().getCountryAt(x, y);
 
             // Check if we have selected a country and if it is in our range
-            if(releasedCountry != null && country.hasNeighbor(releasedCountry)) {
-
-                // Attack the country
-                try {
-                    gameController.getPlayerService().attack(currentPlayer, gameController.getSelectedCountry(), releasedCountry);
-                } catch (NotEnoughArmiesException e) {
-                    // Do nothing, if there are not enough armies
-                } catch (AttackOwnCountryException e) {
-                    // The attacking country is our own country, so we can move the armies
-                    // TODO Optional: Let the player decide how many armies he wants to move
-                    gameController.getPlayerService().moveArmies(currentPlayer, country, releasedCountry);
-                }
-            }
+            if(releasedCountry != null && gameController.getPlayerService().getBoard().isNeighbor(country, releasedCountry))
+                attackOrMove(currentPlayer, gameController.getSelectedCountry(), releasedCountry, blitz);
         }
+        finishMove(currentPlayer);
+    }
+
+    /**
+     * Fights the whole battle between the given countries at once and updates the ui afterwards
+     * @param from the attacking country
+     * @param to the defending country
+     */
+    public void blitz(Country from, Country to) {
+        Player currentPlayer = gameController.getPlayerService().getCurrentPlayer();
+        attackOrMove(currentPlayer, from, to, true);
+        finishMove(currentPlayer);
+    }
+
+    /**
+     * Attacks the defending country or moves the armies, if the country belongs to the player
+     * @param currentPlayer the current player
+     * @param from the attacking country
+     * @param to the defending country
+     * @param blitz true, if the whole battle should be fought; false for a single roll
+     */
+    private void attackOrMove(Player currentPlayer, Country from, Country to, boolean blitz) {
+        // Attack the country
+        try {
+            if(blitz) gameController.getPlayerService().blitz(currentPlayer, from, to, 1);
+            else gameController.getPlayerService().attack(currentPlayer, from, to);
+        } catch (NotEnoughArmiesException e) {
+            // Do nothing, if there are not enough armies
+        } catch (AttackOwnCountryException e) {
+            // The attacking country is our own country, so we can move the armies
+            // TODO Optional: Let the player decide how many armies he wants to move
+            gameController.getPlayerService().moveArmies(currentPlayer, from, to);
+        }
+    }
+
+    /**
+     * Updates the ui and checks if the current player has won
+     * @param currentPlayer the current player
+     */
+    public void finishMove(Player currentPlayer) {
         gameController.showArmiesOnCountries();
 
         // Define what to do, if a player has won
-        if(currentPlayer.getCountries().size() == gameController.getCapitalMap().keySet().size()){
+        if(gameController.getPlayerService().hasWon(currentPlayer)){
             String msg = String.join(" ",
                     PropertiesManager.getString("Game.Player", "lang"),
                     currentPlayer.getName(),
@@ -104,11 +132,12 @@ public class MoveAndAttackPhase implements Phase {
                 if(result == ButtonType.OK) {
                     LOGGER.info("Player wants to start a new game");
                     gameController.resetCapitalText();
-                    gameController.setPhase(new AcquisitionPhase(gameController));
+                    gameController.getPlayerService().newGame();
                 }
                 // Else just finish the game
                 else {
                     LOGGER.info("Player exits the game");
+                    gameController.stop();
                     System.exit(0);
                 }
             });
@@ -121,6 +150,10 @@ public class MoveAndAttackPhase implements Phase {
             case E:
                 new EndRoundPhase(gameController);
                 break;
+            case B:
+                blitz = !blitz;
+                LOGGER.info("Blitz " + (blitz ? "on" : "off"));
+                break;
             default:
                 break;
         }
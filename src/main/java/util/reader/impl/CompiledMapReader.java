@@ -0,0 +1,273 @@
+package util.reader.impl;
+
+import dto.Continent;
+import dto.Country;
+import javafx.geometry.Point2D;
+import javafx.scene.shape.Polygon;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import util.reader.MapReader;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A map reader for the .cmap files of the {@link MapCompiler}, which are mapped into memory instead of being parsed.
+ * A .cmap file contains the following sections after its header, in which every section is an array of ints or floats:
+ * the start of every name in the string table (the countries, then the continents), the capitals, the first patch of
+ * every country, the first point of every patch, the neighbors as compressed rows, the points and the countries of
+ * every continent, the points of all patches and finally the string table with the names in UTF-8.
+ * The countries are numbered in the order of the continents, like the {@link engine.MapGraph} numbers them
+ */
+public class CompiledMapReader implements MapReader {
+
+    /**
+     * The {@link CompiledMapReader} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledMapReader.class);
+
+    /**
+     * The extension of a compiled map
+     */
+    public static final String EXTENSION = ".cmap";
+
+    /**
+     * The first bytes of every compiled map ("CTWM")
+     */
+    public static final int MAGIC = 0x4354574D;
+
+    /**
+     * The version of the file format
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes: magic, version, countries, continents, patches, points, neighbors, members
+     * of the continents and the size of the string table
+     */
+    static final int HEADER_SIZE = 9 * Integer.BYTES;
+
+    /**
+     * Reads the compiled map, which is searched on the classpath first and then in the file system
+     * @param relativePath the path to the .cmap file
+     * @return a list of continents
+     * @throws IOException if the file cannot be read or is not a compiled map
+     */
+    @Override
+    public List<Continent> readFile(String relativePath) throws IOException {
+        LOGGER.info("Try to read " + relativePath);
+
+        ByteBuffer buffer = map(relativePath);
+        try {
+            return read(buffer);
+        } catch(IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException(relativePath + " is damaged!", e);
+        }
+    }
+
+    /**
+     * Maps the given file into memory. A file inside of a jar cannot be mapped, so it is read instead
+     * @param relativePath the path to the .cmap file on the classpath or in the file system
+     * @return the buffer with the whole file
+     * @throws IOException if the file cannot be read
+     */
+    private ByteBuffer map(String relativePath) throws IOException {
+        Path path = null;
+        URL url = getClass().getResource(relativePath);
+        if(url != null && "file".equals(url.getProtocol())) {
+            try { path = Paths.get(url.toURI()); }
+            catch(URISyntaxException e) { throw new IOException(e); }
+        } else if(url != null) {
+            try(InputStream stream = url.openStream()) {
+                return ByteBuffer.wrap(stream.readAllBytes());
+            }
+        } else if(Files.isRegularFile(Paths.get(relativePath))) {
+            path = Paths.get(relativePath);
+        }
+        if(path == null) throw new FileNotFoundException(relativePath + " not found!");
+
+        // The mapping stays valid, after the channel is closed
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Creates the continents of the compiled map
+     * @param buffer the compiled map
+     * @return a list of continents
+     * @throws IOException if the buffer does not contain a compiled map
+     */
+    private static List<Continent> read(ByteBuffer buffer) throws IOException {
+        if(buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) throw new IOException("This is not a compiled map!");
+        int version = buffer.getInt(4);
+        if(version != VERSION) throw new IOException("The version " + version + " of the compiled map is not supported!");
+
+        int countries = buffer.getInt(8);
+        int continents = buffer.getInt(12);
+        int patches = buffer.getInt(16);
+        int points = buffer.getInt(20);
+        int neighbors = buffer.getInt(24);
+        int members = buffer.getInt(28);
+        int stringBytes = buffer.getInt(32);
+        if(size(countries, continents, patches, points, neighbors, members, stringBytes) != buffer.limit())
+            throw new IOException("The compiled map is damaged!");
+
+        // Every section is a view of the buffer, so nothing is copied
+        int position = HEADER_SIZE;
+        IntBuffer nameStart = ints(buffer, position, countries + continents + 1);
+        position += (countries + continents + 1) * Integer.BYTES;
+        FloatBuffer capitals = floats(buffer, position, countries * 2);
+        position += countries * 2 * Float.BYTES;
+        IntBuffer patchStart = ints(buffer, position, countries + 1);
+        position += (countries + 1) * Integer.BYTES;
+        IntBuffer pointStart = ints(buffer, position, patches + 1);
+        position += (patches + 1) * Integer.BYTES;
+        IntBuffer neighborStart = ints(buffer, position, countries + 1);
+        position += (countries + 1) * Integer.BYTES;
+        IntBuffer neighborIds = ints(buffer, position, neighbors);
+        position += neighbors * Integer.BYTES;
+        IntBuffer continentPoints = ints(buffer, position, continents);
+        position += continents * Integer.BYTES;
+        IntBuffer continentStart = ints(buffer, position, continents + 1);
+        position += (continents + 1) * Integer.BYTES;
+        IntBuffer continentCountries = ints(buffer, position, members);
+        position += members * Integer.BYTES;
+        FloatBuffer vertices = floats(buffer, position, points * 2);
+        position += points * 2 * Float.BYTES;
+        int strings = position;
+
+        // Every start and id is checked once, so that a damaged file cannot create arrays with a negative size
+        checkStarts(nameStart, stringBytes);
+        checkStarts(patchStart, patches);
+        checkStarts(pointStart, points);
+        checkStarts(neighborStart, neighbors);
+        checkStarts(continentStart, members);
+        checkIds(neighborIds, countries);
+        checkIds(continentCountries, countries);
+
+        // Create the countries with their patches
+        Country[] countryArray = new Country[countries];
+        for(int country = 0; country < countries; country++) {
+            List<Polygon> polygons = new ArrayList<>(patchStart.get(country + 1) - patchStart.get(country));
+            for(int patch = patchStart.get(country); patch < patchStart.get(country + 1); patch++) {
+                double[] coords = new double[(pointStart.get(patch + 1) - pointStart.get(patch)) * 2];
+                for(int i = 0, j = pointStart.get(patch) * 2; i < coords.length; i++, j++) coords[i] = vertices.get(j);
+                polygons.add(new Polygon(coords));
+            }
+
+            Point2D capital = new Point2D(capitals.get(country * 2), capitals.get(country * 2 + 1));
+            countryArray[country] = new Country(string(buffer, strings, nameStart, country), polygons, capital);
+        }
+
+        // Add the neighbors, which are already complete
+        for(int country = 0; country < countries; country++) {
+            List<Country> neighborList = new ArrayList<>(neighborStart.get(country + 1) - neighborStart.get(country));
+            for(int i = neighborStart.get(country); i < neighborStart.get(country + 1); i++) neighborList.add(countryArray[neighborIds.get(i)]);
+            countryArray[country].setNeighbors(neighborList);
+        }
+
+        // Add the countries to their continents
+        List<Continent> continentsList = new ArrayList<>(continents);
+        for(int continent = 0; continent < continents; continent++) {
+            List<Country> countryList = new ArrayList<>(continentStart.get(continent + 1) - continentStart.get(continent));
+            for(int i = continentStart.get(continent); i < continentStart.get(continent + 1); i++) countryList.add(countryArray[continentCountries.get(i)]);
+            continentsList.add(new Continent(countryList, continentPoints.get(continent), string(buffer, strings, nameStart, countries + continent)));
+        }
+
+        return continentsList;
+    }
+
+    /**
+     * Returns the size of a compiled map in bytes
+     * @param countries the number of countries
+     * @param continents the number of continents
+     * @param patches the number of patches
+     * @param points the number of points of all patches
+     * @param neighbors the number of neighbors of all countries
+     * @param members the number of countries of all continents
+     * @param stringBytes the size of the string table in bytes
+     * @return the size or -1, if a number is negative or the size is too big
+     */
+    static long size(int countries, int continents, int patches, int points, int neighbors, int members, int stringBytes) {
+        if(countries < 0 || continents < 0 || patches < 0 || points < 0 || neighbors < 0 || members < 0 || stringBytes < 0) return -1;
+
+        long values = (countries + continents + 1L) + countries * 2L + (countries + 1L) + (patches + 1L) + (countries + 1L)
+                + neighbors + continents + (continents + 1L) + members + points * 2L;
+        long size = HEADER_SIZE + values * Integer.BYTES + stringBytes;
+        return size > Integer.MAX_VALUE ? -1 : size;
+    }
+
+    /**
+     * Checks, that the starts of compressed rows begin with 0, never decrease and end with the number of entries
+     * @param starts the start of every row and the end of the last row
+     * @param entries the number of entries of all rows
+     * @throws IOException if the starts are damaged
+     */
+    private static void checkStarts(IntBuffer starts, int entries) throws IOException {
+        if(starts.get(0) != 0 || starts.get(starts.limit() - 1) != entries) throw new IOException("The compiled map is damaged!");
+        for(int i = 1; i < starts.limit(); i++)
+            if(starts.get(i) < starts.get(i - 1)) throw new IOException("The compiled map is damaged!");
+    }
+
+    /**
+     * Checks, that every id belongs to a country
+     * @param ids the ids
+     * @param countries the number of countries
+     * @throws IOException if an id is damaged
+     */
+    private static void checkIds(IntBuffer ids, int countries) throws IOException {
+        for(int i = 0; i < ids.limit(); i++)
+            if(ids.get(i) < 0 || ids.get(i) >= countries) throw new IOException("The compiled map is damaged!");
+    }
+
+    /**
+     * Returns a view of ints of the buffer
+     * @param buffer the buffer
+     * @param position the position of the first int
+     * @param length the number of ints
+     * @return the view
+     */
+    private static IntBuffer ints(ByteBuffer buffer, int position, int length) {
+        return buffer.duplicate().position(position).limit(position + length * Integer.BYTES).slice().asIntBuffer();
+    }
+
+    /**
+     * Returns a view of floats of the buffer
+     * @param buffer the buffer
+     * @param position the position of the first float
+     * @param length the number of floats
+     * @return the view
+     */
+    private static FloatBuffer floats(ByteBuffer buffer, int position, int length) {
+        return buffer.duplicate().position(position).limit(position + length * Float.BYTES).slice().asFloatBuffer();
+    }
+
+    /**
+     * Decodes a string of the string table
+     * @param buffer the buffer
+     * @param strings the position of the string table
+     * @param nameStart the start of every string in the string table
+     * @param index the index of the string
+     * @return the string
+     */
+    private static String string(ByteBuffer buffer, int strings, IntBuffer nameStart, int index) {
+        byte[] bytes = new byte[nameStart.get(index + 1) - nameStart.get(index)];
+        buffer.duplicate().position(strings + nameStart.get(index)).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
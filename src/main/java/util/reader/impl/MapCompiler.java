@@ -0,0 +1,162 @@
+package util.reader.impl;
+
+import dto.Continent;
+import dto.Country;
+import javafx.scene.shape.Polygon;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles a .map file into a .cmap file, which the {@link CompiledMapReader} maps into memory.
+ * Usage: {@code MapCompiler <map on the classpath> <target .cmap file> [tolerance]}, where the optional tolerance
+ * simplifies the patches like the {@link SimpleMapReader} does
+ */
+public final class MapCompiler {
+
+    /**
+     * The {@link MapCompiler} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapCompiler.class);
+
+    // only static methods
+    private MapCompiler() {}
+
+    /**
+     * Compiles the given map
+     * @param args the map on the classpath, the target file and optionally the tolerance of the simplification
+     * @throws Exception if the map cannot be read or the target cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        if(args.length < 2) throw new IllegalArgumentException("Usage: MapCompiler <map> <target" + CompiledMapReader.EXTENSION + "> [tolerance]");
+
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : -1;
+        compile(new SimpleMapReader(tolerance).readFile(args[0]), Paths.get(args[1]));
+    }
+
+    /**
+     * Writes the given continents into a compiled map
+     * @param continents the continents of the map
+     * @param path the file, which will be overwritten
+     * @throws IOException if the file cannot be written
+     */
+    public static void compile(List<Continent> continents, Path path) throws IOException {
+        // Number the countries in the order of the continents, a country of several continents only once
+        Map<Country, Integer> ids = new IdentityHashMap<>();
+        List<Country> countries = new ArrayList<>();
+        continents.forEach(continent -> continent.getCountries().forEach(country -> {
+            if(ids.putIfAbsent(country, countries.size()) == null) countries.add(country);
+        }));
+
+        // Count the patches, points, neighbors and members
+        int patches = 0, points = 0, neighbors = 0, members = 0;
+        for(Country country : countries) {
+            for(Polygon patch : patches(country)) {
+                patches++;
+                points += patch.getPoints().size() / 2;
+            }
+            for(Country neighbor : country.getNeighbors()) if(ids.containsKey(neighbor)) neighbors++;
+        }
+        for(Continent continent : continents) members += continent.getCountries().size();
+
+        // Collect the names in the string table
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        int[] nameStart = new int[countries.size() + continents.size() + 1];
+        for(int i = 0; i < countries.size(); i++) {
+            nameStart[i] = strings.size();
+            byte[] name = countries.get(i).getBaseName().getBytes(StandardCharsets.UTF_8);
+            strings.write(name, 0, name.length);
+        }
+        for(int i = 0; i < continents.size(); i++) {
+            nameStart[countries.size() + i] = strings.size();
+            byte[] name = continents.get(i).getBaseName().getBytes(StandardCharsets.UTF_8);
+            strings.write(name, 0, name.length);
+        }
+        nameStart[nameStart.length - 1] = strings.size();
+
+        long size = CompiledMapReader.size(countries.size(), continents.size(), patches, points, neighbors, members, strings.size());
+        if(size < 0) throw new IllegalArgumentException("The map is too big for a compiled map!");
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(CompiledMapReader.MAGIC);
+        buffer.putInt(CompiledMapReader.VERSION);
+        buffer.putInt(countries.size());
+        buffer.putInt(continents.size());
+        buffer.putInt(patches);
+        buffer.putInt(points);
+        buffer.putInt(neighbors);
+        buffer.putInt(members);
+        buffer.putInt(strings.size());
+
+        for(int start : nameStart) buffer.putInt(start);
+        for(Country country : countries) {
+            buffer.putFloat((float) country.getCapital().getX());
+            buffer.putFloat((float) country.getCapital().getY());
+        }
+
+        // The first patch of every country and the first point of every patch
+        int patch = 0;
+        for(Country country : countries) {
+            buffer.putInt(patch);
+            patch += patches(country).size();
+        }
+        buffer.putInt(patch);
+        int point = 0;
+        for(Country country : countries) for(Polygon polygon : patches(country)) {
+            buffer.putInt(point);
+            point += polygon.getPoints().size() / 2;
+        }
+        buffer.putInt(point);
+
+        // The neighbors as compressed rows
+        int neighbor = 0;
+        for(Country country : countries) {
+            buffer.putInt(neighbor);
+            for(Country n : country.getNeighbors()) if(ids.containsKey(n)) neighbor++;
+        }
+        buffer.putInt(neighbor);
+        for(Country country : countries) for(Country n : country.getNeighbors()) if(ids.containsKey(n)) buffer.putInt(ids.get(n));
+
+        // The continents
+        for(Continent continent : continents) buffer.putInt(continent.getPoints());
+        int member = 0;
+        for(Continent continent : continents) {
+            buffer.putInt(member);
+            member += continent.getCountries().size();
+        }
+        buffer.putInt(member);
+        for(Continent continent : continents) for(Country country : continent.getCountries()) buffer.putInt(ids.get(country));
+
+        // The points of all patches and the string table
+        for(Country country : countries) for(Polygon polygon : patches(country)) for(Double coordinate : polygon.getPoints()) buffer.putFloat(coordinate.floatValue());
+        buffer.put(strings.toByteArray());
+        buffer.flip();
+
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while(buffer.hasRemaining()) channel.write(buffer);
+        }
+
+        LOGGER.info("Compiled " + countries.size() + " countries with " + points + " points to " + path);
+    }
+
+    /**
+     * Returns the patches of the given country
+     * @param country the country
+     * @return the patches or an empty list, if the country has none
+     */
+    private static List<Polygon> patches(Country country) {
+        return country.getPatches() == null ? new ArrayList<>() : country.getPatches();
+    }
+}
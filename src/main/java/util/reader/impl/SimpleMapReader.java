@@ -8,16 +8,15 @@ import javafx.scene.shape.Polygon;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import util.reader.MapReader;
+import util.spatial.PolygonSimplifier;
 
 import java.io.BufferedReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.function.Predicate;
 
 /**
  * A simple map reader, which reads a map file with the following format:
@@ -25,6 +24,9 @@ import java.util.function.Predicate;
  * capital­of &lt;Country&gt; &lt;x&gt; &lt;y&gt;
  * neighbors­of &lt;Country&gt; : &lt;T1&gt; ­ &lt;T2&gt; ­ ... &lt;Tn&gt;
  * continent &lt;Cont&gt; &lt;N&gt; : &lt;T1&gt; ­ &lt;T2&gt; ­ ... &lt;Tn&gt;
+ * The file is read line by line and every line is scanned only once. The names are resolved, when the whole file is
+ * read, so the commands can be in any order.
+ * The patches can be simplified while reading, so that they do not contain more points than the outline needs
  */
 public class SimpleMapReader implements MapReader {
 
@@ -33,193 +35,410 @@ public class SimpleMapReader implements MapReader {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleMapReader.class);
 
+    /**
+     * The maximum distance of a removed point of a patch (negative keeps every point)
+     */
+    private final double tolerance;
+
+    /**
+     * Creates a map reader, which keeps every point of the patches
+     */
+    public SimpleMapReader() {
+        this(-1);
+    }
+
+    /**
+     * Creates a map reader, which removes the duplicate points of the patches and simplifies them
+     * @param tolerance the maximum distance of a removed point (0 removes only duplicates and points on a straight
+     *                  line, negative keeps every point)
+     */
+    public SimpleMapReader(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
     @Override
     public List<Continent> readFile(String relativePath) throws IOException, IllegalCommandException {
         LOGGER.info("Try to read " + relativePath);
 
-        // The list, which will contain all continents
-        List<Continent> continentsList = new ArrayList<>();
+        InputStream stream = getClass().getResourceAsStream(relativePath);
+        if(stream == null) throw new FileNotFoundException(relativePath + " not found!");
 
-        // The map, which will contain all patches
-        Map<String, List<Polygon>> patchesMap = new HashMap<>();
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return read(reader);
+        }
+    }
 
-        // The list, which will contain all capitals
-        Map<String, Point2D> capitalsMap = new HashMap<>();
+    /**
+     * Reads the continents from the given reader
+     * @param reader the reader of the .map file
+     * @return a list of continents
+     * @throws IOException if the reader fails
+     * @throws IllegalCommandException if a line of the file is not valid
+     */
+    private List<Continent> read(BufferedReader reader) throws IOException, IllegalCommandException {
+        // The patches of every country
+        Map<String, List<Polygon>> patchesMap = new HashMap<>();
 
-        // The list, which will contain every country's name
-        List<String> names = new ArrayList<>();
+        // The capitals of every country, in the order of the file
+        Map<String, Point2D> capitalsMap = new LinkedHashMap<>();
 
-        // The list, which will contain all countries
-        Map<String, Country> countries = new HashMap<>();
+        // The continents with their points and the names of their countries
+        List<String> continentNames = new ArrayList<>();
+        List<Integer> continentPoints = new ArrayList<>();
+        Map<String, List<Integer>> memberships = new HashMap<>();
 
-        List<String> neighborsStringList = new ArrayList<>();
-        List<String> continentsStringList = new ArrayList<>();
-        List<String> patchesStringList = new ArrayList<>();
-        List<String> capitalStringList = new ArrayList<>();
+        // The neighbors of the countries
+        List<NeighborsLine> neighborsLines = new ArrayList<>();
 
-        BufferedReader reader = new BufferedReader(new InputStreamReader(getClass().getResourceAsStream(relativePath)));
+        // The coordinates of the current line
+        int[] coords = new int[64];
 
         // Run through every line in the file
-        // (Using a simple for loop for throwing an exception)
-        String sLine;
-        while((sLine = reader.readLine()) != null) {
-
-            // Get the command
-            String[] sp = sLine.split(" ");
+        Line line = new Line();
+        String text;
+        while((text = reader.readLine()) != null) {
+            line.reset(text);
 
-            // Substring the line, so you can work better with it
-            sLine = sLine.substring(sp[0].length()+1);
+            // Skip empty lines
+            if(!line.nextToken()) continue;
 
             // Delegate the command
-            switch (sp[0]){
-                case "patch-of":
-                    patchesStringList.add(sLine);
+            String command = line.token();
+            switch (command){
+                case "patch-of": {
+                    String name = line.readName();
+                    int count = 0;
+                    while(line.nextToken()) {
+                        if(count == coords.length) coords = Arrays.copyOf(coords, count * 2);
+                        coords[count++] = line.intToken();
+                    }
+                    if(count < 6 || count % 2 != 0) throw line.error("A patch needs at least three points with x and y coordinates!");
+
+                    // Remove the points, which the outline does not need
+                    double[] border = new double[count];
+                    for(int i = 0; i < count; i++) border[i] = coords[i];
+                    if(tolerance >= 0) border = PolygonSimplifier.simplify(PolygonSimplifier.removeDuplicates(border), tolerance);
+
+                    patchesMap.computeIfAbsent(name, key -> new ArrayList<>()).add(new Polygon(border));
                     break;
-                case "capital-of":
-                    capitalStringList.add(sLine);
+                }
+                case "capital-of": {
+                    String name = line.readName();
+                    if(!line.nextToken()) throw line.error("A capital needs x and y coordinates!");
+                    int x = line.intToken();
+                    if(!line.nextToken()) throw line.error("A capital needs x and y coordinates!");
+                    int y = line.intToken();
+                    if(line.nextToken()) throw line.error("A capital needs only x and y coordinates!");
+
+                    capitalsMap.put(name, new Point2D(x, y));
                     break;
-                case "neighbors-of":
-                    neighborsStringList.add(sLine);
+                }
+                case "neighbors-of": {
+                    String name = line.readNameBefore(':');
+                    neighborsLines.add(new NeighborsLine(line.getNumber(), name, line.readNameList()));
                     break;
-                case "continent":
-                    continentsStringList.add(sLine);
+                }
+                case "continent": {
+                    String nameAndPoints = line.readNameBefore(':');
+                    int split = nameAndPoints.lastIndexOf(' ');
+                    if(split < 0) throw line.error("A continent needs a name and its points!");
+
+                    int continent = continentNames.size();
+                    continentNames.add(nameAndPoints.substring(0, split));
+                    continentPoints.add(parseInt(nameAndPoints.substring(split + 1), line));
+
+                    for(String country : line.readNameList()) {
+                        List<Integer> continents = memberships.computeIfAbsent(country, key -> new ArrayList<>(1));
+                        if(continents.isEmpty() || continents.get(continents.size() - 1) != continent) continents.add(continent);
+                    }
                     break;
-                default: throw new IllegalCommandException("Command " + sp[0] + " unknown!");
+                }
+                default: throw line.error("Command " + command + " unknown!");
             }
         }
 
-        // Add the patches (polygons)
-        patchesStringList.forEach(line -> {
-            // Split the line again, so you can get the name and the (x,y) coordinates of the patch
-            String[] sp = line.split(" ");
-            StringBuilder nameBuilder = new StringBuilder();
-            List<Integer> border = new ArrayList<>();
-
-            for(String s : sp){
-                // Check for the name
-                if(isNonNumeric(s)) nameBuilder.append(s).append(" ");
-                    // else just add the integer to the border list
-                else border.add(Integer.parseInt(s));
-            }
-
-            // Remove the last space character
-            nameBuilder.deleteCharAt(nameBuilder.length()-1);
-
-            // Create the new polygon from the border list
-            Polygon polygon = new Polygon(border.stream().mapToDouble(i->i).toArray());
+        // Create the countries, which have a capital
+        Map<String, Country> countries = new HashMap<>();
+        capitalsMap.forEach((name, capital) -> countries.put(name, new Country(name, patchesMap.get(name), capital)));
 
-            // Add the polygon to the patchesMap
-            List<Polygon> polygons = patchesMap.get(nameBuilder.toString());
-            if(polygons == null) polygons = new ArrayList<>();
-            polygons.add(polygon);
-            patchesMap.put(nameBuilder.toString(), polygons);
+        // Add the countries to their respective continent
+        List<List<Country>> continentCountries = new ArrayList<>();
+        for(int i = 0; i < continentNames.size(); i++) continentCountries.add(new ArrayList<>());
+        countries.values().forEach(country -> {
+            List<Integer> continents = memberships.get(country.getName());
+            if(continents != null) continents.forEach(continent -> continentCountries.get(continent).add(country));
         });
 
-        // Add the capitals
-        capitalStringList.forEach(line -> {
-            // Check if the length is min. 3 (name, x, y)
-            if(line.length() < 3) throw new IllegalArgumentException("Line must have a length of 3 or more in 'capital-of'!");
-
-            // Split the line again, so you can get the name and the (x,y) coordinate of the capital
-            String[] sp = line.split(" ");
-            StringBuilder nameBuilder = new StringBuilder();
-            List<Integer> coords = new ArrayList<>();
-
-            for(String s : sp){
-                // Check for the name
-                if(isNonNumeric(s)) nameBuilder.append(s).append(" ");
-                else coords.add(Integer.parseInt(s));
-            }
-
-            // Remove the last space character
-            nameBuilder.deleteCharAt(nameBuilder.length()-1);
-
-            // Add the names to the 'names' list
-            String name = nameBuilder.toString();
-            names.add(name);
-
-            capitalsMap.put(name, new Point2D(coords.get(0), coords.get(1)));
-        });
+        List<Continent> continentsList = new ArrayList<>();
+        for(int i = 0; i < continentNames.size(); i++)
+            continentsList.add(new Continent(continentCountries.get(i), continentPoints.get(i), continentNames.get(i)));
 
-        // Create the countries
-        names.forEach(name -> countries.put(name, new Country(name, patchesMap.get(name), capitalsMap.get(name))));
+        // Only the countries of the continents can be neighbors, whose names are compared case-insensitively
+        Map<String, Country> continentCountriesByName = new HashMap<>();
+        continentCountries.forEach(list -> list.forEach(country -> continentCountriesByName.put(country.getName().toLowerCase(Locale.ROOT), country)));
 
-        // Add the countries to their respective continent
-        continentsStringList.forEach(line -> {
+        // Add the neighbors
+        for(NeighborsLine neighborsLine : neighborsLines) {
+            Country country = countries.get(neighborsLine.name);
+            if(country == null) throw new IllegalCommandException("Line " + neighborsLine.number + ": Country " + neighborsLine.name + " has no capital!");
 
-            // Split the continent with its points and the countries
-            String[] sp = line.split(" : ");
+            List<Country> neighbors = new ArrayList<>();
+            for(String name : neighborsLine.neighbors) {
+                Country neighbor = continentCountriesByName.get(name.toLowerCase(Locale.ROOT));
+                if(neighbor == null) LOGGER.warn("Line " + neighborsLine.number + ": Neighbor " + name + " is not part of any continent");
+                else if(!neighbors.contains(neighbor)) neighbors.add(neighbor);
+            }
+            country.setNeighbors(neighbors);
+        }
 
-            // Split for continent name and points
-            String[] sp2 = sp[0].split(" ");
+        // Complete the missing neighbors (the .map file does not always have all correct neighbors)
+        continentsList.forEach(continent -> continent.getCountries().forEach(country -> country.getNeighbors().forEach(neighbor -> {
+            if(!neighbor.getNeighbors().contains(country)) neighbor.getNeighbors().add(country);
+        })));
 
-            // Get the name
-            StringBuilder nameBuilder = new StringBuilder();
-            for(int i=0; i<sp2.length-1; i++)
-                nameBuilder.append(sp2[i]).append(" ");
+        return continentsList;
+    }
 
-            // Remove the last space character
-            nameBuilder.deleteCharAt(nameBuilder.length()-1);
+    /**
+     * Parses the given integer
+     * @param s the integer
+     * @param line the line, which contains the integer
+     * @return the integer
+     * @throws IllegalCommandException if the string is not an integer
+     */
+    private static int parseInt(String s, Line line) throws IllegalCommandException {
+        try {
+            return Integer.parseInt(s);
+        } catch(NumberFormatException e) {
+            throw line.error(s + " is not an integer!");
+        }
+    }
 
-            // Get the points
-            int points = Integer.parseInt(sp2[sp2.length-1]);
+    /**
+     * The neighbors of a country, which are resolved after the whole file is read
+     */
+    private static class NeighborsLine {
+
+        /**
+         * The number of the line
+         */
+        private final int number;
+
+        /**
+         * The country's name
+         */
+        private final String name;
+
+        /**
+         * The names of the neighbors
+         */
+        private final List<String> neighbors;
+
+        /**
+         * Creates the neighbors of a country
+         * @param number the number of the line
+         * @param name the country's name
+         * @param neighbors the names of the neighbors
+         */
+        private NeighborsLine(int number, String name, List<String> neighbors) {
+            this.number = number;
+            this.name = name;
+            this.neighbors = neighbors;
+        }
+    }
 
-            // Split the countries
-            List<String> c = new ArrayList<>(Arrays.asList(sp[1].split(" - ")));
+    /**
+     * A scanner for the tokens of a line, which are separated by whitespace
+     */
+    private static class Line {
+
+        /**
+         * The text of the line
+         */
+        private String text;
+
+        /**
+         * The number of the line, beginning with 1
+         */
+        private int number;
+
+        /**
+         * The index of the next character, which is not scanned yet
+         */
+        private int position;
+
+        /**
+         * The start of the current token
+         */
+        private int tokenStart;
+
+        /**
+         * The end of the current token (exclusive)
+         */
+        private int tokenEnd;
+
+        /**
+         * Starts to scan the next line
+         * @param text the text of the line
+         */
+        private void reset(String text) {
+            this.text = text;
+            number++;
+            position = tokenStart = tokenEnd = 0;
+        }
 
-            // Create the countries list
-            Map<String, Country> copyCountries = new HashMap<>(countries);
+        /**
+         * Returns the number of the line
+         * @return number
+         */
+        private int getNumber() {
+            return number;
+        }
 
-            Predicate<Country> notContainsCountry = p -> !c.contains(p.getName());
-            copyCountries.values().removeIf(notContainsCountry);
+        /**
+         * Scans the next token
+         * @return true, if there is another token; otherwise false
+         */
+        private boolean nextToken() {
+            int length = text.length();
+            while(position < length && Character.isWhitespace(text.charAt(position))) position++;
+            if(position == length) return false;
+
+            tokenStart = position;
+            while(position < length && !Character.isWhitespace(text.charAt(position))) position++;
+            tokenEnd = position;
+            return true;
+        }
 
-            // Add the countries to the continent
-            continentsList.add(new Continent(new ArrayList<>(copyCountries.values()), points, nameBuilder.toString()));
-        });
+        /**
+         * Returns the current token
+         * @return the token
+         */
+        private String token() {
+            return text.substring(tokenStart, tokenEnd);
+        }
 
-        // Add the neighbors
-        neighborsStringList.forEach(line -> {
-            // Split the actual country from the neighbors
-            String[] sp = line.split(" : ");
+        /**
+         * Checks if the current token is an integer with an optional sign
+         * @return true, if the token is an integer; otherwise false
+         */
+        private boolean isIntToken() {
+            int i = tokenStart;
+            if(text.charAt(i) == '-' || text.charAt(i) == '+') i++;
+            if(i == tokenEnd) return false;
+            for(; i < tokenEnd; i++) if(text.charAt(i) < '0' || text.charAt(i) > '9') return false;
+            return true;
+        }
 
-            // Split the neighbors
-            List<String> neighs;
-            if(sp[1].contains("-")) neighs = new ArrayList<>(Arrays.asList(sp[1].split(" - ")));
-            else neighs = new ArrayList<>(Collections.singletonList(sp[1]));
+        /**
+         * Parses the current token as an integer without creating a string
+         * @return the integer
+         * @throws IllegalCommandException if the token is not an integer or too big
+         */
+        private int intToken() throws IllegalCommandException {
+            if(!isIntToken()) throw error(token() + " is not an integer!");
+
+            int i = tokenStart;
+            boolean negative = text.charAt(i) == '-';
+            if(negative || text.charAt(i) == '+') i++;
+
+            long value = 0;
+            for(; i < tokenEnd; i++) {
+                value = value * 10 + (text.charAt(i) - '0');
+                if(value > Integer.MAX_VALUE + 1L) throw error(token() + " is too big!");
+            }
+            if(negative) value = -value;
+            if(value > Integer.MAX_VALUE) throw error(token() + " is too big!");
+            return (int) value;
+        }
 
-            // Get the actual neighbors
-            List<Country> neighbors = new ArrayList<>();
+        /**
+         * Reads the name, which is followed by the coordinates. The name ends before the first integer, which is
+         * the current token afterwards
+         * @return the name
+         * @throws IllegalCommandException if the line does not contain a name
+         */
+        private String readName() throws IllegalCommandException {
+            int nameStart = -1, nameEnd = -1;
+            int next = position;
+            while(nextToken()) {
+                if(isIntToken()) break;
+                if(nameStart < 0) nameStart = tokenStart;
+                nameEnd = tokenEnd;
+                next = position;
+            }
+            if(nameStart < 0) throw error("The name is missing!");
 
-            continentsList.forEach(continent -> continent.getCountries().forEach(country -> {
-                neighs.forEach(neigh -> {
-                    if(country.getName().equalsIgnoreCase(neigh)) neighbors.add(country);
-                });
-            }));
-            Country c = countries.get(sp[0]);
-            c.setNeighbors(neighbors);
-            countries.put(sp[0], c);
+            // Scan the integer again, so the caller can read it
+            position = next;
+            return name(nameStart, nameEnd);
+        }
 
-        });
+        /**
+         * Reads the name, which ends before the given separator, and skips the separator
+         * @param separator the separator
+         * @return the name
+         * @throws IllegalCommandException if the line does not contain the separator or a name
+         */
+        private String readNameBefore(char separator) throws IllegalCommandException {
+            int end = text.indexOf(separator, position);
+            if(end < 0) throw error("'" + separator + "' is missing!");
+
+            int nameStart = position, nameEnd = end;
+            while(nameStart < nameEnd && Character.isWhitespace(text.charAt(nameStart))) nameStart++;
+            while(nameEnd > nameStart && Character.isWhitespace(text.charAt(nameEnd - 1))) nameEnd--;
+            if(nameStart == nameEnd) throw error("The name is missing!");
+
+            position = end + 1;
+            return name(nameStart, nameEnd);
+        }
 
-        // Complete the missing neighbors (the .map file does not always have all correct neighbors)
-        continentsList.forEach(continent -> continent.getCountries().forEach(country -> country.getNeighbors().forEach(neighbor -> {
-            if(!neighbor.getNeighbors().contains(country)) neighbor.getNeighbors().add(country);
-        })));
+        /**
+         * Reads the rest of the line as names, which are separated by " - "
+         * @return the names
+         * @throws IllegalCommandException if a name is missing
+         */
+        private List<String> readNameList() throws IllegalCommandException {
+            List<String> names = new ArrayList<>();
+            int nameStart = -1, nameEnd = -1;
+            while(nextToken()) {
+                if(tokenEnd - tokenStart == 1 && text.charAt(tokenStart) == '-') {
+                    if(nameStart < 0) throw error("A name is missing before '-'!");
+                    names.add(name(nameStart, nameEnd));
+                    nameStart = -1;
+                    continue;
+                }
+                if(nameStart < 0) nameStart = tokenStart;
+                nameEnd = tokenEnd;
+            }
+            if(nameStart < 0) throw error(names.isEmpty() ? "The names are missing!" : "A name is missing after '-'!");
+            names.add(name(nameStart, nameEnd));
+            return names;
+        }
 
-        return continentsList;
-    }
+        /**
+         * Returns the words between the given indices, which are separated by single spaces
+         * @param start the start of the first word
+         * @param end the end of the last word (exclusive)
+         * @return the name
+         */
+        private String name(int start, int end) {
+            String name = text.substring(start, end);
+            for(int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if(c != ' ' ? Character.isWhitespace(c) : i + 1 < name.length() && Character.isWhitespace(name.charAt(i + 1)))
+                    return String.join(" ", name.split("\\s+"));
+            }
+            return name;
+        }
 
-    /**
-     * Checks if the given string is a number
-     * @param s the string to be checked
-     * @return true, if the string is a number; otherwise false
-     */
-    private static boolean isNonNumeric(String s){
-        try {
-            Double.parseDouble(s);
-            return false;
-        } catch(NumberFormatException e){
-            return true;
+        /**
+         * Creates the exception for an invalid line
+         * @param message the message
+         * @return the exception with the line's number
+         */
+        private IllegalCommandException error(String message) {
+            return new IllegalCommandException("Line " + number + ": " + message);
         }
     }
 }
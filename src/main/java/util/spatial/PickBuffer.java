@@ -0,0 +1,179 @@
+package util.spatial;
+
+import dto.Continent;
+import dto.Country;
+import javafx.scene.shape.Polygon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An offscreen raster, in which every pixel holds the country, whose patch covers the pixel's center.
+ * The patches are filled with the non-zero winding rule of a {@link Polygon} in the order of the continents, so where
+ * patches overlap, the last patch wins like in the {@link SpatialIndex}. A pick is a single array read, no matter how
+ * many patches the map has, but the raster has to be filled again, whenever the patches change
+ */
+public final class PickBuffer {
+
+    /**
+     * The value of a pixel, which does not belong to any country
+     */
+    private static final int NONE = -1;
+
+    /**
+     * The width of the raster in pixels
+     */
+    private final int width;
+
+    /**
+     * The height of the raster in pixels
+     */
+    private final int height;
+
+    /**
+     * The countries, which are referenced by the pixels
+     */
+    private final Country[] countries;
+
+    /**
+     * The country of every pixel (row by row) or {@link #NONE}
+     */
+    private final int[] pixels;
+
+    /**
+     * Fills the raster with the current patches of all countries. The raster reaches from the origin to the right
+     * and lower border of the patches, which is the size of the window, in which the patches are shown
+     * @param continents the continents with their countries
+     */
+    public PickBuffer(List<Continent> continents) {
+        List<Country> countryList = new ArrayList<>();
+        Map<Country, Integer> countryIndices = new IdentityHashMap<>();
+        List<double[]> coordinateList = new ArrayList<>();
+        List<Integer> ownerList = new ArrayList<>();
+
+        // Collect the coordinates of every patch and the size of the raster
+        double right = 0, bottom = 0;
+        for(Continent continent : continents) {
+            for(Country country : continent.getCountries()) {
+                // A country, which belongs to more than one continent, is only added once
+                Integer owner = countryIndices.get(country);
+                if(owner == null) {
+                    owner = countryList.size();
+                    countryIndices.put(country, owner);
+                    countryList.add(country);
+                }
+                for(Polygon patch : country.getPatches()) {
+                    List<Double> points = patch.getPoints();
+                    double[] coords = new double[points.size() & ~1];
+                    for(int i = 0; i < coords.length; i++) coords[i] = points.get(i);
+                    for(int i = 0; i < coords.length; i += 2) {
+                        right = Math.max(right, coords[i]);
+                        bottom = Math.max(bottom, coords[i + 1]);
+                    }
+                    coordinateList.add(coords);
+                    ownerList.add(owner);
+                }
+            }
+        }
+
+        width = (int) Math.ceil(right);
+        height = (int) Math.ceil(bottom);
+        countries = countryList.toArray(new Country[0]);
+        pixels = new int[width * height];
+        Arrays.fill(pixels, NONE);
+
+        // The crossings of a scanline are reused for every patch
+        double[] crossings = new double[16];
+        int[] directions = new int[16];
+        for(int patch = 0; patch < coordinateList.size(); patch++) {
+            double[] coords = coordinateList.get(patch);
+            if(coords.length < 6) continue;
+            if(coords.length / 2 > crossings.length) {
+                crossings = new double[coords.length / 2];
+                directions = new int[coords.length / 2];
+            }
+            fill(coords, ownerList.get(patch), crossings, directions);
+        }
+    }
+
+    /**
+     * Returns the country at the given point
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the country or null, if there is no country at the point
+     */
+    public Country getCountryAt(double x, double y) {
+        if(x < 0 || y < 0 || x >= width || y >= height) return null;
+        int country = pixels[(int) y * width + (int) x];
+        return country == NONE ? null : countries[country];
+    }
+
+    /**
+     * Returns the width of the raster
+     * @return width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the raster
+     * @return height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Fills the pixels, whose centers are inside the given polygon, with the given country
+     * @param coords the coordinates of the polygon as x, y pairs
+     * @param country the country's index in {@link #countries}
+     * @param crossings the buffer for the x coordinates, where the edges cross a scanline
+     * @param directions the buffer for the directions of the crossing edges (1 downwards, -1 upwards)
+     */
+    private void fill(double[] coords, int country, double[] crossings, int[] directions) {
+        double top = Double.POSITIVE_INFINITY, bottom = Double.NEGATIVE_INFINITY;
+        for(int i = 1; i < coords.length; i += 2) {
+            top = Math.min(top, coords[i]);
+            bottom = Math.max(bottom, coords[i]);
+        }
+
+        int firstRow = Math.max(0, (int) Math.ceil(top - 0.5));
+        int lastRow = Math.min(height - 1, (int) Math.floor(bottom - 0.5));
+        for(int row = firstRow; row <= lastRow; row++) {
+            double y = row + 0.5;
+
+            // Find the edges, which cross the scanline through the pixel centers, sorted by x
+            int count = 0;
+            for(int i = 0, j = coords.length - 2; i < coords.length; j = i, i += 2) {
+                double y1 = coords[j + 1], y2 = coords[i + 1];
+                if((y1 <= y) == (y2 <= y)) continue;
+
+                double x = coords[j] + (y - y1) * (coords[i] - coords[j]) / (y2 - y1);
+                int direction = y2 > y1 ? 1 : -1;
+                int k = count++;
+                while(k > 0 && crossings[k - 1] > x) {
+                    crossings[k] = crossings[k - 1];
+                    directions[k] = directions[k - 1];
+                    k--;
+                }
+                crossings[k] = x;
+                directions[k] = direction;
+            }
+
+            // Fill the spans, in which the winding number is not zero
+            int winding = 0;
+            for(int k = 0; k < count - 1; k++) {
+                winding += directions[k];
+                if(winding == 0) continue;
+
+                int from = Math.max(0, (int) Math.ceil(crossings[k] - 0.5));
+                int to = Math.min(width - 1, (int) Math.ceil(crossings[k + 1] - 0.5) - 1);
+                if(from <= to) Arrays.fill(pixels, row * width + from, row * width + to + 1, country);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package util.spatial;
+
+import java.util.Arrays;
+
+/**
+ * Reduces the points of closed polygons, whose coordinates are stored as x, y pairs.
+ * Consecutive duplicates are removed without changing the shape, the Douglas-Peucker algorithm removes every point,
+ * which is closer to the simplified outline than the given tolerance
+ */
+public final class PolygonSimplifier {
+
+    /**
+     * The minimum number of points of a simplified polygon
+     */
+    private static final int MIN_POINTS = 3;
+
+    // only static methods
+    private PolygonSimplifier() {}
+
+    /**
+     * Removes every point, which equals its predecessor, including the last point, if it equals the first point
+     * @param coords the coordinates of the polygon as x, y pairs
+     * @return the coordinates without duplicates (the given array, if there are none)
+     */
+    public static double[] removeDuplicates(double[] coords) {
+        int points = coords.length / 2;
+        double[] result = new double[points * 2];
+        int count = 0;
+        for(int i = 0; i < points; i++) {
+            double x = coords[i * 2], y = coords[i * 2 + 1];
+            if(count > 0 && x == result[count * 2 - 2] && y == result[count * 2 - 1]) continue;
+            result[count * 2] = x;
+            result[count * 2 + 1] = y;
+            count++;
+        }
+
+        // The polygon is closed, so the last point must not repeat the first one
+        while(count > 1 && result[0] == result[count * 2 - 2] && result[1] == result[count * 2 - 1]) count--;
+
+        return count == points && count * 2 == coords.length ? coords : Arrays.copyOf(result, count * 2);
+    }
+
+    /**
+     * Simplifies the polygon with the Douglas-Peucker algorithm. Every removed point has at most the given distance
+     * to the simplified outline and at least three points are kept
+     * @param coords the coordinates of the polygon as x, y pairs without consecutive duplicates
+     * @param tolerance the maximum distance of a removed point (0 removes only points on a straight line)
+     * @return the coordinates of the simplified polygon (the given array, if no point can be removed)
+     */
+    public static double[] simplify(double[] coords, double tolerance) {
+        int points = coords.length / 2;
+        if(points <= MIN_POINTS || tolerance < 0) return coords;
+
+        // Split the ring at the first point and the point farthest away from it
+        int far = 0;
+        double farDistance = -1;
+        for(int i = 1; i < points; i++) {
+            double dx = coords[i * 2] - coords[0], dy = coords[i * 2 + 1] - coords[1];
+            double distance = dx * dx + dy * dy;
+            if(distance > farDistance) {
+                far = i;
+                farDistance = distance;
+            }
+        }
+
+        boolean[] keep = new boolean[points + 1];
+        keep[0] = keep[far] = keep[points] = true;
+        double squaredTolerance = tolerance * tolerance;
+        simplify(coords, points, 0, far, squaredTolerance, keep);
+        simplify(coords, points, far, points, squaredTolerance, keep);
+
+        int count = 0;
+        for(int i = 0; i < points; i++) if(keep[i]) count++;
+
+        // Keep the farthest points, if the polygon would collapse into a line
+        if(count < MIN_POINTS) {
+            int third = farthestFromLine(coords, points, 0, far);
+            if(third < 0) return coords;
+            keep[third] = true;
+            count++;
+        }
+        if(count == points) return coords;
+
+        double[] result = new double[count * 2];
+        int next = 0;
+        for(int i = 0; i < points; i++) {
+            if(!keep[i]) continue;
+            result[next++] = coords[i * 2];
+            result[next++] = coords[i * 2 + 1];
+        }
+        return result;
+    }
+
+    /**
+     * Marks the points between the given points, which have to be kept. The index of the last point may be the
+     * number of points, which means the first point again
+     * @param coords the coordinates of the polygon as x, y pairs
+     * @param points the number of points
+     * @param first the index of the first point, which is kept
+     * @param last the index of the last point, which is kept
+     * @param squaredTolerance the squared maximum distance of a removed point
+     * @param keep the points, which are kept
+     */
+    private static void simplify(double[] coords, int points, int first, int last, double squaredTolerance, boolean[] keep) {
+        // Use a stack instead of recursion, as the outlines can have thousands of points
+        int[] stack = new int[64];
+        int size = 0;
+        stack[size++] = first;
+        stack[size++] = last;
+
+        while(size > 0) {
+            int end = stack[--size];
+            int start = stack[--size];
+
+            int farthest = -1;
+            double farthestDistance = squaredTolerance;
+            for(int i = start + 1; i < end; i++) {
+                double distance = squaredDistance(coords, points, i, start, end);
+                if(distance > farthestDistance) {
+                    farthest = i;
+                    farthestDistance = distance;
+                }
+            }
+            if(farthest < 0) continue;
+
+            keep[farthest] = true;
+            if(size + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            stack[size++] = start;
+            stack[size++] = farthest;
+            stack[size++] = farthest;
+            stack[size++] = end;
+        }
+    }
+
+    /**
+     * Returns the point, which is farthest away from the line through the given points
+     * @param coords the coordinates of the polygon as x, y pairs
+     * @param points the number of points
+     * @param first the index of the first point of the line
+     * @param second the index of the second point of the line
+     * @return the index of the point or -1, if all points are on the line
+     */
+    private static int farthestFromLine(double[] coords, int points, int first, int second) {
+        int farthest = -1;
+        double farthestDistance = 0;
+        for(int i = 0; i < points; i++) {
+            double distance = squaredDistance(coords, points, i, first, second);
+            if(distance > farthestDistance) {
+                farthest = i;
+                farthestDistance = distance;
+            }
+        }
+        return farthest;
+    }
+
+    /**
+     * Returns the squared distance of a point to the segment between two other points
+     * @param coords the coordinates of the polygon as x, y pairs
+     * @param points the number of points, which is taken as the first point again
+     * @param point the index of the point
+     * @param start the index of the segment's start
+     * @param end the index of the segment's end
+     * @return the squared distance
+     */
+    private static double squaredDistance(double[] coords, int points, int point, int start, int end) {
+        double x = coords[(point % points) * 2], y = coords[(point % points) * 2 + 1];
+        double x1 = coords[(start % points) * 2], y1 = coords[(start % points) * 2 + 1];
+        double x2 = coords[(end % points) * 2], y2 = coords[(end % points) * 2 + 1];
+
+        double dx = x2 - x1, dy = y2 - y1;
+        double length = dx * dx + dy * dy;
+        double t = length == 0 ? 0 : Math.max(0, Math.min(1, ((x - x1) * dx + (y - y1) * dy) / length));
+        double px = x1 + t * dx - x, py = y1 + t * dy - y;
+        return px * px + py * py;
+    }
+}
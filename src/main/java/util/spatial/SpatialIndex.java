@@ -0,0 +1,237 @@
+package util.spatial;
+
+import dto.Continent;
+import dto.Country;
+import javafx.scene.shape.Polygon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable index, which finds the country at a point without testing every patch.
+ * The bounding boxes of all patches are sorted into a uniform grid, which has about as many cells as there are
+ * patches. A point query only tests the few patches of its cell, first against their bounding boxes and then with
+ * the non-zero winding rule of a {@link Polygon}. The coordinates are copied, so the index has to be built again,
+ * whenever the patches change
+ */
+public final class SpatialIndex {
+
+    /**
+     * The country of every patch (indexed by the patch's index)
+     */
+    private final Country[] countries;
+
+    /**
+     * The coordinates of every patch as x, y pairs (indexed by the patch's index)
+     */
+    private final double[][] coordinates;
+
+    /**
+     * The bounding boxes of all patches: min x, min y, max x and max y of every patch one after the other
+     */
+    private final double[] boxes;
+
+    /**
+     * The left border of the grid
+     */
+    private final double minX;
+
+    /**
+     * The upper border of the grid
+     */
+    private final double minY;
+
+    /**
+     * The width of a cell
+     */
+    private final double cellWidth;
+
+    /**
+     * The height of a cell
+     */
+    private final double cellHeight;
+
+    /**
+     * The number of columns of the grid
+     */
+    private final int columns;
+
+    /**
+     * The number of rows of the grid
+     */
+    private final int rows;
+
+    /**
+     * The start of every cell's patches in {@link #cellPatches} (one more entry than there are cells)
+     */
+    private final int[] cellStart;
+
+    /**
+     * The patches of all cells, one cell after the other and in the order of the continents
+     */
+    private final int[] cellPatches;
+
+    /**
+     * Builds the index of the current patches of all countries
+     * @param continents the continents with their countries
+     */
+    public SpatialIndex(List<Continent> continents) {
+        // Collect the patches in the same order, in which the countries were searched before
+        List<Country> countryList = new ArrayList<>();
+        List<double[]> coordinateList = new ArrayList<>();
+        continents.forEach(continent -> continent.getCountries().forEach(country -> country.getPatches().forEach(patch -> {
+            List<Double> points = patch.getPoints();
+            double[] coords = new double[points.size() & ~1];
+            for(int i = 0; i < coords.length; i++) coords[i] = points.get(i);
+            countryList.add(country);
+            coordinateList.add(coords);
+        })));
+
+        int patches = countryList.size();
+        countries = countryList.toArray(new Country[0]);
+        coordinates = coordinateList.toArray(new double[0][]);
+        boxes = new double[patches * 4];
+
+        // Calculate the bounding boxes and the bounds of the whole map
+        double left = Double.POSITIVE_INFINITY, top = Double.POSITIVE_INFINITY;
+        double right = Double.NEGATIVE_INFINITY, bottom = Double.NEGATIVE_INFINITY;
+        for(int patch = 0; patch < patches; patch++) {
+            double[] coords = coordinates[patch];
+            double x1 = Double.POSITIVE_INFINITY, y1 = Double.POSITIVE_INFINITY;
+            double x2 = Double.NEGATIVE_INFINITY, y2 = Double.NEGATIVE_INFINITY;
+            for(int i = 0; i < coords.length; i += 2) {
+                x1 = Math.min(x1, coords[i]);
+                x2 = Math.max(x2, coords[i]);
+                y1 = Math.min(y1, coords[i + 1]);
+                y2 = Math.max(y2, coords[i + 1]);
+            }
+            boxes[patch * 4] = x1;
+            boxes[patch * 4 + 1] = y1;
+            boxes[patch * 4 + 2] = x2;
+            boxes[patch * 4 + 3] = y2;
+
+            // A patch without points cannot contain anything
+            if(coords.length == 0) continue;
+            left = Math.min(left, x1);
+            top = Math.min(top, y1);
+            right = Math.max(right, x2);
+            bottom = Math.max(bottom, y2);
+        }
+        if(left > right) left = top = right = bottom = 0;
+
+        // Choose about one cell per patch with the proportions of the map
+        double width = Math.max(right - left, 1);
+        double height = Math.max(bottom - top, 1);
+        int cells = Math.max(patches, 1);
+        columns = Math.max(1, (int) Math.round(Math.sqrt(cells * width / height)));
+        rows = Math.max(1, (cells + columns - 1) / columns);
+        minX = left;
+        minY = top;
+        cellWidth = width / columns;
+        cellHeight = height / rows;
+
+        // Count the patches of every cell, then fill the cells in the order of the patches
+        cellStart = new int[columns * rows + 1];
+        for(int patch = 0; patch < patches; patch++) {
+            if(coordinates[patch].length == 0) continue;
+            for(int row = row(boxes[patch * 4 + 1]); row <= row(boxes[patch * 4 + 3]); row++)
+                for(int column = column(boxes[patch * 4]); column <= column(boxes[patch * 4 + 2]); column++)
+                    cellStart[row * columns + column + 1]++;
+        }
+        for(int cell = 0; cell < columns * rows; cell++) cellStart[cell + 1] += cellStart[cell];
+
+        cellPatches = new int[cellStart[columns * rows]];
+        int[] next = new int[columns * rows];
+        System.arraycopy(cellStart, 0, next, 0, next.length);
+        for(int patch = 0; patch < patches; patch++) {
+            if(coordinates[patch].length == 0) continue;
+            for(int row = row(boxes[patch * 4 + 1]); row <= row(boxes[patch * 4 + 3]); row++)
+                for(int column = column(boxes[patch * 4]); column <= column(boxes[patch * 4 + 2]); column++)
+                    cellPatches[next[row * columns + column]++] = patch;
+        }
+    }
+
+    /**
+     * Returns the country at the given point. If patches overlap, the country of the last patch wins
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the country or null, if there is no country at the point
+     */
+    public Country getCountryAt(double x, double y) {
+        if(x < minX || y < minY || x > minX + columns * cellWidth || y > minY + rows * cellHeight) return null;
+
+        int cell = row(y) * columns + column(x);
+
+        // Search backwards, so the first match is the last patch
+        for(int i = cellStart[cell + 1] - 1; i >= cellStart[cell]; i--) {
+            int patch = cellPatches[i];
+            int box = patch * 4;
+            if(x < boxes[box] || y < boxes[box + 1] || x > boxes[box + 2] || y > boxes[box + 3]) continue;
+            if(contains(coordinates[patch], x, y)) return countries[patch];
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of indexed patches
+     * @return the number of patches
+     */
+    public int size() {
+        return countries.length;
+    }
+
+    /**
+     * Returns the column of the given x coordinate
+     * @param x the x coordinate
+     * @return the column, which is clamped to the grid
+     */
+    private int column(double x) {
+        return Math.min(columns - 1, Math.max(0, (int) ((x - minX) / cellWidth)));
+    }
+
+    /**
+     * Returns the row of the given y coordinate
+     * @param y the y coordinate
+     * @return the row, which is clamped to the grid
+     */
+    private int row(double y) {
+        return Math.min(rows - 1, Math.max(0, (int) ((y - minY) / cellHeight)));
+    }
+
+    /**
+     * Checks with the non-zero winding rule, if the closed polygon contains the given point
+     * @param coords the coordinates of the polygon as x, y pairs
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return true, if the point is inside the polygon; otherwise false
+     */
+    private static boolean contains(double[] coords, double x, double y) {
+        int winding = 0;
+        for(int i = 0, j = coords.length - 2; i < coords.length; j = i, i += 2) {
+            double x1 = coords[j], y1 = coords[j + 1];
+            double x2 = coords[i], y2 = coords[i + 1];
+
+            // Count the edges, which cross the horizontal ray to the right of the point
+            if(y1 <= y) {
+                if(y2 > y && cross(x1, y1, x2, y2, x, y) > 0) winding++;
+            } else if(y2 <= y && cross(x1, y1, x2, y2, x, y) < 0) {
+                winding--;
+            }
+        }
+        return winding != 0;
+    }
+
+    /**
+     * Returns the cross product, which tells on which side of the edge the point lies
+     * @param x1 the x coordinate of the edge's start
+     * @param y1 the y coordinate of the edge's start
+     * @param x2 the x coordinate of the edge's end
+     * @param y2 the y coordinate of the edge's end
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return a positive value, if the point is left of the edge; a negative value, if it is right of the edge
+     */
+    private static double cross(double x1, double y1, double x2, double y2, double x, double y) {
+        return (x2 - x1) * (y - y1) - (x - x1) * (y2 - y1);
+    }
+}
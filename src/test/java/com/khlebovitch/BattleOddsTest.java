@@ -0,0 +1,129 @@
+package com.khlebovitch;
+
+import engine.BattleOdds;
+import engine.BattleOutcomes;
+import engine.Dice;
+import engine.SplitMix64;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The tester for the {@link BattleOdds}
+ */
+public class BattleOddsTest {
+
+    /**
+     * The {@link BattleOddsTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(BattleOddsTest.class);
+
+    /**
+     * The tolerance for comparing probabilities
+     */
+    private static final double DELTA = 1e-9;
+
+    /**
+     * The test {@link BattleOdds} with the default rules
+     */
+    private static BattleOdds odds;
+
+    @BeforeClass
+    public static void setUp(){
+        LOGGER.info("Set up");
+        odds = new BattleOdds(3, 2, 30);
+    }
+
+    @Test
+    public void getRollProbability_shouldMatchTheKnownOdds() {
+        LOGGER.info("Enter getRollProbability_shouldMatchTheKnownOdds");
+
+        // One dice against one dice: the attacker wins with the same number
+        Assert.assertEquals(21.0 / 36, odds.getRollProbability(1, 1, 0), DELTA);
+
+        // Three dice against two dice
+        Assert.assertEquals(4816.0 / 7776, odds.getRollProbability(3, 2, 0), DELTA);
+        Assert.assertEquals(1981.0 / 7776, odds.getRollProbability(3, 2, 1), DELTA);
+        Assert.assertEquals(979.0 / 7776, odds.getRollProbability(3, 2, 2), DELTA);
+
+        LOGGER.info("Finished getRollProbability_shouldMatchTheKnownOdds");
+    }
+
+    @Test
+    public void getWinProbability_shouldBeConsistent() {
+        LOGGER.info("Enter getWinProbability_shouldBeConsistent");
+
+        Assert.assertEquals(1, odds.getWinProbability(5, 0), DELTA);
+        Assert.assertEquals(0, odds.getWinProbability(1, 5), DELTA);
+        Assert.assertEquals(21.0 / 36, odds.getWinProbability(2, 1), DELTA);
+        Assert.assertEquals(2 * 21.0 / 36 + 15.0 / 36, odds.getExpectedAttackerSurvivors(2, 1), DELTA);
+
+        // More attackers can only help
+        for(int defender = 1; defender <= odds.getCap(); defender++)
+            for(int attacker = 2; attacker <= odds.getCap(); attacker++)
+                Assert.assertTrue(odds.getWinProbability(attacker, defender) >= odds.getWinProbability(attacker - 1, defender));
+
+        LOGGER.info("Finished getWinProbability_shouldBeConsistent");
+    }
+
+    @Test
+    public void getWinProbability_shouldMatchTheDice() {
+        LOGGER.info("Enter getWinProbability_shouldMatchTheDice");
+
+        Dice dice = new Dice(7, 3, 2);
+        int battles = 100000;
+        int wins = 0;
+
+        // Fight the battles with the same rules as the engine
+        for(int i = 0; i < battles; i++) {
+            int attacker = 10;
+            int defender = 8;
+            while(attacker > 1 && defender > 0) {
+                int a = odds.attackDice(attacker);
+                int d = odds.defendDice(defender);
+                int losses = dice.roll(a, d);
+                attacker -= losses;
+                defender -= Math.min(a, d) - losses;
+            }
+            if(defender == 0) wins++;
+        }
+
+        Assert.assertEquals(odds.getWinProbability(10, 8), (double) wins / battles, 0.01);
+
+        LOGGER.info("Finished getWinProbability_shouldMatchTheDice");
+    }
+
+    @Test
+    public void getOutcomes_shouldMatchTheWinProbability() {
+        LOGGER.info("Enter getOutcomes_shouldMatchTheWinProbability");
+
+        BattleOutcomes outcomes = odds.getOutcomes(20, 15, 1);
+
+        double sum = 0;
+        double conquered = 0;
+        for(int i = 0; i < outcomes.size(); i++) {
+            sum += outcomes.getProbability(i);
+            if(outcomes.getDefenderArmies(i) == 0) conquered += outcomes.getProbability(i);
+        }
+        Assert.assertEquals(1, sum, DELTA);
+        Assert.assertEquals(odds.getWinProbability(20, 15), conquered, DELTA);
+
+        // The battle is cached
+        Assert.assertSame(outcomes, odds.getOutcomes(20, 15, 1));
+
+        // The attacker stops at the threshold
+        outcomes = odds.getOutcomes(200, 150, 50);
+        SplitMix64 random = new SplitMix64(3);
+        for(int i = 0; i < 1000; i++) {
+            int outcome = outcomes.sample(random);
+            Assert.assertTrue(outcomes.getDefenderArmies(outcome) == 0 || outcomes.getAttackerArmies(outcome) <= 50);
+        }
+
+        // Battles beyond the cap are cached as well
+        Assert.assertSame(outcomes, odds.getOutcomes(200, 150, 50));
+
+        LOGGER.info("Finished getOutcomes_shouldMatchTheWinProbability");
+    }
+}
@@ -0,0 +1,94 @@
+package com.khlebovitch;
+
+import dto.Continent;
+import dto.Country;
+import exceptions.IllegalCommandException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.impl.SimpleContinentService;
+import util.reader.impl.CompiledMapReader;
+import util.reader.impl.MapCompiler;
+import util.reader.impl.SimpleMapReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The tester for the {@link CompiledMapReader}
+ */
+public class CompiledMapReaderTest {
+
+    /**
+     * The {@link CompiledMapReaderTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledMapReaderTest.class);
+
+    @Test
+    public void readFile_shouldReturnTheCompiledMap() throws IOException, IllegalCommandException {
+        LOGGER.info("Enter readFile_shouldReturnTheCompiledMap");
+
+        List<Continent> expected = new SimpleMapReader().readFile("/map/world.map");
+        Path path = Files.createTempFile("world", CompiledMapReader.EXTENSION);
+        MapCompiler.compile(expected, path);
+        List<Continent> actual = new CompiledMapReader().readFile(path.toString());
+
+        // The countries keep their order, so the map graph is the same
+        Assert.assertEquals(SimpleContinentService.compileMapGraph(expected).getFingerprint(), SimpleContinentService.compileMapGraph(actual).getFingerprint());
+
+        Assert.assertEquals(expected.size(), actual.size());
+        for(int c = 0; c < expected.size(); c++) {
+            Assert.assertEquals(expected.get(c).getBaseName(), actual.get(c).getBaseName());
+            Assert.assertEquals(expected.get(c).getPoints(), actual.get(c).getPoints());
+
+            for(int i = 0; i < expected.get(c).getCountries().size(); i++) {
+                Country expectedCountry = expected.get(c).getCountries().get(i);
+                Country actualCountry = actual.get(c).getCountries().get(i);
+                Assert.assertEquals(expectedCountry.getBaseName(), actualCountry.getBaseName());
+                Assert.assertEquals(expectedCountry.getCapital(), actualCountry.getCapital());
+                Assert.assertEquals(expectedCountry.getNeighbors().size(), actualCountry.getNeighbors().size());
+                for(int n = 0; n < expectedCountry.getNeighbors().size(); n++)
+                    Assert.assertEquals(expectedCountry.getNeighbors().get(n).getBaseName(), actualCountry.getNeighbors().get(n).getBaseName());
+
+                Assert.assertEquals(expectedCountry.getPatches().size(), actualCountry.getPatches().size());
+                for(int p = 0; p < expectedCountry.getPatches().size(); p++)
+                    Assert.assertEquals(expectedCountry.getPatches().get(p).getPoints(), actualCountry.getPatches().get(p).getPoints());
+            }
+        }
+
+        // A file with a decreasing start of a patch is not read
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int countries = buffer.getInt(8);
+        int continents = buffer.getInt(12);
+        int patchStart = 9 * Integer.BYTES + (countries + continents + 1) * Integer.BYTES + countries * 2 * Float.BYTES;
+        buffer.putInt(patchStart + Integer.BYTES, -5);
+        Files.write(path, bytes);
+        assertDamaged(path);
+
+        // Neither is a file, which is not a compiled map
+        Files.write(path, new byte[]{1, 2, 3, 4});
+        assertDamaged(path);
+
+        Files.delete(path);
+
+        LOGGER.info("Finished readFile_shouldReturnTheCompiledMap");
+    }
+
+    /**
+     * Asserts, that the given file cannot be read
+     * @param path the damaged file
+     */
+    private static void assertDamaged(Path path) {
+        try {
+            new CompiledMapReader().readFile(path.toString());
+            Assert.fail("A damaged map should not be read");
+        } catch(IOException e) {
+            LOGGER.info(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.khlebovitch;
+
+import engine.GameEngine;
+import engine.GamePhase;
+import engine.event.EventJournal;
+import engine.event.GameEvent;
+import engine.event.GameRecord;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The tester for the {@link EventJournal}
+ */
+public class EventJournalTest {
+
+    /**
+     * The {@link EventJournalTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventJournalTest.class);
+
+    @Test
+    public void read_shouldReturnThePublishedEvents() throws IOException {
+        LOGGER.info("Enter read_shouldReturnThePublishedEvents");
+
+        GameEngine engine = new GameEngine();
+        engine.ensureCountries(4);
+        int player = engine.addPlayer();
+        int enemy = engine.addPlayer();
+        engine.setCurrentPlayer(player);
+
+        // Without a map there are no reinforcements
+        engine.setReserve(player, 2);
+
+        Path path = Files.createTempFile("journal", ".bin");
+        List<GameEvent> published = new ArrayList<>();
+        try(EventJournal journal = new EventJournal(path, 42, 2, 0b10, 4)) {
+            engine.addEventListener(published::add);
+            engine.addEventListener(journal);
+
+            for(int country = 0; country < 4; country++) engine.acquire(country);
+            while(engine.getPhase() == GamePhase.ARMY_PLACEMENT) engine.place(0);
+            engine.endTurn();
+
+            // Only the events up to the last flush are published, the end of the turn does not flush
+            Assert.assertEquals(published.size() / 4 * 4, EventJournal.read(path).getEvents().size());
+            journal.flush();
+            Assert.assertEquals(published, EventJournal.read(path).getEvents());
+        }
+
+        // The engine publishes the actions in order
+        Assert.assertEquals(GameEvent.countryAcquired(player, 0), published.get(0));
+        Assert.assertEquals(GameEvent.countryAcquired(enemy, 1), published.get(1));
+        Assert.assertTrue(published.contains(GameEvent.phaseChanged(player, GamePhase.ARMY_PLACEMENT)));
+        Assert.assertTrue(published.contains(GameEvent.armiesPlaced(player, 0, 1)));
+        Assert.assertTrue(published.contains(GameEvent.turnEnded(player, enemy)));
+
+        // The journal contains the same events
+        GameRecord record = EventJournal.read(path);
+        Assert.assertEquals(published, record.getEvents());
+        Assert.assertEquals(42, record.getSeed());
+        Assert.assertFalse(record.isComputer(player));
+        Assert.assertTrue(record.isComputer(enemy));
+
+        Files.delete(path);
+
+        LOGGER.info("Finished read_shouldReturnThePublishedEvents");
+    }
+}
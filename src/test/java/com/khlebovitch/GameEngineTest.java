@@ -0,0 +1,293 @@
+package com.khlebovitch;
+
+import engine.AttackResult;
+import engine.GameEngine;
+import engine.GamePhase;
+import engine.GameState;
+import engine.MapGraph;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The tester for the {@link GameEngine}
+ */
+public class GameEngineTest {
+
+    /**
+     * The {@link GameEngineTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameEngineTest.class);
+
+    /**
+     * The test {@link GameEngine}
+     */
+    private GameEngine engine;
+
+    /**
+     * The number of countries in the test game
+     */
+    private final int countries = 6;
+
+    /**
+     * The index of the first player
+     */
+    private int player;
+
+    /**
+     * The index of the second player
+     */
+    private int enemy;
+
+    @Before
+    public void setUp(){
+        LOGGER.info("Set up");
+
+        // Two continents with three countries each, which are connected by 2 - 3
+        MapGraph.Builder builder = new MapGraph.Builder();
+        for(int i = 0; i < countries; i++) builder.addCountry("Country" + i);
+        builder.addNeighbors(0, 1).addNeighbors(0, 2).addNeighbors(1, 2)
+                .addNeighbors(3, 4).addNeighbors(3, 5).addNeighbors(4, 5)
+                .addNeighbors(2, 3)
+                .addContinent("First", 2, new int[]{0, 1, 2})
+                .addContinent("Second", 3, new int[]{3, 4, 5});
+
+        engine = new GameEngine();
+        engine.setMapGraph(builder.build());
+
+        player = engine.addPlayer();
+        enemy = engine.addPlayer();
+        engine.setCurrentPlayer(player);
+    }
+
+    @After
+    public void tearDown(){
+        LOGGER.info("Tear down");
+    }
+
+    @Test
+    public void acquire_shouldSwitchToArmyPlacementAsSoonAsAllCountriesAreTaken() {
+        LOGGER.info("Enter acquire_shouldSwitchToArmyPlacementAsSoonAsAllCountriesAreTaken");
+
+        // The players take the countries alternately, so the player gets the first continent
+        for(int country : new int[]{0, 3, 1, 4, 2}) {
+            Assert.assertTrue(engine.acquire(country));
+            Assert.assertEquals(GamePhase.ACQUISITION, engine.getPhase());
+        }
+
+        // A country can only be acquired once
+        Assert.assertFalse(engine.acquire(0));
+
+        Assert.assertTrue(engine.acquire(5));
+        Assert.assertEquals(GamePhase.ARMY_PLACEMENT, engine.getPhase());
+
+        // The player gets one army for three countries and the bonus of the first continent
+        Assert.assertEquals(player, engine.getCurrentPlayer());
+        Assert.assertEquals(1 + 2, engine.getState().getReserve(player));
+
+        LOGGER.info("Finished acquire_shouldSwitchToArmyPlacementAsSoonAsAllCountriesAreTaken");
+    }
+
+    @Test
+    public void place_shouldSwitchToMoveAndAttackAsSoonAsAllArmiesArePlaced() {
+        LOGGER.info("Enter place_shouldSwitchToMoveAndAttackAsSoonAsAllArmiesArePlaced");
+
+        for(int country : new int[]{0, 3, 1, 4, 2, 5}) engine.acquire(country);
+
+        // The player cannot place armies on the enemy's countries
+        Assert.assertFalse(engine.place(3));
+
+        while(engine.getPhase() == GamePhase.ARMY_PLACEMENT) Assert.assertTrue(engine.place(0));
+
+        Assert.assertEquals(GamePhase.MOVE_AND_ATTACK, engine.getPhase());
+        Assert.assertEquals(0, engine.getState().getReserve(player));
+        Assert.assertEquals(1 + 3, engine.getArmies(player, 0));
+
+        LOGGER.info("Finished place_shouldSwitchToMoveAndAttackAsSoonAsAllArmiesArePlaced");
+    }
+
+    @Test
+    public void setOwner_shouldKeepTheCountryCountsUpToDate() {
+        LOGGER.info("Enter setOwner_shouldKeepTheCountryCountsUpToDate");
+
+        engine.setOwner(0, player);
+        engine.setOwner(1, player);
+        engine.setOwner(1, enemy);
+        Assert.assertEquals(1, engine.countCountries(player));
+        Assert.assertEquals(1, engine.countCountries(enemy));
+        Assert.assertEquals(countries - 2, engine.getState().getFreeCountries());
+
+        for(int i = 0; i < countries; i++) engine.setOwner(i, enemy);
+        Assert.assertTrue(engine.allCountriesTaken());
+        Assert.assertTrue(engine.hasWon(enemy));
+
+        engine.setOwner(0, GameState.NONE);
+        Assert.assertFalse(engine.allCountriesTaken());
+        Assert.assertEquals(countries - 1, engine.countCountries(enemy));
+
+        LOGGER.info("Finished setOwner_shouldKeepTheCountryCountsUpToDate");
+    }
+
+    @Test
+    public void holdsContinent_shouldFollowTheOwnerChanges() {
+        LOGGER.info("Enter holdsContinent_shouldFollowTheOwnerChanges");
+
+        for(int i = 0; i < 3; i++) engine.setOwner(i, player);
+        engine.setOwner(3, player);
+        Assert.assertTrue(engine.holdsContinent(player, 0));
+        Assert.assertFalse(engine.holdsContinent(player, 1));
+        Assert.assertEquals(4 / 3 + 2, engine.getReinforcements(player));
+
+        // Losing one country breaks the continent
+        engine.setOwner(1, enemy);
+        Assert.assertFalse(engine.holdsContinent(player, 0));
+        Assert.assertEquals(3 / 3, engine.getReinforcements(player));
+
+        LOGGER.info("Finished holdsContinent_shouldFollowTheOwnerChanges");
+    }
+
+    @Test
+    public void attack_shouldNotAttackOwnCountryOrWithOneArmy() {
+        LOGGER.info("Enter attack_shouldNotAttackOwnCountryOrWithOneArmy");
+
+        engine.setOwner(0, player);
+        engine.setOwner(1, player);
+        engine.setOwner(2, enemy);
+
+        Assert.assertEquals(AttackResult.OWN_COUNTRY, engine.attack(player, 0, 1));
+        Assert.assertEquals(AttackResult.NOT_ENOUGH_ARMIES, engine.attack(player, 0, 2));
+
+        LOGGER.info("Finished attack_shouldNotAttackOwnCountryOrWithOneArmy");
+    }
+
+    @Test
+    public void attack_shouldBeReproducibleWithTheSameSeed() {
+        LOGGER.info("Enter attack_shouldBeReproducibleWithTheSameSeed");
+
+        GameEngine other = new GameEngine();
+        other.ensureCountries(countries);
+        other.addPlayer();
+        other.addPlayer();
+
+        for(GameEngine e : new GameEngine[]{engine, other}) {
+            e.setSeed(42);
+            e.setOwner(0, player);
+            e.setOwner(1, enemy);
+            e.addArmies(0, 20);
+            e.addArmies(1, 20);
+        }
+
+        // Both engines should throw the same dice
+        for(int i = 0; i < 10; i++) {
+            Assert.assertEquals(engine.attack(player, 0, 1), other.attack(player, 0, 1));
+            Assert.assertEquals(engine.getState().getArmies(0), other.getState().getArmies(0));
+            Assert.assertEquals(engine.getState().getArmies(1), other.getState().getArmies(1));
+        }
+
+        LOGGER.info("Finished attack_shouldBeReproducibleWithTheSameSeed");
+    }
+
+    @Test
+    public void blitz_shouldFightUntilTheThreshold() {
+        LOGGER.info("Enter blitz_shouldFightUntilTheThreshold");
+
+        engine.setSeed(1);
+        engine.setOwner(0, player);
+        engine.setOwner(1, enemy);
+        engine.addArmies(0, 29);
+        engine.addArmies(1, 29);
+
+        Assert.assertEquals(AttackResult.NOT_ENOUGH_ARMIES, engine.blitz(player, 0, 1, 30));
+
+        AttackResult result = engine.blitz(player, 0, 1, 5);
+        if(result == AttackResult.CONQUERED) {
+            Assert.assertEquals(player, engine.getOwner(1));
+            Assert.assertEquals(1, engine.getArmies(player, 0));
+        }
+        else {
+            Assert.assertEquals(AttackResult.DEFENDED, result);
+            Assert.assertTrue(engine.getArmies(player, 0) <= 5);
+            Assert.assertTrue(engine.getArmies(enemy, 1) > 0);
+        }
+
+        LOGGER.info("Finished blitz_shouldFightUntilTheThreshold");
+    }
+
+    @Test
+    public void attack_shouldOnlyAttackNeighbors() {
+        LOGGER.info("Enter attack_shouldOnlyAttackNeighbors");
+
+        engine.setOwner(0, player);
+        engine.setOwner(5, enemy);
+        engine.addArmies(0, 5);
+
+        Assert.assertEquals(AttackResult.NO_NEIGHBOR, engine.attack(player, 0, 5));
+        Assert.assertEquals(6, engine.getArmies(player, 0));
+        Assert.assertEquals(1, engine.getArmies(enemy, 5));
+
+        LOGGER.info("Finished attack_shouldOnlyAttackNeighbors");
+    }
+
+    @Test
+    public void attack_shouldKeepTheNumberOfArmiesConsistent() {
+        LOGGER.info("Enter attack_shouldKeepTheNumberOfArmiesConsistent");
+
+        engine.setOwner(0, player);
+        engine.setOwner(1, enemy);
+        engine.addArmies(0, 50);
+
+        // Attack until the country is conquered
+        AttackResult result = AttackResult.DEFENDED;
+        while(result == AttackResult.DEFENDED) {
+            int before = engine.getState().getArmies(0) + engine.getState().getArmies(1);
+            result = engine.attack(player, 0, 1);
+            int after = engine.getState().getArmies(0) + engine.getState().getArmies(1);
+
+            // Every dice round removes at least one army
+            if(result == AttackResult.DEFENDED) Assert.assertTrue(after < before);
+        }
+
+        Assert.assertEquals(AttackResult.CONQUERED, result);
+        Assert.assertEquals(player, engine.getOwner(1));
+        Assert.assertEquals(1, engine.getState().getArmies(0));
+
+        LOGGER.info("Finished attack_shouldKeepTheNumberOfArmiesConsistent");
+    }
+
+    @Test
+    public void endTurn_shouldSkipPlayersWithoutCountries() {
+        LOGGER.info("Enter endTurn_shouldSkipPlayersWithoutCountries");
+
+        int third = engine.addPlayer();
+        for(int i = 0; i < countries; i++) engine.setOwner(i, i % 2 == 0 ? player : third);
+
+        engine.endTurn();
+        Assert.assertEquals(third, engine.getCurrentPlayer());
+
+        engine.endTurn();
+        Assert.assertEquals(player, engine.getCurrentPlayer());
+        Assert.assertNotEquals(GameState.NONE, engine.getCurrentPlayer());
+
+        LOGGER.info("Finished endTurn_shouldSkipPlayersWithoutCountries");
+    }
+
+    @Test
+    public void getEdgeSource_shouldFindTheCountryOfEveryEdge() {
+        LOGGER.info("Enter getEdgeSource_shouldFindTheCountryOfEveryEdge");
+
+        MapGraph mapGraph = engine.getMapGraph();
+        Assert.assertEquals(14, mapGraph.getEdgeCount());
+        for(int country = 0; country < countries; country++) {
+            for(int k = 0; k < mapGraph.getNeighborCount(country); k++) {
+                int edge = mapGraph.getEdge(country, k);
+                Assert.assertEquals(country, mapGraph.getEdgeSource(edge));
+                Assert.assertEquals(mapGraph.getNeighbor(country, k), mapGraph.getEdgeTarget(edge));
+            }
+        }
+
+        LOGGER.info("Finished getEdgeSource_shouldFindTheCountryOfEveryEdge");
+    }
+}
@@ -0,0 +1,67 @@
+package com.khlebovitch;
+
+import engine.BattleOdds;
+import engine.ai.RandomStrategy;
+import engine.ai.Strategy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import simulation.MatchSimulator;
+import simulation.SimulationResult;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The tester for the {@link MatchSimulator}
+ */
+public class MatchSimulatorTest {
+
+    /**
+     * The {@link MatchSimulatorTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MatchSimulatorTest.class);
+
+    /**
+     * The test {@link MatchSimulator}
+     */
+    private MatchSimulator simulator;
+
+    @Before
+    public void setUp(){
+        LOGGER.info("Set up");
+
+        Strategy random = new RandomStrategy();
+        simulator = new MatchSimulator(TestMaps.ring(8), new BattleOdds(3, 2, 50), Arrays.asList(random, random), 42, 200);
+    }
+
+    @Test
+    public void run_shouldCountEveryGame() {
+        LOGGER.info("Enter run_shouldCountEveryGame");
+
+        SimulationResult result = simulator.run(100);
+
+        Assert.assertEquals(100, result.getGames());
+        Assert.assertEquals(1 - (double) result.getDraws() / 100, result.getSeatWinRate(0) + result.getSeatWinRate(1), 1e-9);
+
+        LOGGER.info("Finished run_shouldCountEveryGame");
+    }
+
+    @Test
+    public void run_shouldNotDependOnTheNumberOfThreads() {
+        LOGGER.info("Enter run_shouldNotDependOnTheNumberOfThreads");
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool multi = new ForkJoinPool(4);
+        try {
+            Assert.assertEquals(simulator.run(100, single), simulator.run(100, multi));
+        } finally {
+            single.shutdown();
+            multi.shutdown();
+        }
+
+        LOGGER.info("Finished run_shouldNotDependOnTheNumberOfThreads");
+    }
+}
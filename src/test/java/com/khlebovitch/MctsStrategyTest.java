@@ -0,0 +1,85 @@
+package com.khlebovitch;
+
+import engine.BattleOdds;
+import engine.GameEngine;
+import engine.GamePhase;
+import engine.MapGraph;
+import engine.ai.MctsStrategy;
+import engine.ai.RandomStrategy;
+import engine.ai.Strategy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import simulation.MatchSimulator;
+import simulation.SimulationResult;
+
+import java.util.Arrays;
+
+/**
+ * The tester for the {@link MctsStrategy}
+ */
+public class MctsStrategyTest {
+
+    /**
+     * The {@link MctsStrategyTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MctsStrategyTest.class);
+
+    /**
+     * The test map, see {@link TestMaps#ring(int)}
+     */
+    private MapGraph mapGraph;
+
+    /**
+     * The test {@link MctsStrategy}
+     */
+    private Strategy mcts;
+
+    @Before
+    public void setUp(){
+        LOGGER.info("Set up");
+
+        mapGraph = TestMaps.ring(8);
+
+        mcts = new MctsStrategy(0, 50, 4);
+    }
+
+    @Test
+    public void attack_shouldTakeTheLastCountry() {
+        LOGGER.info("Enter attack_shouldTakeTheLastCountry");
+
+        GameEngine engine = new GameEngine();
+        engine.setMapGraph(mapGraph);
+        int player = engine.addPlayer();
+        int enemy = engine.addPlayer();
+
+        for(int i = 0; i < 7; i++) engine.setOwner(i, player);
+        engine.setOwner(7, enemy);
+        engine.addArmies(0, 30);
+
+        // Let the player start a new turn and place all armies
+        engine.setCurrentPlayer(enemy);
+        engine.endTurn();
+        while(engine.getPhase() == GamePhase.ARMY_PLACEMENT) engine.place(0);
+
+        mcts.attack(engine, player);
+        Assert.assertTrue(engine.hasWon(player));
+
+        LOGGER.info("Finished attack_shouldTakeTheLastCountry");
+    }
+
+    @Test
+    public void mcts_shouldBeatTheRandomStrategy() {
+        LOGGER.info("Enter mcts_shouldBeatTheRandomStrategy");
+
+        // The random strategy throws the dice once per neighbor like the original computer player
+        MatchSimulator simulator = new MatchSimulator(mapGraph, new BattleOdds(3, 2, 50), Arrays.asList(mcts, new RandomStrategy()), 7, 200);
+        SimulationResult result = simulator.run(20);
+
+        Assert.assertTrue(result.getStrategyWinRate("MCTS") > result.getStrategyWinRate("Random"));
+
+        LOGGER.info("Finished mcts_shouldBeatTheRandomStrategy");
+    }
+}
@@ -0,0 +1,55 @@
+package com.khlebovitch;
+
+import dto.Continent;
+import dto.Country;
+import exceptions.IllegalCommandException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.impl.SimpleContinentService;
+import util.spatial.PickBuffer;
+import util.spatial.SpatialIndex;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The tester for the {@link PickBuffer}
+ */
+public class PickBufferTest {
+
+    /**
+     * The {@link PickBufferTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PickBufferTest.class);
+
+    @Test
+    public void getCountryAt_shouldFindTheSameCountryAsTheSpatialIndex() throws IOException, IllegalCommandException {
+        LOGGER.info("Enter getCountryAt_shouldFindTheSameCountryAsTheSpatialIndex");
+
+        List<Continent> continents = new SimpleContinentService().getContinents("/map/world.map");
+        PickBuffer pickBuffer = new PickBuffer(continents);
+        SpatialIndex spatialIndex = new SpatialIndex(continents);
+
+        // Compare the centers of all pixels
+        int pixels = 0, land = 0, different = 0;
+        for(int y = 0; y < pickBuffer.getHeight(); y++) {
+            for(int x = 0; x < pickBuffer.getWidth(); x++) {
+                Country expected = spatialIndex.getCountryAt(x + 0.5, y + 0.5);
+                Country actual = pickBuffer.getCountryAt(x + 0.25, y + 0.75);
+                if(expected != actual) different++;
+                if(actual != null) land++;
+                pixels++;
+            }
+        }
+        LOGGER.info(different + " of " + pixels + " pixels differ, " + land + " pixels are land");
+
+        Assert.assertEquals(0, different);
+        Assert.assertTrue(land > pixels / 10);
+        Assert.assertNull(pickBuffer.getCountryAt(-1, 10));
+        Assert.assertNull(pickBuffer.getCountryAt(10, pickBuffer.getHeight()));
+
+        LOGGER.info("Finished getCountryAt_shouldFindTheSameCountryAsTheSpatialIndex");
+    }
+}
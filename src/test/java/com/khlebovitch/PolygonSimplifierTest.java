@@ -0,0 +1,110 @@
+package com.khlebovitch;
+
+import dto.Continent;
+import exceptions.IllegalCommandException;
+import javafx.scene.shape.Polygon;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import util.reader.impl.SimpleMapReader;
+import util.spatial.PolygonSimplifier;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The tester for the {@link PolygonSimplifier}
+ */
+public class PolygonSimplifierTest {
+
+    /**
+     * The {@link PolygonSimplifierTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PolygonSimplifierTest.class);
+
+    @Test
+    public void removeDuplicates_shouldKeepTheOutline() {
+        LOGGER.info("Enter removeDuplicates_shouldKeepTheOutline");
+
+        double[] square = {0, 0, 0, 0, 10, 0, 10, 10, 10, 10, 0, 10, 0, 0};
+        Assert.assertArrayEquals(new double[]{0, 0, 10, 0, 10, 10, 0, 10}, PolygonSimplifier.removeDuplicates(square), 0);
+
+        // A polygon without duplicates is not copied
+        double[] triangle = {0, 0, 10, 0, 5, 5};
+        Assert.assertSame(triangle, PolygonSimplifier.removeDuplicates(triangle));
+
+        LOGGER.info("Finished removeDuplicates_shouldKeepTheOutline");
+    }
+
+    @Test
+    public void simplify_shouldKeepEveryPointWithinTheTolerance() throws IOException, IllegalCommandException {
+        LOGGER.info("Enter simplify_shouldKeepEveryPointWithinTheTolerance");
+
+        // The points on the edges of a square are not needed
+        double[] square = {0, 0, 5, 0, 10, 0, 10, 5, 10, 10, 5, 10, 0, 10, 0, 5};
+        Assert.assertArrayEquals(new double[]{0, 0, 10, 0, 10, 10, 0, 10}, PolygonSimplifier.simplify(square, 0), 0);
+
+        List<Continent> original = new SimpleMapReader().readFile("/map/world.map");
+        for(double tolerance : new double[]{0, 0.5, 1, 4}) {
+            List<Continent> simplified = new SimpleMapReader(tolerance).readFile("/map/world.map");
+            int originalPoints = 0, simplifiedPoints = 0;
+
+            for(int c = 0; c < original.size(); c++) {
+                Assert.assertEquals(original.get(c).getBaseName(), simplified.get(c).getBaseName());
+                for(int i = 0; i < original.get(c).getCountries().size(); i++) {
+                    List<Polygon> originalPatches = original.get(c).getCountries().get(i).getPatches();
+                    List<Polygon> simplifiedPatches = simplified.get(c).getCountries().get(i).getPatches();
+                    Assert.assertEquals(originalPatches.size(), simplifiedPatches.size());
+
+                    for(int p = 0; p < originalPatches.size(); p++) {
+                        double[] points = toArray(originalPatches.get(p));
+                        double[] outline = toArray(simplifiedPatches.get(p));
+                        Assert.assertTrue(outline.length >= 6);
+
+                        // Every removed point is close to the simplified outline
+                        for(int j = 0; j < points.length; j += 2)
+                            Assert.assertTrue(distance(outline, points[j], points[j + 1]) <= tolerance + 1e-9);
+
+                        originalPoints += points.length / 2;
+                        simplifiedPoints += outline.length / 2;
+                    }
+                }
+            }
+
+            LOGGER.info("Tolerance " + tolerance + ": " + simplifiedPoints + " of " + originalPoints + " points");
+            Assert.assertTrue(simplifiedPoints < originalPoints);
+        }
+
+        LOGGER.info("Finished simplify_shouldKeepEveryPointWithinTheTolerance");
+    }
+
+    /**
+     * Returns the points of the given polygon
+     * @param polygon the polygon
+     * @return the coordinates as x, y pairs
+     */
+    private static double[] toArray(Polygon polygon) {
+        return polygon.getPoints().stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    /**
+     * Returns the distance of the point to the outline of the polygon
+     * @param outline the coordinates of the polygon as x, y pairs
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return the distance to the nearest edge
+     */
+    private static double distance(double[] outline, double x, double y) {
+        double min = Double.MAX_VALUE;
+        for(int i = 0; i < outline.length; i += 2) {
+            double x1 = outline[i], y1 = outline[i + 1];
+            double x2 = outline[(i + 2) % outline.length], y2 = outline[(i + 3) % outline.length];
+            double dx = x2 - x1, dy = y2 - y1;
+            double length = dx * dx + dy * dy;
+            double t = length == 0 ? 0 : Math.max(0, Math.min(1, ((x - x1) * dx + (y - y1) * dy) / length));
+            min = Math.min(min, Math.hypot(x1 + t * dx - x, y1 + t * dy - y));
+        }
+        return min;
+    }
+}
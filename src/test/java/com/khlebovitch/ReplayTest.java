@@ -0,0 +1,146 @@
+package com.khlebovitch;
+
+import engine.BattleOdds;
+import engine.GameEngine;
+import engine.GamePhase;
+import engine.MapGraph;
+import engine.ai.RandomStrategy;
+import engine.ai.Strategy;
+import engine.event.GameEvent;
+import engine.event.GameRecord;
+import engine.event.Replay;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import simulation.Match;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The tester for the {@link Replay}
+ */
+public class ReplayTest {
+
+    /**
+     * The {@link ReplayTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplayTest.class);
+
+    /**
+     * The test map, see {@link TestMaps#ring(int)}
+     */
+    private MapGraph mapGraph;
+
+    /**
+     * The test odds
+     */
+    private BattleOdds battleOdds;
+
+    @Before
+    public void setUp(){
+        LOGGER.info("Set up");
+
+        mapGraph = TestMaps.ring(8);
+        battleOdds = new BattleOdds(3, 2, 50);
+    }
+
+    @Test
+    public void run_shouldThrowTheSameDiceForTheHumanPlayers() {
+        LOGGER.info("Enter run_shouldThrowTheSameDiceForTheHumanPlayers");
+
+        GameEngine engine = createEngine();
+        engine.setSeed(7);
+        List<GameEvent> events = new ArrayList<>();
+        engine.addEventListener(events::add);
+
+        // Both players take every second country and attack their right neighbors for twenty turns at most
+        engine.setCurrentPlayer(0);
+        for(int country = 0; country < 8; country++) engine.acquire(country);
+        for(int turn = 0; turn < 20; turn++) {
+            int player = engine.getCurrentPlayer();
+            while(engine.getPhase() == GamePhase.ARMY_PLACEMENT) engine.place(firstCountry(engine, player));
+            for(int country = 0; country < 8; country++) {
+                if(engine.getOwner(country) != player) continue;
+                if(turn % 2 == 0) engine.attack(player, country, (country + 1) % 8);
+                else engine.blitz(player, country, (country + 1) % 8, 2);
+            }
+            if(engine.hasWon(player)) break;
+            engine.endTurn();
+        }
+
+        GameEngine replayed = createEngine();
+        new Replay(replayed, new GameRecord(7, 2, 0, events)).run();
+        assertSameState(engine, replayed);
+
+        LOGGER.info("Finished run_shouldThrowTheSameDiceForTheHumanPlayers");
+    }
+
+    @Test
+    public void run_shouldApplyTheBattlesOfTheComputerPlayers() {
+        LOGGER.info("Enter run_shouldApplyTheBattlesOfTheComputerPlayers");
+
+        // The computer players use the dice for their decisions as well
+        Strategy random = new RandomStrategy();
+        Match match = new Match(mapGraph, battleOdds, new Strategy[]{random, random}, 3, 100);
+        List<GameEvent> events = new ArrayList<>();
+        match.getEngine().addEventListener(events::add);
+        match.play();
+
+        GameEngine replayed = createEngine();
+        Replay replay = new Replay(replayed, new GameRecord(3, 2, 0b11, events));
+        replay.run();
+        Assert.assertEquals(events.size(), replay.getPosition());
+        assertSameState(match.getEngine(), replayed);
+
+        // A different seed changes the dice of the human players
+        try {
+            new Replay(createEngine(), new GameRecord(4, 2, 0, events)).run();
+            Assert.fail("The replay with another seed should differ");
+        } catch (IllegalStateException e) {
+            LOGGER.info(e.getMessage());
+        }
+
+        LOGGER.info("Finished run_shouldApplyTheBattlesOfTheComputerPlayers");
+    }
+
+    /**
+     * Creates an engine with the test map and two players
+     * @return the engine
+     */
+    private GameEngine createEngine() {
+        GameEngine engine = new GameEngine(3, 2);
+        engine.setMapGraph(mapGraph);
+        engine.setBattleOdds(battleOdds);
+        engine.addPlayer();
+        engine.addPlayer();
+        return engine;
+    }
+
+    /**
+     * Returns the first country of the given player
+     * @param engine the engine
+     * @param player the player's index
+     * @return the country's index
+     */
+    private static int firstCountry(GameEngine engine, int player) {
+        for(int country = 0; country < 8; country++) if(engine.getOwner(country) == player) return country;
+        return -1;
+    }
+
+    /**
+     * Asserts, that both engines have the same state
+     * @param expected the engine of the recorded game
+     * @param actual the engine of the replay
+     */
+    private static void assertSameState(GameEngine expected, GameEngine actual) {
+        for(int country = 0; country < 8; country++) {
+            Assert.assertEquals(expected.getOwner(country), actual.getOwner(country));
+            Assert.assertEquals(expected.getState().getArmies(country), actual.getState().getArmies(country));
+        }
+        Assert.assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer());
+        Assert.assertEquals(expected.getPhase(), actual.getPhase());
+    }
+}
@@ -0,0 +1,152 @@
+package com.khlebovitch;
+
+import engine.AttackResult;
+import engine.GameEngine;
+import engine.GamePhase;
+import engine.GameState;
+import engine.SaveGame;
+import engine.SplitMix64;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The tester for the {@link SaveGame}
+ */
+public class SaveGameTest {
+
+    /**
+     * The {@link SaveGameTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SaveGameTest.class);
+
+    /**
+     * The number of countries in the test game
+     */
+    private static final int COUNTRIES = 10000;
+
+    /**
+     * The file of the test save
+     */
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        LOGGER.info("Set up");
+        path = Files.createTempFile("save", ".bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        LOGGER.info("Tear down");
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void load_shouldRestoreTheSavedGame() throws IOException {
+        LOGGER.info("Enter load_shouldRestoreTheSavedGame");
+
+        GameEngine engine = createEngine();
+        engine.setSeed(5);
+        for(int country = 0; country < COUNTRIES; country++) engine.acquire(country);
+        while(engine.getPhase() == GamePhase.ARMY_PLACEMENT) engine.place(0);
+
+        SplitMix64 aiRandom = new SplitMix64(7);
+        aiRandom.nextLong();
+        SaveGame.save(engine, aiRandom, path);
+
+        long start = System.nanoTime();
+        GameEngine loaded = createEngine();
+        SplitMix64 loadedAiRandom = new SplitMix64();
+        SaveGame.load(loaded, loadedAiRandom, path);
+        LOGGER.info("Loaded " + COUNTRIES + " countries in " + (System.nanoTime() - start) / 1000 + " µs");
+
+        GameState expected = engine.getState();
+        GameState actual = loaded.getState();
+        for(int country = 0; country < COUNTRIES; country++) {
+            Assert.assertEquals(expected.getOwner(country), actual.getOwner(country));
+            Assert.assertEquals(expected.getArmies(country), actual.getArmies(country));
+        }
+        Assert.assertEquals(expected.getCountryCount(0), actual.getCountryCount(0));
+        Assert.assertEquals(expected.getReserve(0), actual.getReserve(0));
+        Assert.assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer());
+        Assert.assertEquals(expected.getPhase(), actual.getPhase());
+
+        // Saving does not change the dice of the saved game
+        GameEngine unsaved = createEngine();
+        unsaved.setSeed(5);
+        for(int country = 0; country < COUNTRIES; country++) unsaved.acquire(country);
+        while(unsaved.getPhase() == GamePhase.ARMY_PLACEMENT) unsaved.place(0);
+
+        // The loaded game and every other load of the save continue with the same dice as the saved game
+        GameEngine loadedAgain = createEngine();
+        SaveGame.load(loadedAgain, new SplitMix64(), path);
+        assertSameBattles(engine, unsaved, loaded, loadedAgain);
+
+        // The computer players continue with the same numbers as well
+        for(int i = 0; i < 20; i++) Assert.assertEquals(aiRandom.nextLong(), loadedAiRandom.nextLong());
+
+        LOGGER.info("Finished load_shouldRestoreTheSavedGame");
+    }
+
+    @Test(expected = IOException.class)
+    public void load_shouldRejectADamagedFile() throws IOException {
+        LOGGER.info("Enter load_shouldRejectADamagedFile");
+
+        GameEngine engine = createEngine();
+        engine.acquire(3);
+        SaveGame.save(engine, new SplitMix64(), path);
+
+        // Change the armies of a country without updating the checksum
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1}), channel.size() - 20);
+        }
+
+        GameEngine loaded = createEngine();
+        try {
+            SaveGame.load(loaded, new SplitMix64(), path);
+        } finally {
+            // Nothing was changed
+            Assert.assertEquals(GameState.NONE, loaded.getOwner(3));
+            LOGGER.info("Finished load_shouldRejectADamagedFile");
+        }
+    }
+
+    /**
+     * Creates an engine with two players, in which every country is a neighbor of every other country
+     * @return the engine
+     */
+    private static GameEngine createEngine() {
+        GameEngine engine = new GameEngine();
+        engine.ensureCountries(COUNTRIES);
+        engine.addPlayer();
+        engine.addPlayer();
+        engine.setCurrentPlayer(0);
+        return engine;
+    }
+
+    /**
+     * Asserts, that all engines throw the same dice in the next battles
+     * @param expected the first engine
+     * @param actual the other engines
+     */
+    private static void assertSameBattles(GameEngine expected, GameEngine... actual) {
+        for(int i = 0; i < 20; i++) {
+            AttackResult result = expected.attack(0, 0, 1);
+            for(GameEngine engine : actual) {
+                Assert.assertEquals(result, engine.attack(0, 0, 1));
+                Assert.assertEquals(expected.getState().getArmies(0), engine.getState().getArmies(0));
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.khlebovitch;
+
+import dto.Continent;
+import dto.Country;
+import exceptions.IllegalCommandException;
+import javafx.geometry.Point2D;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.impl.SimpleContinentService;
+import util.reader.impl.SimpleMapReader;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The tester for the {@link SimpleMapReader}
+ */
+public class SimpleMapReaderTest {
+
+    /**
+     * The {@link SimpleMapReaderTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleMapReaderTest.class);
+
+    @Test
+    public void readFile_shouldReadTheWorldMap() throws IOException, IllegalCommandException {
+        LOGGER.info("Enter readFile_shouldReadTheWorldMap");
+
+        List<Continent> continents = new SimpleMapReader().readFile("/map/world.map");
+
+        // The fingerprint covers the names, the order of the countries and the neighbors
+        Assert.assertEquals(-1840013318613776785L, SimpleContinentService.compileMapGraph(continents).getFingerprint());
+
+        Assert.assertEquals(Arrays.asList("North America", "South America", "Europe", "Asia", "Africa", "Australia"),
+                continents.stream().map(Continent::getBaseName).collect(Collectors.toList()));
+        Assert.assertEquals(Arrays.asList(5, 2, 5, 7, 3, 2), continents.stream().map(Continent::getPoints).collect(Collectors.toList()));
+        Assert.assertEquals(Arrays.asList(9, 4, 7, 12, 6, 4), continents.stream().map(continent -> continent.getCountries().size()).collect(Collectors.toList()));
+
+        int patches = 0, points = 0, neighbors = 0;
+        Country alaska = null;
+        for(Continent continent : continents) {
+            for(Country country : continent.getCountries()) {
+                patches += country.getPatches().size();
+                for(int i = 0; i < country.getPatches().size(); i++) points += country.getPatches().get(i).getPoints().size() / 2;
+                neighbors += country.getNeighbors().size();
+                if(country.getBaseName().equals("Alaska")) alaska = country;
+
+                // The neighbors were completed in both directions
+                for(Country neighbor : country.getNeighbors()) Assert.assertTrue(neighbor.getNeighbors().contains(country));
+            }
+        }
+        Assert.assertEquals(85, patches);
+        Assert.assertEquals(8204, points);
+        Assert.assertEquals(160, neighbors);
+
+        // Every point is kept, including the duplicates
+        Assert.assertNotNull(alaska);
+        Assert.assertEquals(new Point2D(74, 72), alaska.getCapital());
+        Assert.assertEquals(Arrays.asList(72.0, 59.0, 72.0, 59.0, 75.0, 58.0), alaska.getPatches().get(0).getPoints().subList(0, 6));
+        Set<String> alaskaNeighbors = alaska.getNeighbors().stream().map(Country::getBaseName).collect(Collectors.toSet());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("Alberta", "North West Territory", "Kamchatka")), alaskaNeighbors);
+
+        LOGGER.info("Finished readFile_shouldReadTheWorldMap");
+    }
+
+    @Test
+    public void readFile_shouldReportTheLineOfAnIllegalCommand() throws IOException {
+        LOGGER.info("Enter readFile_shouldReportTheLineOfAnIllegalCommand");
+
+        assertIllegal("/map/illegal-coordinate.map", "Line 3: 7x2 is not an integer!");
+        assertIllegal("/map/missing-colon.map", "Line 2: ':' is missing!");
+        assertIllegal("/map/unknown-command.map", "Line 3: Command border-of unknown!");
+        assertIllegal("/map/too-few-points.map", "Line 1: A patch needs at least three points with x and y coordinates!");
+
+        try {
+            new SimpleMapReader().readFile("/map/missing.map");
+            Assert.fail("A missing map should not be read");
+        } catch(FileNotFoundException e) {
+            LOGGER.info(e.getMessage());
+        } catch(IllegalCommandException e) {
+            Assert.fail(e.getMessage());
+        }
+
+        LOGGER.info("Finished readFile_shouldReportTheLineOfAnIllegalCommand");
+    }
+
+    /**
+     * Asserts, that the given map cannot be read
+     * @param map the map on the classpath
+     * @param message the expected message
+     * @throws IOException if the map cannot be found
+     */
+    private static void assertIllegal(String map, String message) throws IOException {
+        try {
+            new SimpleMapReader().readFile(map);
+            Assert.fail(map + " should not be read");
+        } catch(IllegalCommandException e) {
+            Assert.assertEquals(message, e.getMessage());
+        }
+    }
+}
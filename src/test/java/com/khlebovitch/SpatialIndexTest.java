@@ -0,0 +1,79 @@
+package com.khlebovitch;
+
+import dto.Continent;
+import dto.Country;
+import exceptions.IllegalCommandException;
+import javafx.scene.shape.Polygon;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.impl.SimpleContinentService;
+import util.spatial.SpatialIndex;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The tester for the {@link SpatialIndex}
+ */
+public class SpatialIndexTest {
+
+    /**
+     * The {@link SpatialIndexTest} logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpatialIndexTest.class);
+
+    /**
+     * The continents of the world map
+     */
+    private List<Continent> continents;
+
+    @Before
+    public void setUp() throws IOException, IllegalCommandException {
+        LOGGER.info("Set up");
+        continents = new SimpleContinentService().getContinents("/map/world.map");
+    }
+
+    @Test
+    public void getCountryAt_shouldFindTheSameCountryAsEveryPatch() {
+        LOGGER.info("Enter getCountryAt_shouldFindTheSameCountryAsEveryPatch");
+
+        SpatialIndex index = new SpatialIndex(continents);
+        Assert.assertTrue(index.size() >= 42);
+
+        SplittableRandom random = new SplittableRandom(0);
+        int hits = 0;
+        for(int i = 0; i < 10000; i++) {
+            double x = random.nextDouble() * 1300 - 25;
+            double y = random.nextDouble() * 700 - 25;
+
+            Country expected = findByPatches(x, y);
+            Assert.assertSame("Point " + x + ", " + y, expected, index.getCountryAt(x, y));
+            if(expected != null) hits++;
+        }
+
+        // The points have to hit land as well as the sea
+        Assert.assertTrue(hits > 1000 && hits < 9000);
+
+        LOGGER.info("Finished getCountryAt_shouldFindTheSameCountryAsEveryPatch");
+    }
+
+    /**
+     * Finds the country at the given point by testing every patch
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the country of the last patch, which contains the point, or null
+     */
+    private Country findByPatches(double x, double y) {
+        Country found = null;
+        for(Continent continent : continents)
+            for(Country country : continent.getCountries())
+                for(Polygon polygon : country.getPatches())
+                    if(polygon.contains(x, y))
+                        found = country;
+        return found;
+    }
+}
@@ -0,0 +1,36 @@
+package com.khlebovitch;
+
+import engine.MapGraph;
+
+/**
+ * The small maps, on which the engine and the computer players are tested
+ */
+final class TestMaps {
+
+    // only static methods
+    private TestMaps() {}
+
+    /**
+     * Creates a ring of countries, in which every country is the neighbor of the next one.
+     * The first half of the ring is the continent "First", the second half the continent "Second", both worth 2 points
+     * @param countries the number of countries (an even number)
+     * @return the map
+     */
+    static MapGraph ring(int countries) {
+        if(countries < 4 || countries % 2 != 0) throw new IllegalArgumentException("A ring needs an even number of at least 4 countries!");
+
+        MapGraph.Builder builder = new MapGraph.Builder();
+        for(int i = 0; i < countries; i++) builder.addCountry("Country" + i);
+        for(int i = 0; i < countries; i++) builder.addNeighbors(i, (i + 1) % countries);
+
+        int[] first = new int[countries / 2];
+        int[] second = new int[countries / 2];
+        for(int i = 0; i < countries / 2; i++) {
+            first[i] = i;
+            second[i] = countries / 2 + i;
+        }
+        builder.addContinent("First", 2, first);
+        builder.addContinent("Second", 2, second);
+        return builder.build();
+    }
+}